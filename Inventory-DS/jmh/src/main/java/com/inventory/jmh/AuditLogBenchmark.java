@@ -0,0 +1,65 @@
+package main.java.com.inventory.jmh;
+
+import main.java.com.inventory.benchmarks.DataGenerator;
+import main.java.com.inventory.dao.AuditLogDAO;
+import main.java.com.inventory.dao.DBConnection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+// AuditLogDAO.logAction against an audit_logs table of each size. logAction only queues the entry, so its
+// sustained rate is bounded by the background writer once the queue is full. logActionDurable waits until
+// every entry is written; an entry the writer thread has already taken waits out the rest of its batch
+// interval, so this mostly measures that interval rather than the insert.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Benchmark)
+public class AuditLogBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private AuditLogDAO auditLogDAO;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchDatabase.start();
+        new DataGenerator(DataGenerator.DEFAULT_SEED).ensureAuditLogs(rows);
+        auditLogDAO = new AuditLogDAO();
+    }
+
+    @TearDown(Level.Iteration)
+    public void drain() {
+        auditLogDAO.flush(30_000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DBConnection.closeConnection();
+    }
+
+    @Benchmark
+    public void logAction() throws Exception {
+        auditLogDAO.logAction(0, "Product Viewed", "Product ID: " + next++);
+    }
+
+    @Benchmark
+    public boolean logActionDurable() throws Exception {
+        auditLogDAO.logAction(0, "Product Viewed", "Product ID: " + next++);
+        return auditLogDAO.flush(10_000);
+    }
+}
@@ -0,0 +1,86 @@
+package main.java.com.inventory.jmh;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// The database a benchmark JVM talks to. With -Dinventory.bench.db=embedded a throwaway MariaDB is started on a
+// free port and loaded with schema.sql, which DBConnection's own DDL then checks on the first connection;
+// otherwise DBConnection's settings are used unchanged. Must run before anything touches DBConnection, which
+// reads -Dinventory.db.url once.
+public final class BenchDatabase {
+    private static final String DATABASE = "inventory_ds";
+    private static DB embedded;
+
+    private BenchDatabase() {}
+
+    public static synchronized void start() throws ManagedProcessException, SQLException, IOException {
+        if (embedded != null || !"embedded".equals(System.getProperty("inventory.bench.db"))) {
+            return;
+        }
+        DBConfigurationBuilder config = DBConfigurationBuilder.newBuilder();
+        config.setPort(0); // Any free port
+        if ("root".equals(System.getProperty("user.name"))) {
+            config.addArg("--user=root"); // mariadbd refuses to run as root otherwise, as in most containers
+        }
+        DB db = DB.newEmbeddedDB(config.build());
+        db.start();
+        String server = "jdbc:mysql://localhost:" + db.getConfiguration().getPort() + "/";
+        try {
+            loadSchema(server);
+        } catch (SQLException | IOException e) {
+            db.stop();
+            throw e;
+        }
+        System.setProperty("inventory.db.url", server + DATABASE);
+        System.setProperty("inventory.db.user", "root");
+        System.setProperty("inventory.db.password", "");
+        embedded = db;
+        Runtime.getRuntime().addShutdownHook(new Thread(BenchDatabase::stop, "bench-db-shutdown"));
+    }
+
+    public static synchronized void stop() {
+        if (embedded == null) {
+            return;
+        }
+        try {
+            embedded.stop();
+        } catch (ManagedProcessException e) {
+            System.err.println("[ERROR] BenchDatabase: Stop failed - " + e.getMessage());
+        }
+        embedded = null;
+    }
+
+    // Runs schema.sql over JDBC rather than through the bundled mariadb client, which needs libraries many
+    // hosts lack. The script has no procedures, so every statement ends at a semicolon.
+    private static void loadSchema(String server) throws SQLException, IOException {
+        String script;
+        try (InputStream in = BenchDatabase.class.getClassLoader().getResourceAsStream("sql/schema.sql")) {
+            if (in == null) {
+                throw new IOException("sql/schema.sql is not on the classpath");
+            }
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        StringBuilder sql = new StringBuilder();
+        for (String line : script.split("\n")) {
+            if (!line.trim().startsWith("--")) {
+                sql.append(line).append('\n');
+            }
+        }
+        try (Connection conn = DriverManager.getConnection(server, "root", "");
+             Statement stmt = conn.createStatement()) {
+            for (String statement : sql.toString().split(";")) {
+                if (!statement.isBlank()) {
+                    stmt.execute(statement);
+                }
+            }
+        }
+    }
+}
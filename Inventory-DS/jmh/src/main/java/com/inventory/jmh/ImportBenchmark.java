@@ -0,0 +1,65 @@
+package main.java.com.inventory.jmh;
+
+import main.java.com.inventory.benchmarks.DataGenerator;
+import main.java.com.inventory.dao.DBConnection;
+import main.java.com.inventory.dao.ProductDAO;
+import main.java.com.inventory.dao.ProductImporter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+// One CSV import of rows generated products per measurement, into a table reset to BASE_ROWS beforehand
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Benchmark)
+public class ImportBenchmark {
+    private static final int BASE_ROWS = 1_000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private DataGenerator generator;
+    private ProductDAO productDAO;
+    private File csv;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchDatabase.start();
+        generator = new DataGenerator(DataGenerator.DEFAULT_SEED);
+        productDAO = new ProductDAO(0);
+        csv = File.createTempFile("products-" + rows + "-", ".csv");
+        generator.writeCsv(csv.getPath(), rows);
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() throws Exception {
+        generator.ensureProducts(BASE_ROWS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        csv.delete();
+        new File(csv.getPath() + ".rejects.csv").delete();
+        DBConnection.closeConnection();
+    }
+
+    @Benchmark
+    public ProductImporter.ImportResult importProductsFromCSV() throws Exception {
+        return productDAO.importProductsFromCSV(csv.getPath(), null);
+    }
+}
@@ -0,0 +1,16 @@
+package main.java.com.inventory.jmh;
+
+import main.java.com.inventory.benchmarks.LoadDriver;
+
+// LoadDriver with -Dinventory.bench.db honoured, so a load test can run against the embedded database too.
+// Usage: LoadTest [users] [seconds] [products] [warmup seconds] [think ms]
+public class LoadTest {
+    public static void main(String[] args) throws Exception {
+        BenchDatabase.start();
+        try {
+            LoadDriver.main(args);
+        } finally {
+            BenchDatabase.stop();
+        }
+    }
+}
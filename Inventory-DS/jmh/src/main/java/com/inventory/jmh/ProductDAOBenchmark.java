@@ -0,0 +1,89 @@
+package main.java.com.inventory.jmh;
+
+import main.java.com.inventory.benchmarks.DataGenerator;
+import main.java.com.inventory.dao.AuditLogDAO;
+import main.java.com.inventory.dao.DBConnection;
+import main.java.com.inventory.dao.ProductCatalogCache;
+import main.java.com.inventory.dao.ProductDAO;
+import main.java.com.inventory.models.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// ProductDAO reads and writes against a products table of each size. getAllProducts is the cached path the
+// views use; getAllProductsReload drops the catalog cache first, so it measures the full database read.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Benchmark)
+public class ProductDAOBenchmark {
+    private static final int QUERIES = 64;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private DataGenerator generator;
+    private ProductDAO productDAO;
+    private String[] queries;
+    private int nextQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchDatabase.start();
+        generator = new DataGenerator(DataGenerator.DEFAULT_SEED);
+        generator.ensureProducts(rows);
+        productDAO = new ProductDAO(0);
+        productDAO.getAllProducts();
+        queries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = generator.randomQuery();
+        }
+    }
+
+    // Drops the rows addProduct inserted, so every iteration starts from the same table size
+    @TearDown(Level.Iteration)
+    public void trim() throws Exception {
+        generator.ensureProducts(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        new AuditLogDAO().flush(10_000);
+        DBConnection.closeConnection();
+    }
+
+    @Benchmark
+    public List<Product> getAllProducts() throws Exception {
+        return productDAO.getAllProducts();
+    }
+
+    @Benchmark
+    public List<Product> getAllProductsReload() throws Exception {
+        ProductCatalogCache.getInstance().invalidate();
+        return productDAO.getAllProducts();
+    }
+
+    @Benchmark
+    public List<Product> searchProducts() throws Exception {
+        return productDAO.searchProducts(queries[nextQuery++ % QUERIES]);
+    }
+
+    @Benchmark
+    public boolean addProduct() throws Exception {
+        return productDAO.addProduct(generator.randomProduct());
+    }
+}
@@ -1,13 +1,70 @@
 package main.java.com.inventory;
 
+import main.java.com.inventory.dao.AuditLogDAO;
+import main.java.com.inventory.dao.DBConnection;
+import main.java.com.inventory.dao.ProductDAO;
+import main.java.com.inventory.remote.DataAccess;
+import main.java.com.inventory.remote.InventoryServer;
+import main.java.com.inventory.services.AuditRetentionService;
+import main.java.com.inventory.services.ChangeFeed;
+import main.java.com.inventory.services.InventoryStatistics;
+import main.java.com.inventory.services.LowStockMonitor;
 import main.java.com.inventory.utils.ErrorHandler;
+import main.java.com.inventory.utils.StartupTimings;
 import main.java.com.inventory.utils.ThemeManager;
 import main.java.com.inventory.views.LoginView;
 
 import javax.swing.*;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
 
 public class App {
+    // Usage: App                         Swing client on its own database connection
+    //        App --server[=port]         headless server for remote terminals (--bind=host, default localhost)
+    //        App --connect=http://host:port   Swing client using a server's DAOs
+    // -Dinventory.server.token sets the shared token on both sides; a server bound beyond localhost requires it.
     public static void main(String[] args) {
+        String token = System.getProperty("inventory.server.token");
+        String bind = "localhost";
+        Integer serverPort = null;
+        for (String arg : args) {
+            if (arg.equals("--server")) {
+                serverPort = InventoryServer.DEFAULT_PORT;
+            } else if (arg.startsWith("--server=")) {
+                serverPort = Integer.parseInt(arg.substring("--server=".length()));
+            } else if (arg.startsWith("--bind=")) {
+                bind = arg.substring("--bind=".length());
+            } else if (arg.startsWith("--connect=")) {
+                DataAccess.useServer(arg.substring("--connect=".length()), token);
+            } else {
+                System.err.println("[ERROR] App: Unknown argument " + arg);
+                System.exit(2);
+            }
+        }
+        if (serverPort != null) {
+            InetSocketAddress address = new InetSocketAddress(bind, serverPort);
+            if ((token == null || token.isEmpty()) && !InventoryServer.isLoopback(address)) {
+                // Fail before the pool and background services start
+                System.err.println("[FATAL] App: --bind=" + bind + " needs -Dinventory.server.token, since terminals " +
+                    "are trusted to name their own user");
+                System.exit(2);
+            }
+            runServer(address, token);
+            return;
+        }
+
+        long start = StartupTimings.now();
+        // Driver loading, the first pool connections and the schema check run while the UI is built
+        CompletableFuture<?> databaseReady = DataAccess.warmUpAsync();
+        CompletableFuture<Void> loginShown = new CompletableFuture<>();
+        CompletableFuture.allOf(databaseReady, loginShown).whenComplete((_, error) -> {
+            if (error == null) {
+                StartupTimings.finish();
+            }
+        });
+
         // Set LookAndFeel with fallback
         try {
             UIManager.setLookAndFeel("javax.swing.plaf.nimbus.NimbusLookAndFeel");
@@ -31,19 +88,54 @@ public class App {
             }
         }
 
+        StartupTimings.record("Look and feel", start);
+
         // Initialize UI on Event Dispatch Thread
         SwingUtilities.invokeLater(() -> {
             try {
+                long uiStart = StartupTimings.now();
                 // Apply initial theme
                 ThemeManager.setTheme(ThemeManager.ThemeMode.LIGHT);
 
                 // Start with LoginView
                 LoginView loginView = new LoginView();
                 loginView.setVisible(true);
+                StartupTimings.record("Login window", uiStart);
+                loginShown.complete(null);
             } catch (Exception e) {
                 ErrorHandler.handleError(null, "Failed to initialize application", e);
                 System.exit(1);
             }
         });
     }
-}
\ No newline at end of file
+
+    // One shared pool, catalog cache and set of background services for every terminal
+    private static void runServer(InetSocketAddress address, String token) {
+        System.setProperty("java.awt.headless", "true");
+        InventoryServer server = new InventoryServer(address, token);
+        try {
+            DBConnection.getPool();
+            new ProductDAO(0).getAllProducts(); // Loads the catalog cache before the first terminal asks
+            LowStockMonitor.getInstance().start();
+            InventoryStatistics.getInstance().start();
+            AuditRetentionService.getInstance().start();
+            ChangeFeed.getInstance().start(); // Follows terminals that still write to the database directly
+            server.start();
+        } catch (SQLException | IOException e) {
+            System.err.println("[FATAL] App: Server failed to start - " + e.getMessage());
+            DBConnection.closeConnection();
+            System.exit(1);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(2);
+            ChangeFeed.getInstance().stop();
+            AuditRetentionService.getInstance().stop();
+            InventoryStatistics.getInstance().stop();
+            LowStockMonitor.getInstance().stop();
+            if (!new AuditLogDAO().flush(3_000)) {
+                System.err.println("[ERROR] App: Audit log flush timed out at shutdown");
+            }
+            DBConnection.closeConnection();
+        }, "server-shutdown"));
+    }
+}
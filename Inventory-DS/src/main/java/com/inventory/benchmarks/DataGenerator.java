@@ -0,0 +1,225 @@
+package main.java.com.inventory.benchmarks;
+
+import com.opencsv.CSVWriter;
+import main.java.com.inventory.dao.DBConnection;
+import main.java.com.inventory.dao.ProductCatalogCache;
+import main.java.com.inventory.models.Product;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+// Synthetic catalog and audit data for benchmarks and load tests. Values come from a seeded Random, so the same
+// seed gives the same rows; names and descriptions are drawn from a small vocabulary so searches have hits.
+// Usage: DataGenerator [products] [audit rows] [csv file] [csv rows]
+public class DataGenerator {
+    public static final long DEFAULT_SEED = 42;
+    private static final int CATEGORIES = 40;
+    private static final int BATCH_SIZE = 5_000;
+    private static final String[] ADJECTIVES = {"Compact", "Deluxe", "Eco", "Heavy", "Mini", "Portable", "Pro",
+                                                "Smart", "Steel", "Ultra", "Wireless", "Classic"};
+    private static final String[] NOUNS = {"Adapter", "Blender", "Cable", "Charger", "Drill", "Jacket", "Kettle",
+                                           "Keyboard", "Lamp", "Monitor", "Router", "Speaker", "Shirt", "Tent"};
+    private static final String[] DETAILS = {"with warranty", "2-pack", "battery included", "refurbished",
+                                             "limited edition", "size M", "black", "stainless", "USB-C", "organic"};
+    private static final String[] ACTIONS = {"Product Added", "Product Updated", "Product Deleted", "Stock Adjusted",
+                                             "Login", "Logout"};
+
+    private final Random random;
+
+    public DataGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int products = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int auditLogs = args.length > 1 ? Integer.parseInt(args[1]) : products;
+        DataGenerator generator = new DataGenerator(DEFAULT_SEED);
+        try {
+            long start = System.nanoTime();
+            generator.ensureProducts(products);
+            generator.ensureAuditLogs(auditLogs);
+            System.out.printf("%d products, %d audit rows in %.1f s%n", products, auditLogs,
+                (System.nanoTime() - start) / 1e9);
+            if (args.length > 2) {
+                int csvRows = args.length > 3 ? Integer.parseInt(args[3]) : products;
+                generator.writeCsv(args[2], csvRows);
+                System.out.printf("%d rows written to %s%n", csvRows, args[2]);
+            }
+        } finally {
+            DBConnection.closeConnection();
+        }
+    }
+
+    // Brings the products table to exactly rows, inserting generated rows or deleting the highest ids
+    public void ensureProducts(int rows) throws SQLException {
+        List<Integer> categoryIds = ensureCategories();
+        try (Connection conn = DBConnection.getConnection()) {
+            long count = count(conn, "products");
+            if (count == rows) {
+                return;
+            }
+            if (count > rows) {
+                trimProducts(conn, rows);
+            } else {
+                insertProducts(conn, categoryIds, rows - count);
+            }
+        }
+        ProductCatalogCache.getInstance().invalidate();
+    }
+
+    // Only ever adds rows; audit logs are append-only in the app as well
+    public void ensureAuditLogs(int rows) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            long missing = rows - count(conn, "audit_logs");
+            String sql = "INSERT INTO audit_logs (user_id, action, details, timestamp) VALUES (NULL, ?, ?, ?)";
+            long now = System.currentTimeMillis();
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (long i = 0; i < missing; i++) {
+                    stmt.setString(1, pick(ACTIONS));
+                    stmt.setString(2, "Product ID: " + (1 + random.nextInt(Math.max(rows, 1))) + ", Name: " + randomName());
+                    stmt.setTimestamp(3, new Timestamp(now - (long) random.nextInt(365 * 24 * 3600) * 1000));
+                    stmt.addBatch();
+                    if ((i + 1) % BATCH_SIZE == 0 || i == missing - 1) {
+                        stmt.executeBatch();
+                        conn.commit();
+                    }
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    // A product that is not in the database yet; the category is one of the generated ones
+    public Product randomProduct() {
+        return new Product(0, randomName(), categoryName(random.nextInt(CATEGORIES)), random.nextInt(500),
+            randomPrice(), randomDescription());
+    }
+
+    // A word or prefix from the vocabulary, the kind of thing a user types into the search box
+    public String randomQuery() {
+        String word = random.nextBoolean() ? pick(NOUNS) : pick(ADJECTIVES);
+        int length = 3 + random.nextInt(word.length() - 2);
+        return word.substring(0, length).toLowerCase();
+    }
+
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    // A file in the import format (see ProductImporter): name, category_name, stock, price, description
+    public void writeCsv(String path, int rows) throws IOException {
+        try (CSVWriter writer = new CSVWriter(new FileWriter(path))) {
+            writer.writeNext(new String[] {"name", "category_name", "stock", "price", "description"});
+            for (int i = 0; i < rows; i++) {
+                Product product = randomProduct();
+                writer.writeNext(new String[] {product.getName(), product.getCategoryName(),
+                    String.valueOf(product.getStock()), String.format(Locale.ROOT, "%.2f", product.getPrice()),
+                    product.getDescription()});
+            }
+        }
+    }
+
+    private List<Integer> ensureCategories() throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Connection conn = DBConnection.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement("INSERT IGNORE INTO categories (name) VALUES (?)")) {
+                for (int i = 0; i < CATEGORIES; i++) {
+                    stmt.setString(1, categoryName(i));
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT id FROM categories WHERE name LIKE 'Category %' ORDER BY id");
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private void insertProducts(Connection conn, List<Integer> categoryIds, long rows) throws SQLException {
+        String sql = "INSERT INTO products (name, category_id, stock, price, description) VALUES (?, ?, ?, ?, ?)";
+        conn.setAutoCommit(false);
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (long i = 0; i < rows; i++) {
+                stmt.setString(1, randomName());
+                stmt.setInt(2, categoryIds.get(random.nextInt(categoryIds.size())));
+                stmt.setInt(3, random.nextInt(500));
+                stmt.setDouble(4, randomPrice());
+                stmt.setString(5, randomDescription());
+                stmt.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0 || i == rows - 1) {
+                    stmt.executeBatch();
+                    conn.commit();
+                }
+            }
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    private static void trimProducts(Connection conn, int rows) throws SQLException {
+        int cutoff;
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT id FROM products ORDER BY id LIMIT 1 OFFSET ?")) {
+            stmt.setInt(1, rows);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return;
+                }
+                cutoff = rs.getInt(1);
+            }
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM products WHERE id >= ?")) {
+            stmt.setInt(1, cutoff);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static long count(Connection conn, String table) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static String categoryName(int index) {
+        return String.format("Category %02d", index + 1);
+    }
+
+    private String randomName() {
+        return pick(ADJECTIVES) + " " + pick(NOUNS) + " " + (100 + random.nextInt(900));
+    }
+
+    private String randomDescription() {
+        return pick(NOUNS).toLowerCase() + ", " + pick(DETAILS) + ", " + pick(DETAILS);
+    }
+
+    // Whole cents, like the DECIMAL(10, 2) column
+    private double randomPrice() {
+        return (100 + random.nextInt(99_900)) / 100.0;
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
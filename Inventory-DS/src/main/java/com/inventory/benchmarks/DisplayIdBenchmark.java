@@ -0,0 +1,165 @@
+package main.java.com.inventory.benchmarks;
+
+import main.java.com.inventory.dao.DBConnection;
+import main.java.com.inventory.dao.ProductDAO;
+import main.java.com.inventory.models.Product;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Compares the ways of resolving a display ID: fetching and scanning the whole products table, an OFFSET
+// query and the catalog cache's ordinal index. If the catalog is smaller than the requested size it is topped
+// up with generated "Benchmark Product" rows, so run it against a scratch database.
+// Usage: DisplayIdBenchmark [iterations] [products]
+public class DisplayIdBenchmark {
+    private static final String BENCHMARK_CATEGORY = "Benchmark";
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    public interface Lookup {
+        Product find(int displayId) throws SQLException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int productCount = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+
+        ProductDAO productDAO = new ProductDAO(0);
+        try {
+            int existing = countProducts();
+            if (existing < productCount) {
+                System.out.printf("Generating %,d products...%n", productCount - existing);
+                generateProducts(productCount - existing);
+            }
+            int total = countProducts();
+            productDAO.getAllProducts(); // Loads the catalog cache
+
+            // The same pseudo-random display IDs for every strategy, spread across the whole catalog
+            int[] displayIds = new int[iterations];
+            Random random = new Random(42);
+            for (int i = 0; i < iterations; i++) {
+                displayIds[i] = 1 + random.nextInt(total);
+            }
+
+            System.out.printf("%,d products, %d lookups%n", total, iterations);
+            System.out.printf("%-16s %12s %12s%n", "strategy", "avg ms", "total ms");
+            run("full scan", displayIds, displayId -> scan(fetchAllProducts(), displayId));
+            run("offset query", displayIds, productDAO::getProductByDisplayIdWithOffset);
+            run("ordinal index", displayIds, productDAO::getProductByDisplayId);
+        } finally {
+            DBConnection.closeConnection();
+        }
+    }
+
+    // What ProductView used to do on every digit typed: the baseline getAllProducts() query straight from MySQL,
+    // since getAllProducts() is now answered by the catalog cache
+    private static List<Product> fetchAllProducts() throws SQLException {
+        List<Product> products = new ArrayList<>();
+        String sql = "SELECT p.id, p.name, c.name AS category_name, p.stock, " +
+                     "p.price, p.description FROM products p " +
+                     "LEFT JOIN categories c ON p.category_id = c.id ORDER BY p.id";
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            int sequenceNumber = 1;
+            while (rs.next()) {
+                Product product = new Product(
+                    rs.getInt("id"),
+                    rs.getString("name"),
+                    rs.getString("category_name"),
+                    rs.getInt("stock"),
+                    rs.getDouble("price"),
+                    rs.getString("description")
+                );
+                product.setDisplayId(sequenceNumber++);
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    private static Product scan(List<Product> products, int displayId) {
+        for (Product product : products) {
+            if (product.getDisplayId() == displayId) {
+                return product;
+            }
+        }
+        return null;
+    }
+
+    private static void run(String strategy, int[] displayIds, Lookup lookup) throws SQLException {
+        lookup.find(displayIds[0]); // Untimed round so every strategy starts warm
+        long start = System.nanoTime();
+        for (int displayId : displayIds) {
+            if (lookup.find(displayId) == null) {
+                throw new IllegalStateException(strategy + " found no product for display ID " + displayId);
+            }
+        }
+        double totalMs = (System.nanoTime() - start) / 1_000_000.0;
+        System.out.printf("%-16s %12.3f %12.1f%n", strategy, totalMs / displayIds.length, totalMs);
+    }
+
+    private static int countProducts() throws SQLException {
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM products")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static void generateProducts(int count) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int categoryId = benchmarkCategoryId(conn);
+                String sql = "INSERT INTO products (name, category_id, stock, price, description) VALUES (?, ?, ?, ?, ?)";
+                Random random = new Random(7);
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 1; i <= count; i++) {
+                        stmt.setString(1, "Benchmark Product " + i);
+                        stmt.setInt(2, categoryId);
+                        stmt.setInt(3, random.nextInt(500));
+                        stmt.setDouble(4, 1 + random.nextInt(100_000) / 100.0);
+                        stmt.setString(5, "Generated for DisplayIdBenchmark");
+                        stmt.addBatch();
+                        if (i % INSERT_BATCH_SIZE == 0) {
+                            stmt.executeBatch();
+                        }
+                    }
+                    stmt.executeBatch();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    private static int benchmarkCategoryId(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT id FROM categories WHERE name = ?")) {
+            stmt.setString(1, BENCHMARK_CATEGORY);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO categories (name) VALUES (?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setString(1, BENCHMARK_CATEGORY);
+            stmt.executeUpdate();
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package main.java.com.inventory.benchmarks;
+
+import main.java.com.inventory.dao.AuditLogDAO;
+import main.java.com.inventory.dao.DBConnection;
+import main.java.com.inventory.dao.ProductDAO;
+import main.java.com.inventory.models.Product;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+// Simulated users working the DAO layer at the same time, each on its own thread with its own DAOs, picking
+// operations from a weighted mix that leans towards reads. Every call is timed; calls made during the warmup
+// are dropped, the rest are reported per operation with throughput and latency percentiles.
+// Usage: LoadDriver [users] [seconds] [products] [warmup seconds] [think ms]
+public class LoadDriver {
+    private static final String[] OPERATIONS = {"page", "get", "search", "add", "edit", "stock", "audit"};
+    private static final int[] WEIGHTS = {30, 20, 20, 5, 10, 10, 5};
+
+    public interface Call {
+        void run() throws SQLException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+        int products = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+        int warmupSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        long thinkMs = args.length > 4 ? Long.parseLong(args[4]) : 0;
+
+        try {
+            new DataGenerator(DataGenerator.DEFAULT_SEED).ensureProducts(products);
+            int[] ids = productIds();
+            System.out.printf("%d users, %d products, %d s warmup + %d s measured, %d ms think time%n",
+                users, ids.length, warmupSeconds, seconds, thinkMs);
+
+            long measureFrom = System.nanoTime() + warmupSeconds * 1_000_000_000L;
+            long until = measureFrom + seconds * 1_000_000_000L;
+            List<User> workers = new ArrayList<>();
+            CountDownLatch done = new CountDownLatch(users);
+            for (int i = 0; i < users; i++) {
+                User user = new User(i, ids, measureFrom, until, thinkMs, done);
+                workers.add(user);
+                Thread thread = new Thread(user, "load-user-" + i);
+                thread.setDaemon(true);
+                thread.start();
+            }
+            done.await();
+            new AuditLogDAO().flush(10_000);
+            report(workers, seconds);
+        } finally {
+            DBConnection.closeConnection();
+        }
+    }
+
+    private static int[] productIds() throws SQLException {
+        List<Product> all = new ProductDAO(0).getAllProducts(); // Also loads the catalog cache, as login does
+        int[] ids = new int[all.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = all.get(i).getId();
+        }
+        return ids;
+    }
+
+    private static void report(List<User> workers, int seconds) {
+        System.out.printf("%-8s %9s %7s %9s %9s %9s %9s %9s %9s %9s%n", "op", "calls", "errors", "ops/s",
+            "mean ms", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long totalCalls = 0;
+        for (int op = 0; op < OPERATIONS.length; op++) {
+            Samples merged = new Samples();
+            long errors = 0;
+            for (User worker : workers) {
+                merged.addAll(worker.samples[op]);
+                errors += worker.errors[op];
+            }
+            long[] sorted = merged.sorted();
+            totalCalls += sorted.length;
+            if (sorted.length == 0) {
+                System.out.printf("%-8s %9d %7d%n", OPERATIONS[op], 0, errors);
+                continue;
+            }
+            System.out.printf("%-8s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n", OPERATIONS[op],
+                sorted.length, errors, sorted.length / (double) seconds, merged.total / 1e6 / sorted.length,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                percentile(sorted, 0.999), sorted[sorted.length - 1] / 1e6);
+        }
+        System.out.printf("total    %9d %7s %9.1f%n", totalCalls, "", totalCalls / (double) seconds);
+        for (int op = 0; op < OPERATIONS.length; op++) {
+            for (User worker : workers) {
+                if (worker.firstErrors[op] != null) {
+                    System.out.println("First " + OPERATIONS[op] + " error - " + worker.firstErrors[op]);
+                    break;
+                }
+            }
+        }
+    }
+
+    // Nearest-rank percentile in milliseconds
+    private static double percentile(long[] sorted, double p) {
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(rank - 1, 0)] / 1e6;
+    }
+
+    private static class User implements Runnable {
+        private final ProductDAO productDAO = new ProductDAO(0);
+        private final AuditLogDAO auditLogDAO = new AuditLogDAO();
+        private final DataGenerator generator;
+        private final int[] ids;
+        private final long measureFrom;
+        private final long until;
+        private final long thinkMs;
+        private final CountDownLatch done;
+        private final Samples[] samples = new Samples[OPERATIONS.length];
+        private final long[] errors = new long[OPERATIONS.length];
+        private final String[] firstErrors = new String[OPERATIONS.length];
+        private final int weightTotal = Arrays.stream(WEIGHTS).sum();
+
+        User(int number, int[] ids, long measureFrom, long until, long thinkMs, CountDownLatch done) {
+            this.generator = new DataGenerator(DataGenerator.DEFAULT_SEED + 1 + number);
+            this.ids = ids;
+            this.measureFrom = measureFrom;
+            this.until = until;
+            this.thinkMs = thinkMs;
+            this.done = done;
+            for (int op = 0; op < samples.length; op++) {
+                samples[op] = new Samples();
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                long now;
+                while ((now = System.nanoTime()) < until) {
+                    int op = pickOperation();
+                    boolean measured = now >= measureFrom;
+                    long start = System.nanoTime();
+                    try {
+                        call(op).run();
+                        if (measured) {
+                            samples[op].add(System.nanoTime() - start);
+                        }
+                    } catch (SQLException e) {
+                        if (measured) {
+                            errors[op]++;
+                            if (firstErrors[op] == null) {
+                                firstErrors[op] = e.getMessage();
+                            }
+                        }
+                    }
+                    if (thinkMs > 0) {
+                        Thread.sleep(thinkMs);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                done.countDown();
+            }
+        }
+
+        private int pickOperation() {
+            int roll = generator.nextInt(weightTotal);
+            for (int op = 0; op < WEIGHTS.length; op++) {
+                roll -= WEIGHTS[op];
+                if (roll < 0) {
+                    return op;
+                }
+            }
+            return 0;
+        }
+
+        private Call call(int op) {
+            int id = ids.length > 0 ? ids[generator.nextInt(ids.length)] : 0;
+            return switch (OPERATIONS[op]) {
+                case "page" -> () -> productDAO.getProductsPage(id, 50);
+                case "get" -> () -> productDAO.getProduct(id);
+                case "search" -> {
+                    String query = generator.randomQuery();
+                    yield () -> productDAO.searchProducts(query);
+                }
+                case "add" -> {
+                    Product product = generator.randomProduct();
+                    yield () -> productDAO.addProduct(product);
+                }
+                case "edit" -> () -> {
+                    Product original = productDAO.getProduct(id);
+                    if (original != null) {
+                        Product edited = productDAO.getProduct(id);
+                        edited.setPrice(Math.max(0.01, Math.round(original.getPrice() * 105) / 100.0));
+                        productDAO.applyEdit(original, edited);
+                    }
+                };
+                case "stock" -> {
+                    int delta = generator.nextInt(21) - 10;
+                    yield () -> productDAO.adjustStock(id, delta);
+                }
+                default -> {
+                    String details = "Product ID: " + id + ", load test";
+                    yield () -> auditLogDAO.logAction(0, "Product Viewed", details);
+                }
+            };
+        }
+    }
+
+    // Growable array of nanosecond latencies
+    private static class Samples {
+        private long[] values = new long[1024];
+        private int size;
+        private long total;
+
+        void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+            total += nanos;
+        }
+
+        void addAll(Samples other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+        }
+
+        long[] sorted() {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
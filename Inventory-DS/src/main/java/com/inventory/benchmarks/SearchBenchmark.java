@@ -0,0 +1,80 @@
+package main.java.com.inventory.benchmarks;
+
+import main.java.com.inventory.dao.AuditLogDAO;
+import main.java.com.inventory.dao.AuditLogSearchIndex;
+import main.java.com.inventory.dao.DBConnection;
+import main.java.com.inventory.dao.ProductDAO;
+import main.java.com.inventory.models.Product;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Compares the LIKE '%term%' search against the in-memory index on the configured database.
+// Usage: SearchBenchmark [iterations] [query...]
+public class SearchBenchmark {
+    private static final String[] DEFAULT_QUERIES = {"a", "pr", "pro", "product", "login", "deleted", "zzzz"};
+
+    public interface Search<T> {
+        List<T> run(String query) throws SQLException;
+    }
+
+    public interface IdOf<T> {
+        int id(T item);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        String[] queries = args.length > 1 ? Arrays.copyOfRange(args, 1, args.length) : DEFAULT_QUERIES;
+
+        ProductDAO productDAO = new ProductDAO(0);
+        AuditLogDAO auditLogDAO = new AuditLogDAO();
+        try {
+            productDAO.getAllProducts(); // Loads the catalog cache and its index
+            AuditLogSearchIndex auditIndex = AuditLogSearchIndex.getInstance();
+            auditIndex.search("");
+            while (!auditIndex.isWarm()) {
+                Thread.sleep(50);
+            }
+
+            System.out.printf("%-10s %-8s %12s %12s %8s %8s%n", "query", "table", "like ms", "index ms", "rows", "same");
+            for (String query : queries) {
+                run("products", query, iterations,
+                    productDAO::searchProductsWithLike, productDAO::searchProducts, Product::getId);
+                run("audit", query, iterations,
+                    auditLogDAO::searchAuditLogsWithLike, auditLogDAO::searchAuditLogs, AuditLogDAO.AuditLog::getId);
+            }
+        } finally {
+            DBConnection.closeConnection();
+        }
+    }
+
+    private static <T> void run(String table, String query, int iterations,
+                                Search<T> like, Search<T> indexed, IdOf<T> idOf) throws SQLException {
+        // One untimed round each so both paths start with warm statements and JIT
+        List<T> likeRows = like.run(query);
+        List<T> indexRows = indexed.run(query);
+
+        double likeMs = time(like, query, iterations);
+        double indexMs = time(indexed, query, iterations);
+        boolean same = ids(likeRows, idOf).equals(ids(indexRows, idOf));
+        System.out.printf("%-10s %-8s %12.3f %12.3f %8d %8s%n", query, table, likeMs, indexMs, indexRows.size(), same);
+    }
+
+    private static <T> double time(Search<T> search, String query, int iterations) throws SQLException {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            search.run(query);
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / iterations;
+    }
+
+    private static <T> Set<Integer> ids(List<T> rows, IdOf<T> idOf) {
+        Set<Integer> ids = new HashSet<>();
+        for (T row : rows) {
+            ids.add(idOf.id(row));
+        }
+        return ids;
+    }
+}
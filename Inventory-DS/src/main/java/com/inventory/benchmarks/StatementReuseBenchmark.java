@@ -0,0 +1,100 @@
+package main.java.com.inventory.benchmarks;
+
+import main.java.com.inventory.dao.DBConnection;
+import main.java.com.inventory.dao.StatementRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+// Per-call latency of the DAO statement pattern under three setups:
+//   baseline  - driver defaults, statement parsed client-side on every call
+//   prepared  - pooled connection with server-side prepare and the driver's statement cache
+//   registry  - pooled connection, statement reused through StatementRegistry
+// Each run warms up first, then reports the mean and percentiles over the measured calls.
+// Usage: StatementReuseBenchmark [warmup calls] [measured calls]
+public class StatementReuseBenchmark {
+    private static final String CATEGORY_SQL = "SELECT id FROM categories WHERE name = ?";
+    private static final String PRODUCT_PAGE_SQL = "SELECT p.id, p.name, c.name AS category_name, p.stock, p.price, p.description " +
+                                                   "FROM products p LEFT JOIN categories c ON p.category_id = c.id " +
+                                                   "WHERE p.id > ? ORDER BY p.id LIMIT ?";
+
+    public interface Binder {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
+
+    public interface Call {
+        void run() throws SQLException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int warmup = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int measured = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+
+        Binder category = stmt -> stmt.setString(1, "Electronics");
+        Binder productPage = stmt -> {
+            stmt.setInt(1, 0);
+            stmt.setInt(2, 51);
+        };
+
+        try (Connection baseline = DBConnection.openBaselineConnection()) {
+            System.out.printf("%-14s %-10s %10s %10s %10s %10s%n", "statement", "setup", "mean us", "p50 us", "p99 us", "max us");
+            compare("category.id", CATEGORY_SQL, category, baseline, warmup, measured);
+            compare("product.page", PRODUCT_PAGE_SQL, productPage, baseline, warmup, measured);
+            System.out.println("Pool - " + DBConnection.getPool().getStats());
+        } finally {
+            DBConnection.closeConnection();
+        }
+    }
+
+    private static void compare(String name, String sql, Binder binder, Connection baseline,
+                                int warmup, int measured) throws SQLException {
+        run(name, "baseline", warmup, measured, () -> {
+            try (PreparedStatement stmt = baseline.prepareStatement(sql)) {
+                execute(stmt, binder);
+            }
+        });
+        run(name, "prepared", warmup, measured, () -> {
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                execute(stmt, binder);
+            }
+        });
+        run(name, "registry", warmup, measured, () -> {
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = StatementRegistry.prepare(conn, "benchmark." + name, sql)) {
+                execute(stmt, binder);
+            }
+        });
+    }
+
+    private static void execute(PreparedStatement stmt, Binder binder) throws SQLException {
+        binder.bind(stmt);
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                rs.getObject(1);
+            }
+        }
+    }
+
+    private static void run(String name, String setup, int warmup, int measured, Call call) throws SQLException {
+        for (int i = 0; i < warmup; i++) {
+            call.run();
+        }
+        long[] samples = new long[measured];
+        long total = 0;
+        for (int i = 0; i < measured; i++) {
+            long start = System.nanoTime();
+            call.run();
+            samples[i] = System.nanoTime() - start;
+            total += samples[i];
+        }
+        Arrays.sort(samples);
+        System.out.printf("%-14s %-10s %10.1f %10.1f %10.1f %10.1f%n", name, setup,
+            total / 1_000.0 / measured,
+            samples[measured / 2] / 1_000.0,
+            samples[Math.min(measured - 1, (int) (measured * 0.99))] / 1_000.0,
+            samples[measured - 1] / 1_000.0);
+    }
+}
@@ -7,28 +7,44 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class AuditLogDAO {
-    private Connection conn;
+    // Both tables share their columns, so every read below is one of these, UNION ALL-ed as needed
+    static final String SELECT_LIVE = "SELECT al.id, al.user_id, u.username, al.action, al.details, al.timestamp " +
+                                      "FROM audit_logs al LEFT JOIN users u ON al.user_id = u.id";
+    static final String SELECT_ARCHIVED = "SELECT al.id, al.user_id, u.username, al.action, al.details, al.timestamp " +
+                                          "FROM audit_logs_archive al LEFT JOIN users u ON al.user_id = u.id";
+    private static final String LIKE_FILTER = " WHERE u.username LIKE ? OR al.action LIKE ? OR al.details LIKE ?";
 
-    public AuditLogDAO(Connection conn) {
-        this.conn = conn;
-        if (conn != null) {
-            try {
-                if (!conn.getAutoCommit()) {
-                    conn.setAutoCommit(true);
-                }
-            } catch (SQLException e) {}
-        }
+    private final AuditLogWriter writer;
+
+    public AuditLogDAO() {
+        this.writer = AuditLogWriter.getInstance();
     }
 
+    // Queues the entry for the background writer; throws only if the queue rejects it
     public void logAction(int userId, String action, String details) throws SQLException {
+        writer.submit(userId, action, details);
+    }
+
+    public boolean flush(long timeoutMillis) {
+        return writer.flush(timeoutMillis);
+    }
+
+    public AuditLogWriter.WriterStats getWriterStats() {
+        return writer.getStats();
+    }
+
+    // Writes the audit row on the caller's connection so it joins the caller's transaction
+    void logAction(Connection conn, int userId, String action, String details) throws SQLException {
         if (conn == null || conn.isClosed()) {
             throw new SQLException("Database connection is invalid");
         }
         String sql = "INSERT INTO audit_logs (user_id, action, details, timestamp) VALUES (?, ?, ?, ?)";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = StatementRegistry.prepare(conn, "audit.insert", sql)) {
             if (userId == 0) {
                 stmt.setNull(1, java.sql.Types.INTEGER); // Allow null user_id for system actions
             } else {
@@ -44,61 +60,191 @@ public class AuditLogDAO {
         }
     }
 
+    // Live and archived rows, newest first
     public List<AuditLog> getAllAuditLogs() throws SQLException {
         List<AuditLog> logs = new ArrayList<>();
-        if (conn == null || conn.isClosed()) {
-            throw new SQLException("Database connection is invalid");
-        }
-        String sql = "SELECT al.id, al.user_id, u.username, al.action, al.details, al.timestamp " +
-                     "FROM audit_logs al LEFT JOIN users u ON al.user_id = u.id ORDER BY al.timestamp DESC";
-        try (PreparedStatement stmt = conn.prepareStatement(sql);
+        String sql = "(" + SELECT_LIVE + ") UNION ALL (" + SELECT_ARCHIVED + ") ORDER BY id DESC";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
-                AuditLog log = new AuditLog(
-                    rs.getInt("id"),
-                    rs.getInt("user_id"),
-                    rs.getString("username") != null ? rs.getString("username") : "System",
-                    rs.getString("action"),
-                    rs.getString("details"),
-                    rs.getTimestamp("timestamp").toLocalDateTime()
-                );
-                logs.add(log);
+                logs.add(readAuditLog(rs));
             }
         }
         return logs;
     }
 
-    public List<AuditLog> searchAuditLogs(String query) throws SQLException {
+    // Keyset paging, newest first: rows with id below lastId (pass 0 for the first page). Each table is
+    // range-scanned on its primary key and only the merged head is kept, so archived rows follow the live ones.
+    public Page<AuditLog> getAuditLogsPage(int lastId, int limit) throws SQLException {
         List<AuditLog> logs = new ArrayList<>();
-        if (conn == null || conn.isClosed()) {
-            throw new SQLException("Database connection is invalid");
+        String sql = "(" + SELECT_LIVE + " WHERE al.id < ? ORDER BY al.id DESC LIMIT ?) UNION ALL " +
+                     "(" + SELECT_ARCHIVED + " WHERE al.id < ? ORDER BY al.id DESC LIMIT ?) " +
+                     "ORDER BY id DESC LIMIT ?";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = StatementRegistry.prepare(conn, "audit.page", sql)) {
+            int before = lastId <= 0 ? Integer.MAX_VALUE : lastId;
+            stmt.setInt(1, before);
+            stmt.setInt(2, limit + 1);
+            stmt.setInt(3, before);
+            stmt.setInt(4, limit + 1);
+            stmt.setInt(5, limit + 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    logs.add(readAuditLog(rs));
+                }
+            }
+        }
+        boolean hasMore = logs.size() > limit;
+        if (hasMore) {
+            logs.remove(limit);
+        }
+        int cursor = logs.isEmpty() ? lastId : logs.get(logs.size() - 1).getId();
+        return new Page<>(logs, cursor, hasMore);
+    }
+
+    // Rows with from <= timestamp < to from both tables, newest first; served by the timestamp indexes
+    public List<AuditLog> getAuditLogsBetween(LocalDateTime from, LocalDateTime to, int limit) throws SQLException {
+        List<AuditLog> logs = new ArrayList<>();
+        String sql = "(" + SELECT_LIVE + " WHERE al.timestamp >= ? AND al.timestamp < ? " +
+                     "ORDER BY al.timestamp DESC LIMIT ?) UNION ALL " +
+                     "(" + SELECT_ARCHIVED + " WHERE al.timestamp >= ? AND al.timestamp < ? " +
+                     "ORDER BY al.timestamp DESC LIMIT ?) " +
+                     "ORDER BY timestamp DESC, id DESC LIMIT ?";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = StatementRegistry.prepare(conn, "audit.between", sql)) {
+            for (int offset = 0; offset <= 3; offset += 3) {
+                stmt.setTimestamp(offset + 1, Timestamp.valueOf(from));
+                stmt.setTimestamp(offset + 2, Timestamp.valueOf(to));
+                stmt.setInt(offset + 3, limit);
+            }
+            stmt.setInt(7, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    logs.add(readAuditLog(rs));
+                }
+            }
         }
-        String sql = "SELECT al.id, al.user_id, u.username, al.action, al.details, al.timestamp " +
-                     "FROM audit_logs al LEFT JOIN users u ON al.user_id = u.id " +
-                     "WHERE u.username LIKE ? OR al.action LIKE ? OR al.details LIKE ? " +
-                     "ORDER BY al.timestamp DESC";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        return logs;
+    }
+
+    public long estimateAuditLogCount() throws SQLException {
+        return DBConnection.estimateRowCount("audit_logs") + DBConnection.estimateRowCount("audit_logs_archive");
+    }
+
+    // Moves up to chunkSize of the oldest rows written before cutoff into audit_logs_archive, in one
+    // transaction, and returns how many moved (0 once nothing is left to archive)
+    public int archiveOlderThan(LocalDateTime cutoff, int chunkSize) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                // The chunk is every old row up to the highest id among the first chunkSize of them
+                int upToId = 0;
+                String chunkSql = "SELECT MAX(id) FROM (SELECT id FROM audit_logs WHERE timestamp < ? " +
+                                  "ORDER BY id LIMIT ?) chunk";
+                try (PreparedStatement stmt = conn.prepareStatement(chunkSql)) {
+                    stmt.setTimestamp(1, Timestamp.valueOf(cutoff));
+                    stmt.setInt(2, chunkSize);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (rs.next()) {
+                            upToId = rs.getInt(1);
+                        }
+                    }
+                }
+                if (upToId == 0) {
+                    conn.commit();
+                    return 0;
+                }
+
+                String copySql = "INSERT INTO audit_logs_archive (id, user_id, action, details, timestamp, archived_at) " +
+                                 "SELECT id, user_id, action, details, timestamp, ? FROM audit_logs " +
+                                 "WHERE id <= ? AND timestamp < ?";
+                int copied;
+                try (PreparedStatement stmt = conn.prepareStatement(copySql)) {
+                    stmt.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+                    stmt.setInt(2, upToId);
+                    stmt.setTimestamp(3, Timestamp.valueOf(cutoff));
+                    copied = stmt.executeUpdate();
+                }
+                int deleted;
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "DELETE FROM audit_logs WHERE id <= ? AND timestamp < ?")) {
+                    stmt.setInt(1, upToId);
+                    stmt.setTimestamp(2, Timestamp.valueOf(cutoff));
+                    deleted = stmt.executeUpdate();
+                }
+                if (copied != deleted) {
+                    throw new SQLException("Archived " + copied + " audit rows but removed " + deleted);
+                }
+                conn.commit();
+                return deleted;
+            } catch (SQLException e) {
+                conn.rollback();
+                System.err.println("[ERROR] AuditLogDAO: Failed to archive audit logs - " + e.getMessage());
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    // Live rows are served from the in-memory search index once it has been built; archived rows always come
+    // from SQL and follow the live hits
+    public List<AuditLog> searchAuditLogs(String query) throws SQLException {
+        AuditLogSearchIndex searchIndex = AuditLogSearchIndex.getInstance();
+        List<AuditLog> logs = searchIndex.search(query);
+        if (logs == null) {
+            return searchAuditLogsWithLike(query);
+        }
+        List<AuditLog> archived = searchWithLike("(" + SELECT_ARCHIVED + LIKE_FILTER + ") " +
+                                                 "ORDER BY timestamp DESC, id DESC", 3, query);
+        searchIndex.forget(archived); // Rows another client archived since the index last caught up
+        Set<Integer> seen = new HashSet<>();
+        for (AuditLog log : logs) {
+            seen.add(log.getId());
+        }
+        for (AuditLog log : archived) {
+            if (seen.add(log.getId())) {
+                logs.add(log);
+            }
+        }
+        return logs;
+    }
+
+    // Unindexed LIKE scan over live and archived rows, used while the index is cold
+    public List<AuditLog> searchAuditLogsWithLike(String query) throws SQLException {
+        return searchWithLike("(" + SELECT_LIVE + LIKE_FILTER + ") UNION ALL (" + SELECT_ARCHIVED + LIKE_FILTER + ") " +
+                              "ORDER BY timestamp DESC, id DESC", 6, query);
+    }
+
+    private List<AuditLog> searchWithLike(String sql, int parameters, String query) throws SQLException {
+        List<AuditLog> logs = new ArrayList<>();
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
             String searchTerm = "%" + query.trim() + "%";
-            stmt.setString(1, searchTerm);
-            stmt.setString(2, searchTerm);
-            stmt.setString(3, searchTerm);
+            for (int i = 1; i <= parameters; i++) {
+                stmt.setString(i, searchTerm);
+            }
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    AuditLog log = new AuditLog(
-                        rs.getInt("id"),
-                        rs.getInt("user_id"),
-                        rs.getString("username") != null ? rs.getString("username") : "System",
-                        rs.getString("action"),
-                        rs.getString("details"),
-                        rs.getTimestamp("timestamp").toLocalDateTime()
-                    );
-                    logs.add(log);
+                    logs.add(readAuditLog(rs));
                 }
             }
         }
         return logs;
     }
 
+    static AuditLog readAuditLog(ResultSet rs) throws SQLException {
+        return new AuditLog(
+            rs.getInt("id"),
+            rs.getInt("user_id"),
+            rs.getString("username") != null ? rs.getString("username") : "System",
+            rs.getString("action"),
+            rs.getString("details"),
+            rs.getTimestamp("timestamp").toLocalDateTime()
+        );
+    }
+
     public static class AuditLog {
         private int id;
         private int userId;
@@ -0,0 +1,201 @@
+package main.java.com.inventory.dao;
+
+import main.java.com.inventory.utils.SearchIndex;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+// Search index over the live audit_logs table only, so its size is bounded by the retention age; archived rows
+// are searched in SQL by AuditLogDAO. Warmed once in the background, then caught up before each search, which
+// picks up rows written by the async writer and by other clients and drops rows archived since.
+public class AuditLogSearchIndex {
+    private static AuditLogSearchIndex instance;
+
+    private SearchIndex<AuditLogDAO.AuditLog> index = newIndex();
+    private TreeSet<Integer> indexed = new TreeSet<>();
+    // {load start millis, highest indexed id} per load; ids can commit out of order, so each catch-up re-reads
+    // from the highest id seen at least OVERLAP_MS ago and skips the ids it already has
+    private final ArrayDeque<long[]> marks = new ArrayDeque<>();
+    private boolean warm = false;
+    private boolean warming = false;
+    private boolean catchingUp = false;
+    private int generation = 0;
+
+    public static synchronized AuditLogSearchIndex getInstance() {
+        if (instance == null) {
+            instance = new AuditLogSearchIndex();
+        }
+        return instance;
+    }
+
+    // Returns null while the index is cold so the caller can fall back to the LIKE query
+    public List<AuditLogDAO.AuditLog> search(String query) throws SQLException {
+        int floor;
+        int startedAt;
+        synchronized (this) {
+            if (!warm) {
+                startWarming();
+                return null;
+            }
+            // A search arriving during another's catch-up uses the index as it stands
+            if (catchingUp) {
+                return index.search(query, 0);
+            }
+            catchingUp = true;
+            floor = (int) marks.peekFirst()[1];
+            startedAt = generation;
+        }
+
+        // The read runs off the lock so searches and invalidate() are not held up by the database
+        Load load = null;
+        try {
+            load = Load.read(floor);
+        } finally {
+            synchronized (this) {
+                catchingUp = false;
+                if (load != null && startedAt == generation) {
+                    apply(load);
+                }
+            }
+        }
+        synchronized (this) {
+            return warm ? index.search(query, 0) : null;
+        }
+    }
+
+    public synchronized boolean isWarm() {
+        return warm;
+    }
+
+    public synchronized int size() {
+        return indexed.size();
+    }
+
+    // Drops the index, e.g. after rows were deleted or usernames detached by a user deletion
+    public synchronized void invalidate() {
+        generation++;
+        warm = false;
+        warming = false;
+        index = newIndex();
+        indexed = new TreeSet<>();
+        marks.clear();
+    }
+
+    // Forgets rows found in audit_logs_archive, e.g. archived by another client after the last catch-up
+    public synchronized void forget(List<AuditLogDAO.AuditLog> archived) {
+        for (AuditLogDAO.AuditLog log : archived) {
+            if (indexed.remove(log.getId())) {
+                index.remove(log.getId());
+            }
+        }
+    }
+
+    // Builds a fresh index off the lock so searches keep falling back to SQL meanwhile
+    private void startWarming() {
+        if (warming) {
+            return;
+        }
+        warming = true;
+        int startedAt = generation;
+        Thread loader = new Thread(() -> {
+            try {
+                Load load = Load.read(0);
+                synchronized (this) {
+                    if (startedAt == generation) {
+                        apply(load);
+                        warm = true;
+                        warming = false;
+                    }
+                }
+            } catch (SQLException e) {
+                System.err.println("[ERROR] AuditLogSearchIndex: Failed to build index - " + e.getMessage());
+                synchronized (this) {
+                    if (startedAt == generation) {
+                        warming = false;
+                    }
+                }
+            }
+        }, "audit-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    // Caller holds the lock
+    private void apply(Load load) {
+        for (AuditLogDAO.AuditLog log : load.rows) {
+            if (indexed.add(log.getId())) {
+                index.put(log);
+            }
+        }
+        // Archiving takes the oldest rows first, so everything below the live minimum has left audit_logs
+        while (!indexed.isEmpty() && indexed.first() < load.minLiveId) {
+            index.remove(indexed.pollFirst());
+        }
+
+        long highest = indexed.isEmpty() ? load.floor : Math.max(load.floor, indexed.last());
+        marks.addLast(new long[] {load.startedMillis, highest});
+        long horizon = load.startedMillis - ChangeFeedDAO.OVERLAP_MS;
+        while (marks.size() > 1) {
+            long[] oldest = marks.pollFirst();
+            if (marks.peekFirst()[0] > horizon) {
+                marks.addFirst(oldest);
+                break;
+            }
+        }
+    }
+
+    private static SearchIndex<AuditLogDAO.AuditLog> newIndex() {
+        return new SearchIndex<>(new SearchIndex.Document<AuditLogDAO.AuditLog>() {
+            @Override
+            public int id(AuditLogDAO.AuditLog log) {
+                return log.getId();
+            }
+
+            @Override
+            public String[] fields(AuditLogDAO.AuditLog log) {
+                // System entries have no username to match, same as the LIKE query on u.username
+                return new String[] {log.getUserId() != 0 ? log.getUsername() : null, log.getAction(), log.getDetails()};
+            }
+        }, new int[] {2, 3, 1}, true);
+    }
+
+    // Live rows with id above floor, plus the lowest live id
+    private static class Load {
+        private final long startedMillis = System.currentTimeMillis();
+        private final int floor;
+        private final List<AuditLogDAO.AuditLog> rows = new ArrayList<>();
+        private int minLiveId = Integer.MAX_VALUE;
+
+        private Load(int floor) {
+            this.floor = floor;
+        }
+
+        static Load read(int floor) throws SQLException {
+            Load load = new Load(floor);
+            try (Connection conn = DBConnection.getConnection()) {
+                try (PreparedStatement stmt = conn.prepareStatement(
+                         AuditLogDAO.SELECT_LIVE + " WHERE al.id > ? ORDER BY al.id")) {
+                    stmt.setFetchSize(1000);
+                    stmt.setInt(1, floor);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            load.rows.add(AuditLogDAO.readAuditLog(rs));
+                        }
+                    }
+                }
+                try (PreparedStatement stmt = conn.prepareStatement("SELECT MIN(id) FROM audit_logs");
+                     ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next() && rs.getObject(1) != null) {
+                        load.minLiveId = rs.getInt(1);
+                    }
+                }
+            }
+            return load;
+        }
+    }
+}
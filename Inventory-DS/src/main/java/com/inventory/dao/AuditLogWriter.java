@@ -0,0 +1,359 @@
+package main.java.com.inventory.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AuditLogWriter {
+    private static final int DEFAULT_CAPACITY = 10_000;
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final long DEFAULT_FLUSH_INTERVAL_MS = 500;
+    private static final long DEFAULT_OFFER_TIMEOUT_MS = 200;
+    private static final long SHUTDOWN_FLUSH_TIMEOUT_MS = 5_000;
+    private static final int MAX_ATTEMPTS = 8;
+    private static final long MAX_BACKOFF_MS = 30_000;
+    private static AuditLogWriter instance;
+
+    public enum OverflowPolicy {
+        BLOCK,        // Wait up to the offer timeout, then reject the entry
+        DROP_NEWEST,  // Discard the entry being logged
+        DROP_OLDEST,  // Evict the oldest queued entry to make room
+        CALLER_RUNS   // Write the entry synchronously on the caller's thread
+    }
+
+    private final BlockingQueue<Entry> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long offerTimeoutMillis;
+    private final OverflowPolicy policy;
+    private final Object writeLock = new Object();
+    // Entries from failed batches, retried once retryAtNanos passes; guarded by writeLock
+    private final List<Entry> retries = new ArrayList<>();
+    private long retryAtNanos;
+    private long backoffMillis;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    public AuditLogWriter(int capacity, int batchSize, long flushIntervalMillis,
+                          long offerTimeoutMillis, OverflowPolicy policy) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.policy = policy;
+        this.flusher = new Thread(this::runFlusher, "audit-log-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    public static synchronized AuditLogWriter getInstance() {
+        if (instance == null) {
+            instance = new AuditLogWriter(DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE,
+                DEFAULT_FLUSH_INTERVAL_MS, DEFAULT_OFFER_TIMEOUT_MS, OverflowPolicy.BLOCK);
+            AuditLogWriter shutdownTarget = instance;
+            Runtime.getRuntime().addShutdownHook(
+                new Thread(() -> shutdownTarget.shutdown(SHUTDOWN_FLUSH_TIMEOUT_MS), "audit-log-shutdown"));
+        }
+        return instance;
+    }
+
+    public void submit(int userId, String action, String details) throws SQLException {
+        if (!running) {
+            throw new SQLException("Audit log writer has been shut down");
+        }
+        Entry entry = new Entry(userId, action, details, LocalDateTime.now());
+        pending.incrementAndGet();
+        if (queue.offer(entry)) {
+            enqueued.incrementAndGet();
+            return;
+        }
+
+        switch (policy) {
+            case BLOCK:
+                try {
+                    if (queue.offer(entry, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                        enqueued.incrementAndGet();
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                pending.decrementAndGet();
+                dropped.incrementAndGet();
+                throw new SQLException("Audit log queue is full; entry rejected: " + action);
+            case DROP_NEWEST:
+                pending.decrementAndGet();
+                dropped.incrementAndGet();
+                return;
+            case DROP_OLDEST:
+                while (!queue.offer(entry)) {
+                    if (queue.poll() != null) {
+                        pending.decrementAndGet();
+                        dropped.incrementAndGet();
+                    }
+                }
+                enqueued.incrementAndGet();
+                return;
+            case CALLER_RUNS:
+            default:
+                List<Entry> single = new ArrayList<>(1);
+                single.add(entry);
+                enqueued.incrementAndGet();
+                synchronized (writeLock) {
+                    try {
+                        insert(single);
+                        written.incrementAndGet();
+                    } catch (SQLException e) {
+                        failed.incrementAndGet(); // The caller gets the error instead of a retry
+                        throw e;
+                    } finally {
+                        pending.decrementAndGet();
+                    }
+                }
+        }
+    }
+
+    private void runFlusher() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty() || retrying()) {
+            try {
+                long wait = retryWaitMillis();
+                if (wait >= 0) {
+                    // New entries stay in the queue meanwhile, where the overflow policy bounds them
+                    if (wait > 0) {
+                        Thread.sleep(Math.min(wait, flushIntervalMillis));
+                    }
+                    synchronized (writeLock) {
+                        if (!retries.isEmpty() && System.nanoTime() >= retryAtNanos) {
+                            batch.addAll(retries);
+                            retries.clear();
+                            writeBatch(batch);
+                        }
+                    }
+                    continue;
+                }
+                Entry first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Give a burst a moment to fill the batch before paying for a round trip
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Entry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                synchronized (writeLock) {
+                    writeBatch(batch);
+                }
+            } catch (InterruptedException e) {
+                if (!batch.isEmpty()) {
+                    synchronized (writeLock) {
+                        writeBatch(batch);
+                    }
+                }
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private boolean retrying() {
+        synchronized (writeLock) {
+            return !retries.isEmpty();
+        }
+    }
+
+    // -1 when nothing waits for a retry, else how long until the next attempt is due
+    private long retryWaitMillis() {
+        synchronized (writeLock) {
+            if (retries.isEmpty()) {
+                return -1;
+            }
+            return Math.max(0, TimeUnit.NANOSECONDS.toMillis(retryAtNanos - System.nanoTime()));
+        }
+    }
+
+    // Caller holds writeLock. A failed batch is kept for a retry after an exponential backoff; its entries
+    // count as failed only once they have used up MAX_ATTEMPTS, and stay pending until then.
+    private void writeBatch(List<Entry> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            insert(batch);
+            written.addAndGet(batch.size());
+            pending.addAndGet(-batch.size());
+            backoffMillis = 0;
+        } catch (SQLException e) {
+            int givenUp = 0;
+            for (Entry entry : batch) {
+                if (++entry.attempts >= MAX_ATTEMPTS) {
+                    givenUp++;
+                } else {
+                    retries.add(entry);
+                }
+            }
+            failed.addAndGet(givenUp);
+            pending.addAndGet(-givenUp);
+            backoffMillis = backoffMillis == 0 ? flushIntervalMillis : Math.min(backoffMillis * 2, MAX_BACKOFF_MS);
+            retryAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMillis);
+            System.err.println("[ERROR] AuditLogWriter: Failed to write " + batch.size() + " audit entries, " +
+                (batch.size() - givenUp) + " retried in " + backoffMillis + " ms - " + e.getMessage());
+        }
+    }
+
+    private void insert(List<Entry> batch) throws SQLException {
+        long start = System.nanoTime();
+        StringBuilder sql = new StringBuilder("INSERT INTO audit_logs (user_id, action, details, timestamp) VALUES ");
+        for (int i = 0; i < batch.size(); i++) {
+            sql.append(i == 0 ? "(?, ?, ?, ?)" : ", (?, ?, ?, ?)");
+        }
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (Entry entry : batch) {
+                if (entry.userId == 0) {
+                    stmt.setNull(index++, java.sql.Types.INTEGER); // Allow null user_id for system actions
+                } else {
+                    stmt.setInt(index++, entry.userId);
+                }
+                stmt.setString(index++, entry.action);
+                stmt.setString(index++, entry.details);
+                stmt.setTimestamp(index++, Timestamp.valueOf(entry.timestamp));
+            }
+            stmt.executeUpdate();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            flushCount.incrementAndGet();
+            totalFlushNanos.addAndGet(elapsed);
+            maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    // Writes everything queued so far on the calling thread and waits for in-flight batches and retries;
+    // false while any entry is still unwritten
+    public boolean flush(long timeoutMillis) {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        synchronized (writeLock) {
+            // Once a batch has failed, further ones wait for its retry instead of failing too
+            while (retries.isEmpty() && queue.drainTo(batch, batchSize) > 0) {
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (pending.get() > 0 && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return pending.get() == 0;
+    }
+
+    public void shutdown(long timeoutMillis) {
+        if (!running) {
+            return;
+        }
+        running = false;
+        if (!flush(timeoutMillis)) {
+            System.err.println("[ERROR] AuditLogWriter: " + pending.get() + " audit entries not written at shutdown");
+        }
+    }
+
+    public WriterStats getStats() {
+        long flushes = flushCount.get();
+        return new WriterStats(
+            queue.size(),
+            enqueued.get(),
+            written.get(),
+            dropped.get(),
+            failed.get(),
+            flushes,
+            flushes == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalFlushNanos.get()) / flushes,
+            TimeUnit.NANOSECONDS.toMicros(maxFlushNanos.get())
+        );
+    }
+
+    private static class Entry {
+        private final int userId;
+        private final String action;
+        private final String details;
+        private final LocalDateTime timestamp;
+        private int attempts;
+
+        Entry(int userId, String action, String details, LocalDateTime timestamp) {
+            this.userId = userId;
+            this.action = action;
+            this.details = details;
+            this.timestamp = timestamp;
+        }
+    }
+
+    public static class WriterStats {
+        private final int queueDepth;
+        private final long enqueued;
+        private final long written;
+        private final long dropped;
+        private final long failed;
+        private final long flushCount;
+        private final long avgFlushMicros;
+        private final long maxFlushMicros;
+
+        public WriterStats(int queueDepth, long enqueued, long written, long dropped, long failed,
+                           long flushCount, long avgFlushMicros, long maxFlushMicros) {
+            this.queueDepth = queueDepth;
+            this.enqueued = enqueued;
+            this.written = written;
+            this.dropped = dropped;
+            this.failed = failed;
+            this.flushCount = flushCount;
+            this.avgFlushMicros = avgFlushMicros;
+            this.maxFlushMicros = maxFlushMicros;
+        }
+
+        public int getQueueDepth() { return queueDepth; }
+        public long getEnqueued() { return enqueued; }
+        public long getWritten() { return written; }
+        public long getDropped() { return dropped; }
+        public long getFailed() { return failed; }
+        public long getFlushCount() { return flushCount; }
+        public long getAvgFlushMicros() { return avgFlushMicros; }
+        public long getMaxFlushMicros() { return maxFlushMicros; }
+
+        @Override
+        public String toString() {
+            return String.format("queued=%d, enqueued=%d, written=%d, dropped=%d, failed=%d, flushes=%d, avgFlush=%dus, maxFlush=%dus",
+                queueDepth, enqueued, written, dropped, failed, flushCount, avgFlushMicros, maxFlushMicros);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package main.java.com.inventory.dao;
+
+import main.java.com.inventory.models.Product;
+import main.java.com.inventory.models.User;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Delta reads for clients that follow other clients' writes: products and users by their updated_at version,
+// deletions from the deleted_rows tombstones, and audit entries past an id high-water mark. Versions are the
+// database's clock, never the client's.
+public class ChangeFeedDAO {
+    // A transaction that commits after a poll can carry an updated_at from before that poll's watermark, so
+    // each poll looks this far back; callers drop the rows they have already seen
+    public static final long OVERLAP_MS = 5_000;
+    // More changes than this at once (an import, a restore) is answered with overflow: reload instead
+    public static final int MAX_ROWS = 500;
+    // Tombstones older than this are purged, so a client further behind than this must reload
+    public static final long TOMBSTONE_RETENTION_MS = 24 * 60 * 60_000L;
+
+    // Pass since = 0 for a starting point: only the watermarks are filled in. Audit rows are read by id, and ids
+    // are taken when a row is inserted, not when its transaction commits, so afterAuditId should trail the
+    // highest id seen the same way since trails the clock (see ChangeFeed); rows already seen come back again.
+    public ChangeSet getChangesSince(long since, int afterAuditId) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            long watermark;
+            int auditWatermark;
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT NOW(3), (SELECT COALESCE(MAX(id), 0) FROM audit_logs)")) {
+                rs.next();
+                watermark = rs.getTimestamp(1).getTime();
+                auditWatermark = rs.getInt(2);
+            }
+            if (since <= 0) {
+                return new ChangeSet(watermark, auditWatermark, false);
+            }
+            if (watermark - since > TOMBSTONE_RETENTION_MS) {
+                return new ChangeSet(watermark, auditWatermark, true);
+            }
+
+            Timestamp from = new Timestamp(since - OVERLAP_MS);
+            ChangeSet changes = new ChangeSet(watermark, afterAuditId, false);
+            if (!readProducts(conn, from, changes.products)
+                    || !readUsers(conn, from, changes.users)
+                    || !readDeletions(conn, from, changes)
+                    || !readAuditLogs(conn, afterAuditId, changes.auditLogs)) {
+                return new ChangeSet(watermark, auditWatermark, true);
+            }
+            if (!changes.auditLogs.isEmpty()) {
+                changes.auditWatermark = changes.auditLogs.get(changes.auditLogs.size() - 1).getId();
+            }
+            return changes;
+        }
+    }
+
+    public int purgeTombstones() throws SQLException {
+        String sql = "DELETE FROM deleted_rows WHERE deleted_at < NOW(3) - INTERVAL ? SECOND";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, TOMBSTONE_RETENTION_MS / 1000);
+            return stmt.executeUpdate();
+        }
+    }
+
+    // Each reader returns false when there are more than MAX_ROWS rows to read
+    private boolean readProducts(Connection conn, Timestamp from, List<Versioned<Product>> products) throws SQLException {
+        String sql = "SELECT " + ProductDAO.PRODUCT_COLUMNS + ", p.updated_at " +
+                     "FROM products p LEFT JOIN categories c ON p.category_id = c.id " +
+                     "WHERE p.updated_at >= ? ORDER BY p.updated_at LIMIT ?";
+        try (PreparedStatement stmt = StatementRegistry.prepare(conn, "feed.products", sql)) {
+            stmt.setTimestamp(1, from);
+            stmt.setInt(2, MAX_ROWS + 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Product product = ProductDAO.readProduct(rs);
+                    products.add(new Versioned<>(product, product.getId(), rs.getTimestamp("updated_at").getTime()));
+                }
+            }
+        }
+        return products.size() <= MAX_ROWS;
+    }
+
+    private boolean readUsers(Connection conn, Timestamp from, List<Versioned<User>> users) throws SQLException {
+        String sql = "SELECT id, username, role, permissions, updated_at FROM users " +
+                     "WHERE updated_at >= ? ORDER BY updated_at LIMIT ?";
+        try (PreparedStatement stmt = StatementRegistry.prepare(conn, "feed.users", sql)) {
+            stmt.setTimestamp(1, from);
+            stmt.setInt(2, MAX_ROWS + 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    User user = new User(rs.getInt("id"), rs.getString("username"), rs.getString("role"));
+                    user.setPermissions(rs.getString("permissions"));
+                    users.add(new Versioned<>(user, user.getId(), rs.getTimestamp("updated_at").getTime()));
+                }
+            }
+        }
+        return users.size() <= MAX_ROWS;
+    }
+
+    // A row that was deleted and then inserted again (a restore keeps ids) is reported as changed, not deleted
+    private boolean readDeletions(Connection conn, Timestamp from, ChangeSet changes) throws SQLException {
+        Set<Integer> liveProducts = new HashSet<>();
+        for (Versioned<Product> product : changes.products) {
+            liveProducts.add(product.getId());
+        }
+        Set<Integer> liveUsers = new HashSet<>();
+        for (Versioned<User> user : changes.users) {
+            liveUsers.add(user.getId());
+        }
+
+        String sql = "SELECT table_name, row_id, deleted_at FROM deleted_rows " +
+                     "WHERE deleted_at >= ? ORDER BY deleted_at LIMIT ?";
+        int rows = 0;
+        try (PreparedStatement stmt = StatementRegistry.prepare(conn, "feed.deletions", sql)) {
+            stmt.setTimestamp(1, from);
+            stmt.setInt(2, MAX_ROWS + 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rows++;
+                    int rowId = rs.getInt("row_id");
+                    Versioned<Integer> deletion = new Versioned<>(rowId, rowId, rs.getTimestamp("deleted_at").getTime());
+                    String table = rs.getString("table_name");
+                    if (table.equals("products") && !liveProducts.contains(rowId)) {
+                        changes.deletedProducts.add(deletion);
+                    } else if (table.equals("users") && !liveUsers.contains(rowId)) {
+                        changes.deletedUsers.add(deletion);
+                    }
+                }
+            }
+        }
+        return rows <= MAX_ROWS;
+    }
+
+    // New entries always land in audit_logs; only the archiver writes to the archive table
+    private boolean readAuditLogs(Connection conn, int afterId, List<AuditLogDAO.AuditLog> logs) throws SQLException {
+        String sql = AuditLogDAO.SELECT_LIVE + " WHERE al.id > ? ORDER BY al.id LIMIT ?";
+        try (PreparedStatement stmt = StatementRegistry.prepare(conn, "feed.audit", sql)) {
+            stmt.setInt(1, afterId);
+            stmt.setInt(2, MAX_ROWS + 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    logs.add(AuditLogDAO.readAuditLog(rs));
+                }
+            }
+        }
+        return logs.size() <= MAX_ROWS;
+    }
+
+    // A changed row with the version it was read at; the same id and version means the same change
+    public static class Versioned<T> {
+        private final T item;
+        private final int id;
+        private final long version;
+
+        public Versioned(T item, int id, long version) {
+            this.item = item;
+            this.id = id;
+            this.version = version;
+        }
+
+        public T getItem() { return item; }
+        public int getId() { return id; }
+        public long getVersion() { return version; }
+    }
+
+    public static class ChangeSet {
+        private final long watermark;
+        private int auditWatermark;
+        private final boolean overflow;
+        private final List<Versioned<Product>> products = new ArrayList<>();
+        private final List<Versioned<Integer>> deletedProducts = new ArrayList<>();
+        private final List<Versioned<User>> users = new ArrayList<>();
+        private final List<Versioned<Integer>> deletedUsers = new ArrayList<>();
+        private final List<AuditLogDAO.AuditLog> auditLogs = new ArrayList<>();
+
+        public ChangeSet(long watermark, int auditWatermark, boolean overflow) {
+            this.watermark = watermark;
+            this.auditWatermark = auditWatermark;
+            this.overflow = overflow;
+        }
+
+        // Pass back as since and afterAuditId for the next poll
+        public long getWatermark() { return watermark; }
+        public int getAuditWatermark() { return auditWatermark; }
+        // Too much changed to list; the lists are empty and the caller should reload
+        public boolean isOverflow() { return overflow; }
+        public List<Versioned<Product>> getProducts() { return products; }
+        public List<Versioned<Integer>> getDeletedProducts() { return deletedProducts; }
+        public List<Versioned<User>> getUsers() { return users; }
+        public List<Versioned<Integer>> getDeletedUsers() { return deletedUsers; }
+        public List<AuditLogDAO.AuditLog> getAuditLogs() { return auditLogs; }
+    }
+}
@@ -0,0 +1,417 @@
+package main.java.com.inventory.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ConnectionPool {
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+
+    // Idle connections, most recently returned first so hot connections stay hot
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+    private final AtomicLong statementPrepares = new AtomicLong();
+    private final AtomicLong statementReuses = new AtomicLong();
+    private final ScheduledExecutorService evictor;
+    private volatile boolean closed = false;
+
+    public ConnectionPool(String url, String user, String password, int minSize, int maxSize,
+                          long borrowTimeoutMillis, long idleTimeoutMillis) throws SQLException {
+        if (minSize < 0 || maxSize <= 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.permits = new Semaphore(maxSize, true);
+
+        for (int i = 0; i < minSize; i++) {
+            idle.offerLast(createPhysical());
+        }
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new SQLException("Timed out after " + borrowTimeoutMillis + " ms waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        try {
+            PooledConnection pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (isUsable(pooled)) {
+                    break;
+                }
+                validationFailures.incrementAndGet();
+                discard(pooled);
+            }
+            if (pooled == null) {
+                pooled = createPhysical();
+            }
+            activeConnections.incrementAndGet();
+            borrowCount.incrementAndGet();
+            return pooled.lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        try {
+            // Connector/J answers isValid() with a protocol-level ping, no query is parsed
+            return !pooled.physical.isClosed() && pooled.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PooledConnection createPhysical() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        totalConnections.incrementAndGet();
+        return new PooledConnection(physical);
+    }
+
+    private void release(PooledConnection pooled) {
+        activeConnections.decrementAndGet();
+        try {
+            if (closed || pooled.physical.isClosed()) {
+                discard(pooled);
+                return;
+            }
+            if (!pooled.physical.getAutoCommit()) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+            pooled.lastUsed = System.currentTimeMillis();
+            idle.offerFirst(pooled);
+        } catch (SQLException e) {
+            System.err.println("[ERROR] ConnectionPool: Discarding connection that failed reset - " + e.getMessage());
+            discard(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {}
+    }
+
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        Iterator<PooledConnection> it = idle.descendingIterator();
+        while (it.hasNext() && totalConnections.get() > minSize) {
+            PooledConnection pooled = it.next();
+            if (pooled.lastUsed < cutoff && idle.removeLastOccurrence(pooled)) {
+                discard(pooled);
+            }
+        }
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public void close() {
+        closed = true;
+        evictor.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public PoolStats getStats() {
+        long borrows = borrowCount.get();
+        return new PoolStats(
+            activeConnections.get(),
+            idle.size(),
+            totalConnections.get(),
+            maxSize,
+            borrows,
+            borrows == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalWaitNanos.get()) / borrows,
+            TimeUnit.NANOSECONDS.toMicros(maxWaitNanos.get()),
+            timeoutCount.get(),
+            validationFailures.get(),
+            statementPrepares.get(),
+            statementReuses.get()
+        );
+    }
+
+    private class PooledConnection {
+        private final Connection physical;
+        // Only touched by the thread currently leasing this connection
+        private final Map<String, NamedStatement> statements = new HashMap<>();
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        Connection lease() {
+            LeaseHandler handler = new LeaseHandler(this);
+            return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{Connection.class, StatementRegistry.StatementSource.class}, handler);
+        }
+
+        PreparedStatement prepareNamed(String name, String sql, int autoGeneratedKeys) throws SQLException {
+            NamedStatement named = statements.get(name);
+            if (named != null && named.lessee != null) {
+                // Still open further up the caller's stack, e.g. a nested call preparing the same name
+                return physical.prepareStatement(sql, autoGeneratedKeys);
+            }
+            if (named == null || !named.sql.equals(sql) || named.autoGeneratedKeys != autoGeneratedKeys
+                    || named.statement.isClosed()) {
+                if (named != null) {
+                    named.statement.close();
+                }
+                named = new NamedStatement(sql, autoGeneratedKeys, physical.prepareStatement(sql, autoGeneratedKeys));
+                statements.put(name, named);
+                statementPrepares.incrementAndGet();
+            } else {
+                statementReuses.incrementAndGet();
+            }
+            StatementLeaseHandler handler = new StatementLeaseHandler(named);
+            named.lessee = handler;
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, handler);
+        }
+
+        // Takes back statements a caller leaked past the connection's close
+        void reclaimStatements() {
+            for (NamedStatement named : statements.values()) {
+                if (named.lessee != null) {
+                    named.lessee = null;
+                    try {
+                        named.reset();
+                    } catch (SQLException e) {
+                        System.err.println("[ERROR] ConnectionPool: Failed to reset statement - " + e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    private static class NamedStatement {
+        private final String sql;
+        private final int autoGeneratedKeys;
+        private final PreparedStatement statement;
+        private StatementLeaseHandler lessee; // Null while nobody holds the statement
+
+        NamedStatement(String sql, int autoGeneratedKeys, PreparedStatement statement) {
+            this.sql = sql;
+            this.autoGeneratedKeys = autoGeneratedKeys;
+            this.statement = statement;
+        }
+
+        // Back to the state physical.prepareStatement would hand out
+        void reset() throws SQLException {
+            statement.clearParameters();
+            statement.clearBatch();
+            statement.clearWarnings();
+            statement.setFetchSize(0);
+            statement.setMaxRows(0);
+            statement.setQueryTimeout(0);
+            statement.setFetchDirection(ResultSet.FETCH_FORWARD);
+        }
+    }
+
+    // Lends out a cached statement; close() resets it for the next caller instead of closing it
+    private static class StatementLeaseHandler implements InvocationHandler {
+        private final NamedStatement named;
+        private final PreparedStatement statement;
+        private boolean returned = false;
+
+        StatementLeaseHandler(NamedStatement named) {
+            this.named = named;
+            this.statement = named.statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (named.lessee != this) {
+                returned = true; // Reclaimed when the connection went back to the pool
+            }
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        named.lessee = null;
+                        named.reset();
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || statement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    if (returned) {
+                        throw new SQLException("Statement has already been closed");
+                    }
+                    try {
+                        return method.invoke(statement, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+
+    // Hands the caller a view of the physical connection whose close() returns it to the pool
+    private class LeaseHandler implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean returned = false;
+
+        LeaseHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        pooled.reclaimStatements();
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pooled.physical.isClosed();
+                case "prepareNamed":
+                    if (returned) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    return pooled.prepareNamed((String) args[0], (String) args[1], (Integer) args[2]);
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + (returned ? ", returned" : "") + "]";
+                default:
+                    if (returned) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    try {
+                        return method.invoke(pooled.physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+
+    public static class PoolStats {
+        private final int active;
+        private final int idle;
+        private final int total;
+        private final int maxSize;
+        private final long borrowCount;
+        private final long avgWaitMicros;
+        private final long maxWaitMicros;
+        private final long timeoutCount;
+        private final long validationFailures;
+        private final long statementPrepares;
+        private final long statementReuses;
+
+        public PoolStats(int active, int idle, int total, int maxSize, long borrowCount,
+                         long avgWaitMicros, long maxWaitMicros, long timeoutCount, long validationFailures,
+                         long statementPrepares, long statementReuses) {
+            this.active = active;
+            this.idle = idle;
+            this.total = total;
+            this.maxSize = maxSize;
+            this.borrowCount = borrowCount;
+            this.avgWaitMicros = avgWaitMicros;
+            this.maxWaitMicros = maxWaitMicros;
+            this.timeoutCount = timeoutCount;
+            this.validationFailures = validationFailures;
+            this.statementPrepares = statementPrepares;
+            this.statementReuses = statementReuses;
+        }
+
+        public int getActive() { return active; }
+        public int getIdle() { return idle; }
+        public int getTotal() { return total; }
+        public int getMaxSize() { return maxSize; }
+        public long getBorrowCount() { return borrowCount; }
+        public long getAvgWaitMicros() { return avgWaitMicros; }
+        public long getMaxWaitMicros() { return maxWaitMicros; }
+        public long getTimeoutCount() { return timeoutCount; }
+        public long getValidationFailures() { return validationFailures; }
+        public long getStatementPrepares() { return statementPrepares; }
+        public long getStatementReuses() { return statementReuses; }
+
+        @Override
+        public String toString() {
+            return String.format("active=%d, idle=%d, total=%d/%d, borrows=%d, avgWait=%dus, maxWait=%dus, timeouts=%d, invalid=%d, " +
+                "statements prepared=%d, reused=%d",
+                active, idle, total, maxSize, borrowCount, avgWaitMicros, maxWaitMicros, timeoutCount, validationFailures,
+                statementPrepares, statementReuses);
+        }
+    }
+}
@@ -0,0 +1,550 @@
+package main.java.com.inventory.dao;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// In-JVM backup and restore over JDBC. Each table is streamed in row chunks into a gzip-compressed
+// binary file taken from one consistent snapshot; restores use multi-row INSERTs in a single transaction.
+public class DatabaseBackup {
+    public static final String FILE_EXTENSION = ".invbak";
+    private static final int MAGIC = 0x49445342; // "IDSB"
+    private static final int FORMAT_VERSION = 1;
+    private static final int CHUNK_ROWS = 1000;
+    private static final int ROWS_PER_INSERT = 500;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final byte SECTION_TABLE = 1;
+    private static final byte SECTION_END = 0;
+
+    // Parents before children, so a restore inserts in foreign key order
+    private static final List<String> TABLES = Arrays.asList(
+        "users", "categories", "products", "product_thresholds", "audit_logs", "audit_logs_archive", "inventory_logs");
+
+    public enum Kind { FULL, AUDIT_INCREMENTAL }
+
+    public interface ProgressListener {
+        void onProgress(String table, long rows, int percent);
+    }
+
+    public BackupResult backup(String filePath, ProgressListener listener) throws SQLException, IOException {
+        return write(filePath, Kind.FULL, 0, listener);
+    }
+
+    // Only audit_logs rows with id above afterId; pass the watermark of the previous backup in the chain
+    public BackupResult backupAuditLogsSince(String filePath, long afterId, ProgressListener listener)
+            throws SQLException, IOException {
+        return write(filePath, Kind.AUDIT_INCREMENTAL, afterId, listener);
+    }
+
+    private BackupResult write(String filePath, Kind kind, long auditAfterId, ProgressListener listener)
+            throws SQLException, IOException {
+        long start = System.currentTimeMillis();
+        List<String> tables = kind == Kind.FULL ? TABLES : Arrays.asList("audit_logs");
+        long estimatedRows = 0;
+        for (String table : tables) {
+            estimatedRows += DBConnection.estimateRowCount(table);
+        }
+
+        Path target = Paths.get(filePath);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        long rows = 0;
+        long watermark;
+        try (Connection conn = DBConnection.getConnection()) {
+            int isolation = conn.getTransactionIsolation();
+            // One REPEATABLE READ transaction gives every table the same snapshot
+            conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            conn.setAutoCommit(false);
+            conn.setReadOnly(true);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(temp), 64 * 1024), BUFFER_SIZE))) {
+                watermark = queryLong(conn, "SELECT COALESCE(MAX(id), 0) FROM audit_logs");
+                out.writeInt(MAGIC);
+                out.writeShort(FORMAT_VERSION);
+                out.writeByte(kind.ordinal());
+                out.writeLong(System.currentTimeMillis());
+                out.writeLong(kind == Kind.FULL ? 0 : auditAfterId);
+                out.writeLong(watermark);
+
+                for (String table : tables) {
+                    String sql = "SELECT * FROM " + table;
+                    if (table.equals("audit_logs")) {
+                        sql += " WHERE id > ? AND id <= ? ORDER BY id";
+                    }
+                    try (PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                        stmt.setFetchSize(CHUNK_ROWS);
+                        if (table.equals("audit_logs")) {
+                            stmt.setLong(1, kind == Kind.FULL ? 0 : auditAfterId);
+                            stmt.setLong(2, watermark);
+                        }
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            rows = writeTable(out, table, rs, rows, estimatedRows, listener);
+                        }
+                    }
+                }
+                out.writeByte(SECTION_END);
+                conn.commit();
+            } finally {
+                conn.rollback();
+                conn.setReadOnly(false);
+                conn.setTransactionIsolation(isolation);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return new BackupResult(kind, rows, watermark, Files.size(target), System.currentTimeMillis() - start);
+    }
+
+    // Rows go out in chunks prefixed by their count; a zero count ends the table
+    private long writeTable(DataOutputStream out, String table, ResultSet rs, long rowsBefore, long estimatedRows,
+                            ProgressListener listener) throws SQLException, IOException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int columnCount = meta.getColumnCount();
+        char[] codes = new char[columnCount];
+        out.writeByte(SECTION_TABLE);
+        out.writeUTF(table);
+        out.writeShort(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            codes[i] = typeCode(meta.getColumnType(i + 1));
+            out.writeUTF(meta.getColumnLabel(i + 1));
+            out.writeByte(codes[i]);
+        }
+
+        ByteArrayOutputStream chunkBytes = new ByteArrayOutputStream(64 * 1024);
+        DataOutputStream chunk = new DataOutputStream(chunkBytes);
+        int chunkRows = 0;
+        long rows = rowsBefore;
+        while (rs.next()) {
+            for (int i = 0; i < columnCount; i++) {
+                writeValue(chunk, rs, i + 1, codes[i]);
+            }
+            rows++;
+            if (++chunkRows == CHUNK_ROWS) {
+                flushChunk(out, chunkBytes, chunk, chunkRows);
+                chunkRows = 0;
+                report(listener, table, rows, estimatedRows);
+            }
+        }
+        if (chunkRows > 0) {
+            flushChunk(out, chunkBytes, chunk, chunkRows);
+        }
+        out.writeInt(0);
+        report(listener, table, rows, estimatedRows);
+        return rows;
+    }
+
+    private static void flushChunk(DataOutputStream out, ByteArrayOutputStream chunkBytes, DataOutputStream chunk,
+                                   int chunkRows) throws IOException {
+        chunk.flush();
+        out.writeInt(chunkRows);
+        chunkBytes.writeTo(out);
+        chunkBytes.reset();
+    }
+
+    // Full backups replace each table they contain; audit increments add rows that are not there yet
+    public BackupResult restore(String filePath, ProgressListener listener) throws SQLException, IOException {
+        long start = System.currentTimeMillis();
+        Path source = Paths.get(filePath);
+        long fileSize = Math.max(1, Files.size(source));
+        CountingInputStream counter = new CountingInputStream(Files.newInputStream(source));
+        long rows = 0;
+        BackupHeader header;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(counter, 64 * 1024), BUFFER_SIZE))) {
+            header = readHeader(in);
+            try (Connection conn = DBConnection.getConnection();
+                 Statement stmt = conn.createStatement()) {
+                conn.setAutoCommit(false);
+                // Rows arrive table by table, and ids are restored as-is
+                stmt.execute("SET FOREIGN_KEY_CHECKS = 0");
+                try {
+                    while (in.readByte() == SECTION_TABLE) {
+                        rows = restoreTable(conn, in, header.getKind(), rows, counter, fileSize, listener);
+                    }
+                    if (header.getKind() == Kind.FULL) {
+                        // Backups taken before archiving existed carry no archive section; drop archived copies
+                        // of rows the restored audit_logs holds again, so no id is in both tables
+                        stmt.executeUpdate("DELETE a FROM audit_logs_archive a JOIN audit_logs al ON al.id = a.id");
+                        // Restored rows carry the versions they were backed up with; stamp them as changed now
+                        // so change feed clients pick them up instead of only the tombstones the reload left
+                        stmt.executeUpdate("UPDATE products SET updated_at = CURRENT_TIMESTAMP(3)");
+                        stmt.executeUpdate("UPDATE users SET updated_at = CURRENT_TIMESTAMP(3)");
+                    }
+                    conn.commit();
+                } catch (SQLException | IOException | RuntimeException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    stmt.execute("SET FOREIGN_KEY_CHECKS = 1");
+                }
+            }
+        } finally {
+            // Even a failed restore may have raced with reads; start the caches over either way
+            ProductCatalogCache.getInstance().invalidate();
+            AuditLogSearchIndex.getInstance().invalidate();
+        }
+        return new BackupResult(header.getKind(), rows, header.getAuditWatermark(), fileSize,
+            System.currentTimeMillis() - start);
+    }
+
+    private long restoreTable(Connection conn, DataInputStream in, Kind kind, long rowsBefore,
+                              CountingInputStream counter, long fileSize, ProgressListener listener)
+            throws SQLException, IOException {
+        String table = in.readUTF();
+        if (!TABLES.contains(table) || (kind == Kind.AUDIT_INCREMENTAL && !table.equals("audit_logs"))) {
+            throw new IOException("Unexpected table in backup: " + table);
+        }
+        int columnCount = in.readShort();
+        String[] columns = new String[columnCount];
+        char[] codes = new char[columnCount];
+        Set<String> liveColumns = columnsOf(conn, table);
+        for (int i = 0; i < columnCount; i++) {
+            columns[i] = in.readUTF();
+            codes[i] = (char) in.readByte();
+            // Names end up in SQL text, so only accept columns the live table actually has
+            if (!liveColumns.contains(columns[i].toLowerCase())) {
+                throw new IOException("Backup column " + table + "." + columns[i] + " does not exist in the database");
+            }
+        }
+
+        if (kind == Kind.FULL) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("DELETE FROM " + table);
+            }
+        }
+
+        StringBuilder prefix = new StringBuilder(kind == Kind.FULL ? "INSERT INTO " : "INSERT IGNORE INTO ");
+        prefix.append(table).append(" (");
+        for (int i = 0; i < columnCount; i++) {
+            prefix.append(i == 0 ? "`" : ", `").append(columns[i]).append('`');
+        }
+        prefix.append(") VALUES ");
+        StringBuilder rowPlaceholders = new StringBuilder("(");
+        for (int i = 0; i < columnCount; i++) {
+            rowPlaceholders.append(i == 0 ? "?" : ", ?");
+        }
+        rowPlaceholders.append(')');
+
+        long rows = rowsBefore;
+        List<Object[]> pending = new ArrayList<>(ROWS_PER_INSERT);
+        try (PreparedStatement fullInsert = conn.prepareStatement(multiRowInsert(prefix, rowPlaceholders, ROWS_PER_INSERT))) {
+            int chunkRows;
+            while ((chunkRows = in.readInt()) > 0) {
+                for (int r = 0; r < chunkRows; r++) {
+                    Object[] row = new Object[columnCount];
+                    for (int i = 0; i < columnCount; i++) {
+                        row[i] = readValue(in, codes[i]);
+                    }
+                    pending.add(row);
+                    if (pending.size() == ROWS_PER_INSERT) {
+                        insertRows(fullInsert, pending);
+                    }
+                }
+                rows += chunkRows;
+                report(listener, table, rows, counter.getCount(), fileSize);
+            }
+        }
+        if (!pending.isEmpty()) {
+            try (PreparedStatement tailInsert = conn.prepareStatement(multiRowInsert(prefix, rowPlaceholders, pending.size()))) {
+                insertRows(tailInsert, pending);
+            }
+        }
+        return rows;
+    }
+
+    private static String multiRowInsert(StringBuilder prefix, StringBuilder rowPlaceholders, int rowCount) {
+        StringBuilder sql = new StringBuilder(prefix.length() + rowCount * (rowPlaceholders.length() + 2));
+        sql.append(prefix);
+        for (int r = 0; r < rowCount; r++) {
+            if (r > 0) {
+                sql.append(", ");
+            }
+            sql.append(rowPlaceholders);
+        }
+        return sql.toString();
+    }
+
+    private static void insertRows(PreparedStatement stmt, List<Object[]> rows) throws SQLException {
+        int index = 1;
+        for (Object[] row : rows) {
+            for (Object value : row) {
+                if (value == null) {
+                    stmt.setNull(index++, Types.NULL);
+                } else {
+                    stmt.setObject(index++, value);
+                }
+            }
+        }
+        stmt.executeUpdate();
+        rows.clear();
+    }
+
+    // Reads only the header, e.g. to find the audit watermark an incremental backup should continue from
+    public static BackupHeader readHeader(String filePath) throws IOException {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(Files.newInputStream(Paths.get(filePath))))) {
+            return readHeader(in);
+        }
+    }
+
+    private static BackupHeader readHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not an inventory backup file");
+        }
+        int version = in.readShort();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported backup format version " + version);
+        }
+        Kind kind = Kind.values()[in.readByte()];
+        long createdAt = in.readLong();
+        long auditFromId = in.readLong();
+        long auditWatermark = in.readLong();
+        return new BackupHeader(kind, createdAt, auditFromId, auditWatermark);
+    }
+
+    private static char typeCode(int sqlType) {
+        switch (sqlType) {
+            case Types.BIT:
+            case Types.BOOLEAN:
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                return 'L';
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                return 'D';
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return 'F';
+            case Types.DATE:
+            case Types.TIMESTAMP:
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                return 'T';
+            case Types.BINARY:
+            case Types.VARBINARY:
+            case Types.LONGVARBINARY:
+            case Types.BLOB:
+                return 'B';
+            default:
+                return 'S';
+        }
+    }
+
+    // Each value is a presence byte followed by its encoding; strings and bytes are length-prefixed
+    private static void writeValue(DataOutputStream out, ResultSet rs, int column, char code) throws SQLException, IOException {
+        switch (code) {
+            case 'L': {
+                long value = rs.getLong(column);
+                if (writePresence(out, !rs.wasNull())) {
+                    out.writeLong(value);
+                }
+                break;
+            }
+            case 'F': {
+                double value = rs.getDouble(column);
+                if (writePresence(out, !rs.wasNull())) {
+                    out.writeDouble(value);
+                }
+                break;
+            }
+            case 'D': {
+                BigDecimal value = rs.getBigDecimal(column);
+                if (writePresence(out, value != null)) {
+                    writeBytes(out, value.toPlainString().getBytes(StandardCharsets.US_ASCII));
+                }
+                break;
+            }
+            case 'T': {
+                // Local date-time text round-trips without any time zone conversion
+                Timestamp value = rs.getTimestamp(column);
+                if (writePresence(out, value != null)) {
+                    writeBytes(out, value.toLocalDateTime().toString().getBytes(StandardCharsets.US_ASCII));
+                }
+                break;
+            }
+            case 'B': {
+                byte[] value = rs.getBytes(column);
+                if (writePresence(out, value != null)) {
+                    writeBytes(out, value);
+                }
+                break;
+            }
+            default: {
+                String value = rs.getString(column);
+                if (writePresence(out, value != null)) {
+                    writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+    }
+
+    private static Object readValue(DataInputStream in, char code) throws IOException {
+        if (in.readByte() == 0) {
+            return null;
+        }
+        switch (code) {
+            case 'L':
+                return in.readLong();
+            case 'F':
+                return in.readDouble();
+            case 'D':
+                return new BigDecimal(new String(readBytes(in), StandardCharsets.US_ASCII));
+            case 'T':
+                return Timestamp.valueOf(LocalDateTime.parse(new String(readBytes(in), StandardCharsets.US_ASCII)));
+            case 'B':
+                return readBytes(in);
+            default:
+                return new String(readBytes(in), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static boolean writePresence(DataOutputStream out, boolean present) throws IOException {
+        out.writeByte(present ? 1 : 0);
+        return present;
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static Set<String> columnsOf(Connection conn, String table) throws SQLException {
+        Set<String> columns = new HashSet<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM " + table + " LIMIT 0")) {
+            ResultSetMetaData meta = rs.getMetaData();
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                columns.add(meta.getColumnLabel(i).toLowerCase());
+            }
+        }
+        return columns;
+    }
+
+    private static long queryLong(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    private static void report(ProgressListener listener, String table, long done, long total) {
+        report(listener, table, done, done, total);
+    }
+
+    private static void report(ProgressListener listener, String table, long rows, long done, long total) {
+        if (listener != null) {
+            listener.onProgress(table, rows, total <= 0 ? 0 : (int) Math.min(100, done * 100 / total));
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+
+    public static class BackupHeader {
+        private final Kind kind;
+        private final long createdAt;
+        private final long auditFromId;
+        private final long auditWatermark;
+
+        public BackupHeader(Kind kind, long createdAt, long auditFromId, long auditWatermark) {
+            this.kind = kind;
+            this.createdAt = createdAt;
+            this.auditFromId = auditFromId;
+            this.auditWatermark = auditWatermark;
+        }
+
+        public Kind getKind() { return kind; }
+        public long getCreatedAt() { return createdAt; }
+        // Audit rows in the file have auditFromId < id <= auditWatermark
+        public long getAuditFromId() { return auditFromId; }
+        public long getAuditWatermark() { return auditWatermark; }
+    }
+
+    public static class BackupResult {
+        private final Kind kind;
+        private final long rows;
+        private final long auditWatermark;
+        private final long bytes;
+        private final long elapsedMillis;
+
+        public BackupResult(Kind kind, long rows, long auditWatermark, long bytes, long elapsedMillis) {
+            this.kind = kind;
+            this.rows = rows;
+            this.auditWatermark = auditWatermark;
+            this.bytes = bytes;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public Kind getKind() { return kind; }
+        public long getRows() { return rows; }
+        public long getAuditWatermark() { return auditWatermark; }
+        public long getBytes() { return bytes; }
+        public long getElapsedMillis() { return elapsedMillis; }
+    }
+}
@@ -0,0 +1,115 @@
+package main.java.com.inventory.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Stock movement ledger. Writes always join the caller's transaction so a movement is recorded
+// if and only if the stock change it describes is committed.
+public class InventoryLogDAO {
+    public static final String ACTION_ADD = "add";
+    public static final String ACTION_REMOVE = "remove";
+    public static final String ACTION_UPDATE = "update";
+
+    static String actionFor(int delta) {
+        return delta >= 0 ? ACTION_ADD : ACTION_REMOVE;
+    }
+
+    void recordMovement(Connection conn, int productId, int userId, String action, int quantity) throws SQLException {
+        String sql = "INSERT INTO inventory_logs (product_id, user_id, action, quantity) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement stmt = StatementRegistry.prepare(conn, "inventoryLog.insert", sql)) {
+            bind(stmt, productId, userId, action, quantity);
+            stmt.executeUpdate();
+        }
+    }
+
+    // One batched insert for a whole set of adjustments, keyed by product id with signed quantities
+    void recordMovements(Connection conn, Map<Integer, Integer> deltas, int userId) throws SQLException {
+        recordMovements(conn, deltas, userId, null);
+    }
+
+    // A null action picks add or remove from each quantity's sign
+    void recordMovements(Connection conn, Map<Integer, Integer> deltas, int userId, String action) throws SQLException {
+        String sql = "INSERT INTO inventory_logs (product_id, user_id, action, quantity) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement stmt = StatementRegistry.prepare(conn, "inventoryLog.insert", sql)) {
+            for (Map.Entry<Integer, Integer> entry : deltas.entrySet()) {
+                bind(stmt, entry.getKey(), userId, action != null ? action : actionFor(entry.getValue()), entry.getValue());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private static void bind(PreparedStatement stmt, int productId, int userId, String action, int quantity) throws SQLException {
+        stmt.setInt(1, productId);
+        if (userId == 0) {
+            stmt.setNull(2, Types.INTEGER); // System adjustments have no user
+        } else {
+            stmt.setInt(2, userId);
+        }
+        stmt.setString(3, action);
+        stmt.setInt(4, quantity);
+    }
+
+    // Most recent movements for a product, newest first
+    public List<StockMovement> getMovements(int productId, int limit) throws SQLException {
+        List<StockMovement> movements = new ArrayList<>();
+        String sql = "SELECT il.id, il.product_id, il.user_id, u.username, il.action, il.quantity, il.timestamp " +
+                     "FROM inventory_logs il LEFT JOIN users u ON il.user_id = u.id " +
+                     "WHERE il.product_id = ? ORDER BY il.id DESC LIMIT ?";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = StatementRegistry.prepare(conn, "inventoryLog.byProduct", sql)) {
+            stmt.setInt(1, productId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    movements.add(new StockMovement(
+                        rs.getInt("id"),
+                        rs.getInt("product_id"),
+                        rs.getInt("user_id"),
+                        rs.getString("username") != null ? rs.getString("username") : "System",
+                        rs.getString("action"),
+                        rs.getInt("quantity"),
+                        rs.getTimestamp("timestamp").toLocalDateTime()
+                    ));
+                }
+            }
+        }
+        return movements;
+    }
+
+    public static class StockMovement {
+        private int id;
+        private int productId;
+        private int userId;
+        private String username;
+        private String action;
+        private int quantity;
+        private LocalDateTime timestamp;
+
+        public StockMovement(int id, int productId, int userId, String username, String action, int quantity, LocalDateTime timestamp) {
+            this.id = id;
+            this.productId = productId;
+            this.userId = userId;
+            this.username = username;
+            this.action = action;
+            this.quantity = quantity;
+            this.timestamp = timestamp;
+        }
+
+        public int getId() { return id; }
+        public int getProductId() { return productId; }
+        public int getUserId() { return userId; }
+        public String getUsername() { return username; }
+        public String getAction() { return action; }
+        // Signed change in stock
+        public int getQuantity() { return quantity; }
+        public LocalDateTime getTimestamp() { return timestamp; }
+    }
+}
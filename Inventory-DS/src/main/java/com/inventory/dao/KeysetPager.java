@@ -0,0 +1,78 @@
+package main.java.com.inventory.dao;
+
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class KeysetPager<T> {
+    private static final ExecutorService PREFETCH_EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "page-prefetch");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public interface PageLoader<T> {
+        Page<T> load(int lastId, int limit) throws SQLException;
+    }
+
+    private final PageLoader<T> loader;
+    private final int pageSize;
+    private int lastId;
+    private boolean hasMore = true;
+    private CompletableFuture<Page<T>> prefetched;
+
+    public KeysetPager(PageLoader<T> loader, int pageSize, int startId) {
+        this.loader = loader;
+        this.pageSize = pageSize;
+        this.lastId = startId;
+    }
+
+    // Returns the next page (from the prefetch if it already arrived) and starts fetching the one after it
+    public synchronized Page<T> nextPage() throws SQLException {
+        if (!hasMore) {
+            return null;
+        }
+        Page<T> page;
+        if (prefetched != null) {
+            try {
+                page = prefetched.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for prefetched page", e);
+            } catch (ExecutionException e) {
+                page = loader.load(lastId, pageSize); // Prefetch failed; retry on the caller's thread
+            } finally {
+                prefetched = null;
+            }
+        } else {
+            page = loader.load(lastId, pageSize);
+        }
+        lastId = page.getLastId();
+        hasMore = page.hasMore();
+        if (hasMore) {
+            int cursor = lastId;
+            prefetched = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return loader.load(cursor, pageSize);
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+            }, PREFETCH_EXECUTOR);
+        }
+        return page;
+    }
+
+    public synchronized boolean hasMore() {
+        return hasMore;
+    }
+
+    public synchronized void cancel() {
+        hasMore = false;
+        if (prefetched != null) {
+            prefetched.cancel(false);
+            prefetched = null;
+        }
+    }
+}
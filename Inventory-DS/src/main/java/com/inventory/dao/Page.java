@@ -0,0 +1,20 @@
+package main.java.com.inventory.dao;
+
+import java.util.List;
+
+public class Page<T> {
+    private final List<T> items;
+    private final int lastId;
+    private final boolean hasMore;
+
+    public Page(List<T> items, int lastId, boolean hasMore) {
+        this.items = items;
+        this.lastId = lastId;
+        this.hasMore = hasMore;
+    }
+
+    public List<T> getItems() { return items; }
+    // Keyset cursor to pass back as lastId for the following page
+    public int getLastId() { return lastId; }
+    public boolean hasMore() { return hasMore; }
+}
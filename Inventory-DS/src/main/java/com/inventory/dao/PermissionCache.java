@@ -0,0 +1,60 @@
+package main.java.com.inventory.dao;
+
+import main.java.com.inventory.models.Permission;
+import main.java.com.inventory.models.User;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Compiled permission sets by user id. UserDAO invalidates an entry whenever it changes or removes that user.
+public class PermissionCache {
+    private static PermissionCache instance;
+
+    private final Map<Integer, Compiled> byUserId = new ConcurrentHashMap<>();
+
+    public static synchronized PermissionCache getInstance() {
+        if (instance == null) {
+            instance = new PermissionCache();
+        }
+        return instance;
+    }
+
+    public Set<Permission> permissionsFor(User user) {
+        String source = user.getPermissions();
+        Compiled compiled = byUserId.get(user.getId());
+        // The source check keeps another client's edit from being masked by a stale entry
+        if (compiled == null || !Objects.equals(compiled.source, source)) {
+            compiled = new Compiled(source, compile(user.getRole(), source));
+            if (user.getId() > 0) {
+                byUserId.put(user.getId(), compiled);
+            }
+        }
+        return compiled.permissions;
+    }
+
+    private static Set<Permission> compile(String role, String source) {
+        if (source == null || source.equals(Permission.defaultPermissions(role))) {
+            return Permission.defaultsFor(role);
+        }
+        return Permission.parse(source);
+    }
+
+    public void invalidate(int userId) {
+        byUserId.remove(userId);
+    }
+
+    public void clear() {
+        byUserId.clear();
+    }
+
+    private static class Compiled {
+        private final String source;
+        private final Set<Permission> permissions;
+
+        Compiled(String source, Set<Permission> permissions) {
+            this.source = source;
+            this.permissions = permissions;
+        }
+    }
+}
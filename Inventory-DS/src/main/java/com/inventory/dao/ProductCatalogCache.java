@@ -0,0 +1,374 @@
+package main.java.com.inventory.dao;
+
+import main.java.com.inventory.models.Product;
+import main.java.com.inventory.utils.SearchIndex;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Read-through cache of the product catalog shared by every ProductDAO in this client. Products are held in
+// ProductColumns, so filters scan primitive arrays and Product objects are only built for the rows returned.
+public class ProductCatalogCache {
+    private static final long TTL_MS = 60_000;
+    private static final long VERSION_CHECK_INTERVAL_MS = 5_000;
+    private static ProductCatalogCache instance;
+
+    // Told about every product mutation made through this client's DAOs, whether or not the cache is loaded
+    public interface ChangeListener {
+        void onProductSaved(Product product);
+        void onProductDeleted(int productId);
+    }
+
+    // For read models kept up to date from deltas: before is null for a new product, after is null for a
+    // deleted one. A change made while the cache is not loaded has no known before state, so it arrives as
+    // onCatalogInvalidated instead, as do invalidation and reloads caused by other clients' writes; the
+    // listener should rebuild from the database then. Called with the cache locked, so implementations must
+    // not block or call back into the cache.
+    public interface DeltaListener {
+        void onProductChanged(Product before, Product after);
+        void onCatalogInvalidated();
+    }
+
+    private final ProductColumns columns = new ProductColumns();
+    private final Map<String, Integer> categoryIds = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    // Indexes product ids; the text is read from the columns when a product is put
+    private final SearchIndex<Integer> searchIndex = new SearchIndex<>(new SearchIndex.Document<Integer>() {
+        @Override
+        public int id(Integer productId) {
+            return productId;
+        }
+
+        @Override
+        public String[] fields(Integer productId) {
+            return columns.searchFields(columns.positionOf(productId));
+        }
+    }, new int[] {3, 2, 1}, false);
+    private boolean loaded = false;
+    private long loadedAt;
+    private long lastVersionCheck;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong reloads = new AtomicLong();
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final List<DeltaListener> deltaListeners = new CopyOnWriteArrayList<>();
+
+    public static synchronized ProductCatalogCache getInstance() {
+        if (instance == null) {
+            instance = new ProductCatalogCache();
+        }
+        return instance;
+    }
+
+    public synchronized List<Product> getAllProducts() throws SQLException {
+        ensureFresh();
+        List<Product> products = new ArrayList<>(columns.size());
+        for (int position = 0; position < columns.size(); position++) {
+            Product product = columns.get(position);
+            product.setDisplayId(position + 1);
+            products.add(product);
+        }
+        return products;
+    }
+
+    public synchronized Product getProductByDisplayId(int displayId) throws SQLException {
+        ensureFresh();
+        if (displayId < 1 || displayId > columns.size()) {
+            return null;
+        }
+        Product product = columns.get(displayId - 1);
+        product.setDisplayId(displayId);
+        return product;
+    }
+
+    public synchronized Product getProduct(int id) throws SQLException {
+        ensureFresh();
+        return columns.getById(id);
+    }
+
+    public synchronized List<Product> getLowStockProducts(int threshold) throws SQLException {
+        ensureFresh();
+        return materialize(columns.selectStockBelow(threshold));
+    }
+
+    public synchronized List<Product> getProductsByCategory(String categoryName) throws SQLException {
+        ensureFresh();
+        int code = columns.categoryCode(categoryName);
+        return code != ProductColumns.NO_CATEGORY ? materialize(columns.selectCategory(code)) : new ArrayList<>();
+    }
+
+    // Both bounds inclusive, compared in whole cents
+    public synchronized List<Product> getProductsByPriceRange(double minPrice, double maxPrice) throws SQLException {
+        ensureFresh();
+        return materialize(columns.selectPriceRange(Math.round(minPrice * 100), Math.round(maxPrice * 100)));
+    }
+
+    // The figures of ProductDAO.getCategoryTotals computed from the cached columns; thresholds holds the
+    // per-product overrides of defaultThreshold
+    public synchronized List<ProductDAO.CategoryTotals> getCategoryTotals(int defaultThreshold,
+                                                                         Map<Integer, Integer> thresholds) throws SQLException {
+        ensureFresh();
+        return columns.aggregateByCategory(defaultThreshold, thresholds);
+    }
+
+    // Ranked substring search over name, category and description; a numeric query also matches the product id
+    public synchronized List<Product> searchProducts(String query) throws SQLException {
+        ensureFresh();
+        List<Product> products = new ArrayList<>();
+        Product byId = null;
+        try {
+            byId = columns.getById(Integer.parseInt(query.trim()));
+        } catch (NumberFormatException e) {
+            // Not an id
+        }
+        if (byId != null) {
+            products.add(byId);
+        }
+        for (Integer productId : searchIndex.search(query, 0)) {
+            if (byId == null || productId != byId.getId()) {
+                products.add(columns.getById(productId));
+            }
+        }
+        return products;
+    }
+
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    // Returns null when the category is not cached; a name's id never changes, so no freshness check
+    public synchronized Integer getCategoryId(String categoryName) {
+        Integer id = categoryIds.get(categoryName);
+        if (id == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return id;
+    }
+
+    public synchronized void putCategory(String categoryName, int id) {
+        categoryIds.put(categoryName, id);
+    }
+
+    // For a category created in a transaction that was rolled back
+    public synchronized void forgetCategory(String categoryName) {
+        categoryIds.remove(categoryName);
+    }
+
+    public void addChangeListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeChangeListener(ChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    public void addDeltaListener(DeltaListener listener) {
+        deltaListeners.add(listener);
+    }
+
+    public void removeDeltaListener(DeltaListener listener) {
+        deltaListeners.remove(listener);
+    }
+
+    // Delta listeners hear about a change before the change listeners do
+    public void onProductSaved(Product product) {
+        updateSaved(product);
+        for (ChangeListener listener : listeners) {
+            listener.onProductSaved(product);
+        }
+    }
+
+    public void onProductDeleted(int productId) {
+        updateDeleted(productId);
+        for (ChangeListener listener : listeners) {
+            listener.onProductDeleted(productId);
+        }
+    }
+
+    // Rows the change feed read back from the database. Those the cache already holds as they are (this
+    // client's own writes) are skipped, so listeners hear about each change once.
+    public void onExternalChanges(List<Product> saved, List<Integer> deletedIds) {
+        for (Product product : saved) {
+            if (!isCurrent(product)) {
+                onProductSaved(product);
+            }
+        }
+        for (Integer productId : deletedIds) {
+            if (!isKnownDeleted(productId)) {
+                onProductDeleted(productId);
+            }
+        }
+    }
+
+    private synchronized boolean isCurrent(Product product) {
+        int position = loaded ? columns.positionOf(product.getId()) : -1;
+        return position >= 0 && columns.matches(position, product);
+    }
+
+    private synchronized boolean isKnownDeleted(int productId) {
+        return loaded && !columns.contains(productId);
+    }
+
+    private synchronized void updateSaved(Product product) {
+        if (!loaded) {
+            notifyInvalidated();
+            return;
+        }
+        Product previous = columns.getById(product.getId());
+        columns.put(product);
+        searchIndex.put(product.getId());
+        Product cached = columns.getById(product.getId());
+        for (DeltaListener listener : deltaListeners) {
+            listener.onProductChanged(previous, cached);
+        }
+    }
+
+    private synchronized void updateDeleted(int productId) {
+        if (!loaded) {
+            notifyInvalidated();
+            return;
+        }
+        Product previous = columns.getById(productId);
+        columns.remove(productId);
+        searchIndex.remove(productId);
+        if (previous == null) {
+            notifyInvalidated(); // Added by another client since the last reload
+            return;
+        }
+        for (DeltaListener listener : deltaListeners) {
+            listener.onProductChanged(previous, null);
+        }
+    }
+
+    public synchronized void invalidate() {
+        loaded = false;
+        notifyInvalidated();
+    }
+
+    private void notifyInvalidated() {
+        for (DeltaListener listener : deltaListeners) {
+            listener.onCatalogInvalidated();
+        }
+    }
+
+    private List<Product> materialize(int[] positions) {
+        List<Product> products = columns.materialize(positions);
+        int sequenceNumber = 1;
+        for (Product product : products) {
+            product.setDisplayId(sequenceNumber++);
+        }
+        return products;
+    }
+
+    private void ensureFresh() throws SQLException {
+        long now = System.currentTimeMillis();
+        if (!loaded || now - loadedAt > TTL_MS) {
+            boolean expired = loaded; // invalidate() has already told the listeners otherwise
+            misses.incrementAndGet();
+            reload();
+            if (expired) {
+                notifyInvalidated(); // The fingerprint misses price and name edits, so this may be the first sign of them
+            }
+            return;
+        }
+        if (now - lastVersionCheck > VERSION_CHECK_INTERVAL_MS) {
+            lastVersionCheck = now;
+            if (!readFingerprint().equals(localFingerprint())) {
+                misses.incrementAndGet();
+                reload();
+                notifyInvalidated(); // Someone else changed products, so deltas from here on missed theirs
+                return;
+            }
+        }
+        hits.incrementAndGet();
+    }
+
+    // Cheap summary of the products table; a mismatch with the cache means another client wrote to it
+    private String localFingerprint() {
+        return columns.size() + ":" + columns.maxId() + ":" + columns.getStockTotal() + ":" + categoryIds.size();
+    }
+
+    private String readFingerprint() throws SQLException {
+        String sql = "SELECT COUNT(*), COALESCE(MAX(id), 0), COALESCE(SUM(stock), 0), " +
+                     "(SELECT COUNT(*) FROM categories) FROM products";
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1) + ":" + rs.getLong(2) + ":" + rs.getLong(3) + ":" + rs.getLong(4);
+        }
+    }
+
+    private void reload() throws SQLException {
+        columns.clear();
+        categoryIds.clear();
+        searchIndex.clear();
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("SELECT id, name FROM categories")) {
+                while (rs.next()) {
+                    categoryIds.put(rs.getString("name"), rs.getInt("id"));
+                }
+            }
+            String sql = "SELECT " + ProductDAO.PRODUCT_COLUMNS + " " +
+                         "FROM products p LEFT JOIN categories c ON p.category_id = c.id ORDER BY p.id";
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    Product product = ProductDAO.readProduct(rs);
+                    columns.put(product); // In id order, so always an append
+                    searchIndex.put(product.getId());
+                }
+            }
+        } catch (SQLException e) {
+            loaded = false;
+            throw e;
+        }
+        loaded = true;
+        loadedAt = System.currentTimeMillis();
+        lastVersionCheck = loadedAt;
+        reloads.incrementAndGet();
+    }
+
+    public CacheStats getStats() {
+        synchronized (this) {
+            return new CacheStats(hits.get(), misses.get(), reloads.get(), columns.size(), categoryIds.size());
+        }
+    }
+
+    public static class CacheStats {
+        private final long hits;
+        private final long misses;
+        private final long reloads;
+        private final int products;
+        private final int categories;
+
+        public CacheStats(long hits, long misses, long reloads, int products, int categories) {
+            this.hits = hits;
+            this.misses = misses;
+            this.reloads = reloads;
+            this.products = products;
+            this.categories = categories;
+        }
+
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getReloads() { return reloads; }
+        public int getProducts() { return products; }
+        public int getCategories() { return categories; }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d, misses=%d, reloads=%d, products=%d, categories=%d",
+                hits, misses, reloads, products, categories);
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package main.java.com.inventory.dao;
+
+import main.java.com.inventory.models.Product;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Column-per-field product storage for the catalog cache. Rows stay sorted by id, so a row's position is its
+// display ID - 1 and an id lookup is a binary search. Numeric fields live in primitive arrays (price in cents,
+// category as a dictionary code) that the scans below walk without touching an object per product; Product
+// objects are only built for the rows a caller asks for. Not thread-safe, the cache locks around it.
+public class ProductColumns {
+    public static final int NO_CATEGORY = -1;
+    // Rows per fork-join leaf; a smaller catalog is aggregated on the calling thread
+    private static final int AGGREGATE_SPLIT = 1 << 16;
+
+    private int size;
+    private int[] ids;
+    private int[] stock;
+    private long[] prices;
+    private int[] categories;
+    private int[] versions;
+    private String[] names;
+    private String[] descriptions;
+    private final List<String> categoryNames = new ArrayList<>();
+    private final Map<String, Integer> categoryCodes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private long stockTotal;
+
+    public ProductColumns() {
+        this(16);
+    }
+
+    public ProductColumns(int capacity) {
+        allocate(Math.max(capacity, 16));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getStockTotal() {
+        return stockTotal;
+    }
+
+    public int maxId() {
+        return size == 0 ? 0 : ids[size - 1];
+    }
+
+    // Position of the row, or a negative number when there is none
+    public int positionOf(int id) {
+        return Arrays.binarySearch(ids, 0, size, id);
+    }
+
+    public boolean contains(int id) {
+        return positionOf(id) >= 0;
+    }
+
+    public int idAt(int position) {
+        return ids[position];
+    }
+
+    // Category code for a name, NO_CATEGORY when no row has ever used it
+    public int categoryCode(String categoryName) {
+        Integer code = categoryName != null ? categoryCodes.get(categoryName) : null;
+        return code != null ? code : NO_CATEGORY;
+    }
+
+    // Inserts the product or overwrites the row with its id. Ids normally arrive in increasing order, which
+    // appends; anything else shifts the rows after it.
+    public void put(Product product) {
+        int position = positionOf(product.getId());
+        if (position >= 0) {
+            stockTotal -= stock[position];
+        } else {
+            position = -position - 1;
+            if (size == ids.length) {
+                allocate(size * 2);
+            }
+            shift(position, position + 1, size - position);
+            size++;
+        }
+        ids[position] = product.getId();
+        stock[position] = product.getStock() == null ? 0 : product.getStock();
+        prices[position] = Math.round(product.getPrice() * 100);
+        categories[position] = encode(product.getCategoryName());
+        versions[position] = product.getVersion();
+        names[position] = product.getName();
+        descriptions[position] = product.getDescription();
+        stockTotal += stock[position];
+    }
+
+    public boolean remove(int id) {
+        int position = positionOf(id);
+        if (position < 0) {
+            return false;
+        }
+        stockTotal -= stock[position];
+        shift(position + 1, position, size - position - 1);
+        size--;
+        names[size] = null;
+        descriptions[size] = null;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(names, 0, size, null);
+        Arrays.fill(descriptions, 0, size, null);
+        size = 0;
+        stockTotal = 0;
+        categoryNames.clear();
+        categoryCodes.clear();
+    }
+
+    // A fresh Product for one row; the display ID is left for the caller
+    public Product get(int position) {
+        int code = categories[position];
+        Product product = new Product(ids[position], names[position],
+            code == NO_CATEGORY ? null : categoryNames.get(code), stock[position],
+            prices[position] / 100.0, descriptions[position]);
+        product.setVersion(versions[position]);
+        return product;
+    }
+
+    public Product getById(int id) {
+        int position = positionOf(id);
+        return position >= 0 ? get(position) : null;
+    }
+
+    // Same field order as the catalog search index
+    public String[] searchFields(int position) {
+        int code = categories[position];
+        return new String[] {names[position], code == NO_CATEGORY ? null : categoryNames.get(code),
+            descriptions[position]};
+    }
+
+    // Whether the row holds exactly these values, so saving them again would change nothing
+    public boolean matches(int position, Product product) {
+        int productStock = product.getStock() == null ? 0 : product.getStock();
+        String category = product.getCategoryName();
+        int code = categoryCode(category);
+        return stock[position] == productStock
+            && prices[position] == Math.round(product.getPrice() * 100)
+            && versions[position] == product.getVersion()
+            && categories[position] == code && (category == null || code != NO_CATEGORY)
+            && Objects.equals(names[position], product.getName())
+            && Objects.equals(descriptions[position], product.getDescription());
+    }
+
+    // The select methods return the positions of matching rows in id order. The loops write every position
+    // and only advance the count on a match, so there is no branch to mispredict and the JIT can vectorize
+    // the compare.
+    public int[] selectStockBelow(int threshold) {
+        int[] stock = this.stock;
+        int[] selected = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            selected[count] = i;
+            count += stock[i] < threshold ? 1 : 0;
+        }
+        return Arrays.copyOf(selected, count);
+    }
+
+    public int[] selectCategory(int code) {
+        int[] categories = this.categories;
+        int[] selected = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            selected[count] = i;
+            count += categories[i] == code ? 1 : 0;
+        }
+        return Arrays.copyOf(selected, count);
+    }
+
+    // Both bounds inclusive
+    public int[] selectPriceRange(long minCents, long maxCents) {
+        long[] prices = this.prices;
+        int[] selected = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            selected[count] = i;
+            count += prices[i] >= minCents && prices[i] <= maxCents ? 1 : 0;
+        }
+        return Arrays.copyOf(selected, count);
+    }
+
+    public List<Product> materialize(int[] positions) {
+        List<Product> products = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            products.add(get(position));
+        }
+        return products;
+    }
+
+    // Per category the product count, units, stock value and how many rows sit below their threshold, the
+    // same figures as ProductDAO.getCategoryTotals. Large catalogs are split across the common fork-join pool;
+    // thresholds only holds the overrides, so low stock is counted against defaultThreshold and then corrected
+    // for the few products that have their own.
+    public List<ProductDAO.CategoryTotals> aggregateByCategory(int defaultThreshold, Map<Integer, Integer> thresholds) {
+        Totals totals = size > AGGREGATE_SPLIT
+            ? ForkJoinPool.commonPool().invoke(new AggregateTask(0, size, defaultThreshold))
+            : aggregate(0, size, defaultThreshold);
+        for (Map.Entry<Integer, Integer> threshold : thresholds.entrySet()) {
+            int position = positionOf(threshold.getKey());
+            if (position >= 0) {
+                int slot = categories[position] + 1;
+                totals.lowStock[slot] += (stock[position] < threshold.getValue() ? 1 : 0)
+                    - (stock[position] < defaultThreshold ? 1 : 0);
+            }
+        }
+
+        List<ProductDAO.CategoryTotals> result = new ArrayList<>();
+        for (int slot = 0; slot < totals.products.length; slot++) {
+            if (totals.products[slot] > 0) {
+                result.add(new ProductDAO.CategoryTotals(slot == 0 ? null : categoryNames.get(slot - 1),
+                    totals.products[slot], totals.units[slot], totals.valueCents[slot] / 100.0, totals.lowStock[slot]));
+            }
+        }
+        return result;
+    }
+
+    // Slot 0 collects uncategorized rows, slot code + 1 everything else
+    private Totals aggregate(int from, int to, int threshold) {
+        Totals totals = new Totals(categoryNames.size() + 1);
+        for (int i = from; i < to; i++) {
+            int slot = categories[i] + 1;
+            totals.products[slot]++;
+            totals.units[slot] += stock[i];
+            totals.valueCents[slot] += stock[i] * prices[i];
+            totals.lowStock[slot] += stock[i] < threshold ? 1 : 0;
+        }
+        return totals;
+    }
+
+    private int encode(String categoryName) {
+        if (categoryName == null) {
+            return NO_CATEGORY;
+        }
+        Integer code = categoryCodes.get(categoryName);
+        if (code == null) {
+            code = categoryNames.size();
+            categoryNames.add(categoryName);
+            categoryCodes.put(categoryName, code);
+        }
+        return code;
+    }
+
+    private void allocate(int capacity) {
+        ids = ids == null ? new int[capacity] : Arrays.copyOf(ids, capacity);
+        stock = stock == null ? new int[capacity] : Arrays.copyOf(stock, capacity);
+        prices = prices == null ? new long[capacity] : Arrays.copyOf(prices, capacity);
+        categories = categories == null ? new int[capacity] : Arrays.copyOf(categories, capacity);
+        versions = versions == null ? new int[capacity] : Arrays.copyOf(versions, capacity);
+        names = names == null ? new String[capacity] : Arrays.copyOf(names, capacity);
+        descriptions = descriptions == null ? new String[capacity] : Arrays.copyOf(descriptions, capacity);
+    }
+
+    private void shift(int from, int to, int length) {
+        System.arraycopy(ids, from, ids, to, length);
+        System.arraycopy(stock, from, stock, to, length);
+        System.arraycopy(prices, from, prices, to, length);
+        System.arraycopy(categories, from, categories, to, length);
+        System.arraycopy(versions, from, versions, to, length);
+        System.arraycopy(names, from, names, to, length);
+        System.arraycopy(descriptions, from, descriptions, to, length);
+    }
+
+    private static class Totals {
+        private final int[] products;
+        private final long[] units;
+        private final long[] valueCents;
+        private final int[] lowStock;
+
+        Totals(int slots) {
+            products = new int[slots];
+            units = new long[slots];
+            valueCents = new long[slots];
+            lowStock = new int[slots];
+        }
+
+        Totals add(Totals other) {
+            for (int slot = 0; slot < products.length; slot++) {
+                products[slot] += other.products[slot];
+                units[slot] += other.units[slot];
+                valueCents[slot] += other.valueCents[slot];
+                lowStock[slot] += other.lowStock[slot];
+            }
+            return this;
+        }
+    }
+
+    private class AggregateTask extends RecursiveTask<Totals> {
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        AggregateTask(int from, int to, int threshold) {
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from <= AGGREGATE_SPLIT) {
+                return aggregate(from, to, threshold);
+            }
+            int middle = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(from, middle, threshold);
+            left.fork();
+            Totals right = new AggregateTask(middle, to, threshold).compute();
+            return left.join().add(right);
+        }
+    }
+}
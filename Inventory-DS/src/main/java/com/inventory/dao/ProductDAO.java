@@ -3,35 +3,71 @@ package main.java.com.inventory.dao;
 import main.java.com.inventory.models.Product;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
-import com.opencsv.CSVReader;
-import com.opencsv.CSVWriter;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
 import com.opencsv.exceptions.CsvValidationException;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 
 public class ProductDAO {
-    private Connection conn;
+    // Column list for reads that build Product objects with readProduct
+    static final String PRODUCT_COLUMNS = "p.id, p.name, c.name AS category_name, p.stock, p.price, p.description, p.version";
+    private static final int AUDIT_DETAIL_LIMIT = 50;
+    private static final int MAX_EDIT_ATTEMPTS = 3;
+    private static final AtomicLong editSaves = new AtomicLong();
+    private static final AtomicLong editConflicts = new AtomicLong();
+    private static final AtomicLong editsMerged = new AtomicLong();
+    private static final AtomicLong editsUnresolved = new AtomicLong();
     private AuditLogDAO auditLogDAO;
+    private InventoryLogDAO inventoryLogDAO;
+    private ProductCatalogCache catalogCache;
     private int userId;
 
-    public ProductDAO(Connection conn, int userId) {
-        this.conn = conn;
+    public ProductDAO(int userId) {
         this.userId = userId;
-        this.auditLogDAO = new AuditLogDAO(conn);
+        this.auditLogDAO = new AuditLogDAO();
+        this.inventoryLogDAO = new InventoryLogDAO();
+        this.catalogCache = ProductCatalogCache.getInstance();
     }
 
     public boolean addProduct(Product product) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                if (!addProduct(conn, product)) {
+                    conn.rollback();
+                    catalogCache.forgetCategory(product.getCategoryName());
+                    return false;
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                catalogCache.forgetCategory(product.getCategoryName());
+                throw e;
+            }
+        }
+        catalogCache.onProductSaved(product);
+        auditLogDAO.logAction(userId, "Product Added", 
+            String.format("Product ID: %d, Name: %s", product.getId(), product.getName()));
+        return true;
+    }
+
+    private boolean addProduct(Connection conn, Product product) throws SQLException {
         int categoryId;
         try {
-            categoryId = getCategoryId(product.getCategoryName());
+            categoryId = getCategoryId(conn, product.getCategoryName());
         } catch (SQLException e) {
-            categoryId = createCategory(product.getCategoryName());
+            categoryId = createCategory(conn, product.getCategoryName());
         }
 
         String sql = "INSERT INTO products (name, category_id, stock, price, description) VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (PreparedStatement stmt = StatementRegistry.prepare(conn, "product.insert", sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setString(1, product.getName());
             stmt.setInt(2, categoryId);
             stmt.setInt(3, product.getStock());
@@ -45,123 +81,166 @@ public class ProductDAO {
                         product.setId(rs.getInt(1));
                     }
                 }
-                auditLogDAO.logAction(userId, "Product Added", 
-                    String.format("Product ID: %d, Name: %s", product.getId(), product.getName()));
+                if (product.getStock() > 0) {
+                    inventoryLogDAO.recordMovement(conn, product.getId(), userId, InventoryLogDAO.ACTION_ADD, product.getStock());
+                }
                 return true;
             }
             return false;
         }
     }
 
-    private int createCategory(String categoryName) throws SQLException {
+    private int createCategory(Connection conn, String categoryName) throws SQLException {
         String sql = "INSERT INTO categories (name) VALUES (?)";
-        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (PreparedStatement stmt = StatementRegistry.prepare(conn, "category.insert", sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setString(1, categoryName);
             stmt.executeUpdate();
             
             try (ResultSet rs = stmt.getGeneratedKeys()) {
                 if (rs.next()) {
-                    return rs.getInt(1);
+                    int categoryId = rs.getInt(1);
+                    catalogCache.putCategory(categoryName, categoryId);
+                    return categoryId;
                 }
             }
             throw new SQLException("Failed to create category");
         }
     }
 
-    private int getCategoryId(String categoryName) throws SQLException {
+    private int getCategoryId(Connection conn, String categoryName) throws SQLException {
+        Integer cachedId = catalogCache.getCategoryId(categoryName);
+        if (cachedId != null) {
+            return cachedId;
+        }
         String sql = "SELECT id FROM categories WHERE name = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = StatementRegistry.prepare(conn, "category.id", sql)) {
             stmt.setString(1, categoryName);
 
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                return rs.getInt("id");
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    int categoryId = rs.getInt("id");
+                    catalogCache.putCategory(categoryName, categoryId);
+                    return categoryId;
+                }
             }
             throw new SQLException("Category not found");
         }
     }  
 
     public Product getProduct(int id) throws SQLException {
-        String sql = "SELECT p.id, p.name, c.name AS category_name, p.stock, p.price, p.description " +
-                    "FROM products p LEFT JOIN categories c ON p.category_id = c.id WHERE p.id = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, id);
+        return catalogCache.getProduct(id);
+    }
+
+    public List<Product> getAllProducts() throws SQLException {
+        return catalogCache.getAllProducts();
+    }
+
+    // Keyset paging: rows with id greater than lastId, in id order
+    public Page<Product> getProductsPage(int lastId, int limit) throws SQLException {
+        List<Product> products = new ArrayList<>();
+        String sql = "SELECT " + PRODUCT_COLUMNS + " " +
+                     "FROM products p LEFT JOIN categories c ON p.category_id = c.id " +
+                     "WHERE p.id > ? ORDER BY p.id LIMIT ?";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = StatementRegistry.prepare(conn, "product.page", sql)) {
+            stmt.setInt(1, lastId);
+            stmt.setInt(2, limit + 1);
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    Product product = new Product(
-                        rs.getInt("id"),
-                        rs.getString("name"),
-                        rs.getString("category_name"),
-                        rs.getInt("stock"),
-                        rs.getDouble("price"),
-                        rs.getString("description")
-                    );
-                    product.setDisplayId(0); // Not used in single product fetch
-                    return product;
+                while (rs.next()) {
+                    products.add(readProduct(rs));
                 }
             }
         }
-        return null;
+        boolean hasMore = products.size() > limit;
+        if (hasMore) {
+            products.remove(limit);
+        }
+        int cursor = products.isEmpty() ? lastId : products.get(products.size() - 1).getId();
+        return new Page<>(products, cursor, hasMore);
     }
 
-    public List<Product> getAllProducts() throws SQLException {
-        List<Product> products = new ArrayList<>();
+    // Display IDs are 1-based positions in id order. Served from the catalog's ordinal index once the cache
+    // is loaded, otherwise by a single-row OFFSET query.
+    public Product getProductByDisplayId(int displayId) throws SQLException {
+        if (displayId < 1) {
+            return null;
+        }
+        if (catalogCache.isLoaded()) {
+            return catalogCache.getProductByDisplayId(displayId);
+        }
+        return getProductByDisplayIdWithOffset(displayId);
+    }
 
-        String sql = "SELECT p.id, p.name, c.name AS category_name, p.stock, " +
-                     "p.price, p.description FROM products p " +
-                     "LEFT JOIN categories c ON p.category_id = c.id ORDER BY p.id";
-        try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            int sequenceNumber = 1;
-            while (rs.next()) {
-                Product product = new Product(
-                    rs.getInt("id"),
-                    rs.getString("name"),
-                    rs.getString("category_name"),
-                    rs.getInt("stock"),
-                    rs.getDouble("price"),
-                    rs.getString("description")
-                );
-                product.setDisplayId(sequenceNumber++);
-                products.add(product);
+    public Product getProductByDisplayIdWithOffset(int displayId) throws SQLException {
+        String sql = "SELECT " + PRODUCT_COLUMNS + " " +
+                     "FROM products p LEFT JOIN categories c ON p.category_id = c.id " +
+                     "ORDER BY p.id LIMIT 1 OFFSET ?";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = StatementRegistry.prepare(conn, "product.byDisplayId", sql)) {
+            stmt.setInt(1, displayId - 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                Product product = readProduct(rs);
+                product.setDisplayId(displayId);
+                return product;
             }
         }
-        return products;
     }
 
-    public List<Product> getLowStockProducts(int threshold) throws SQLException {
-        List<Product> lowStockProducts = new ArrayList<>();
-        String sql = "SELECT p.id, p.name, c.name AS category_name, p.stock, p.price, p.description " +
+    public long estimateProductCount() throws SQLException {
+        return DBConnection.estimateRowCount("products");
+    }
+
+    // One aggregate pass: per category (null for uncategorized) the product count, units, stock value and how
+    // many products sit below their threshold, defaultThreshold for products without one. Scanned from the
+    // catalog cache's columns once it is loaded, so only the thresholds table is read.
+    public List<CategoryTotals> getCategoryTotals(int defaultThreshold) throws SQLException {
+        if (catalogCache.isLoaded()) {
+            return catalogCache.getCategoryTotals(defaultThreshold, new StockThresholdDAO().getAllThresholds());
+        }
+        List<CategoryTotals> totals = new ArrayList<>();
+        String sql = "SELECT c.name AS category_name, COUNT(*) AS products, COALESCE(SUM(p.stock), 0) AS units, " +
+                     "COALESCE(SUM(p.stock * p.price), 0) AS stock_value, " +
+                     "COALESCE(SUM(p.stock < COALESCE(t.threshold, ?)), 0) AS low_stock " +
                      "FROM products p LEFT JOIN categories c ON p.category_id = c.id " +
-                     "WHERE p.stock < ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, threshold);
+                     "LEFT JOIN product_thresholds t ON t.product_id = p.id " +
+                     "GROUP BY c.name";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, defaultThreshold);
             try (ResultSet rs = stmt.executeQuery()) {
-                int sequenceNumber = 1;
                 while (rs.next()) {
-                    Product product = new Product(
-                        rs.getInt("id"),
-                        rs.getString("name"),
-                        rs.getString("category_name"),
-                        rs.getInt("stock"),
-                        rs.getDouble("price"),
-                        rs.getString("description")
-                    );
-                    product.setDisplayId(sequenceNumber++);
-                    lowStockProducts.add(product);
+                    totals.add(new CategoryTotals(rs.getString("category_name"), rs.getInt("products"),
+                        rs.getLong("units"), rs.getDouble("stock_value"), rs.getInt("low_stock")));
                 }
             }
         }
-        return lowStockProducts;
+        return totals;
     }
 
+    public List<Product> getLowStockProducts(int threshold) throws SQLException {
+        return catalogCache.getLowStockProducts(threshold);
+    }
+
+    // Served from the catalog's search index once the cache is loaded
     public List<Product> searchProducts(String query) throws SQLException {
+        if (catalogCache.isLoaded()) {
+            return catalogCache.searchProducts(query);
+        }
+        return searchProductsWithLike(query);
+    }
+
+    // Unindexed LIKE scan over the products table, used while the cache is cold
+    public List<Product> searchProductsWithLike(String query) throws SQLException {
         List<Product> products = new ArrayList<>();
-        String sql = "SELECT p.id, p.name, c.name AS category_name, p.stock, p.price, p.description " +
+        String sql = "SELECT " + PRODUCT_COLUMNS + " " +
                      "FROM products p LEFT JOIN categories c ON p.category_id = c.id " +
                      "WHERE p.name LIKE ? OR p.description LIKE ? OR c.name LIKE ? OR p.id = ? " +
                      "ORDER BY p.id";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
             String searchTerm = "%" + query + "%";
             stmt.setString(1, searchTerm);
             stmt.setString(2, searchTerm);
@@ -174,14 +253,7 @@ public class ProductDAO {
             }
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Product product = new Product(
-                        rs.getInt("id"),
-                        rs.getString("name"),
-                        rs.getString("category_name"),
-                        rs.getInt("stock"),
-                        rs.getDouble("price"),
-                        rs.getString("description")
-                    );
+                    Product product = readProduct(rs);
                     products.add(product);
                 }
             }
@@ -189,138 +261,559 @@ public class ProductDAO {
         return products;
     }
 
+    // Saves the whole row if it is still at product.getVersion(), bumping the version (product is updated to
+    // match). No lock is held across the edit: if someone else saved the product first, nothing is written and
+    // StaleProductException carries their version; use applyEdit to merge and retry. Returns false if the
+    // product no longer exists. The stock difference is recorded in the ledger as an 'update' movement.
     public boolean updateProduct(Product product) throws SQLException {
-        int categoryId;
-        try {
-            categoryId = getCategoryId(product.getCategoryName());
-        } catch (SQLException e) {
-            categoryId = createCategory(product.getCategoryName());
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int categoryId;
+                try {
+                    categoryId = getCategoryId(conn, product.getCategoryName());
+                } catch (SQLException e) {
+                    categoryId = createCategory(conn, product.getCategoryName());
+                }
+
+                // Every write bumps the version, so if the update below matches it, this is the stock it replaces
+                Product current = selectProduct(conn, product.getId());
+                if (current == null) {
+                    conn.rollback();
+                    catalogCache.forgetCategory(product.getCategoryName());
+                    return false;
+                }
+                String sql = "UPDATE products SET name=?, category_id=?, stock=?, price=?, description=?, " +
+                             "version = version + 1 WHERE id=? AND version=?";
+                int updated = 0;
+                if (current.getVersion() == product.getVersion()) {
+                    try (PreparedStatement stmt = StatementRegistry.prepare(conn, "product.update", sql)) {
+                        stmt.setString(1, product.getName());
+                        stmt.setInt(2, categoryId);
+                        stmt.setInt(3, product.getStock());
+                        stmt.setDouble(4, product.getPrice());
+                        stmt.setString(5, product.getDescription());
+                        stmt.setInt(6, product.getId());
+                        stmt.setInt(7, product.getVersion());
+                        updated = stmt.executeUpdate();
+                    }
+                }
+                recordSave(updated == 0);
+                if (updated == 0) {
+                    // This transaction's snapshot still shows the row as first read; the rollback ends it
+                    conn.rollback();
+                    Product latest = selectProduct(conn, product.getId());
+                    if (latest == null) {
+                        conn.rollback();
+                        catalogCache.forgetCategory(product.getCategoryName());
+                        return false; // Deleted in between
+                    }
+                    catalogCache.onExternalChanges(List.of(latest), List.of());
+                    throw new StaleProductException(latest);
+                }
+                int delta = product.getStock() - current.getStock();
+                if (delta != 0) {
+                    inventoryLogDAO.recordMovement(conn, product.getId(), userId, InventoryLogDAO.ACTION_UPDATE, delta);
+                }
+                conn.commit();
+                product.setVersion(product.getVersion() + 1);
+            } catch (SQLException e) {
+                conn.rollback();
+                catalogCache.forgetCategory(product.getCategoryName());
+                throw e;
+            }
         }
+        catalogCache.onProductSaved(product);
+        auditLogDAO.logAction(userId, "Product Edited", 
+            String.format("Product ID: %d, Name: %s", product.getId(), product.getName()));
+        return true;
+    }
 
-        String sql = "UPDATE products SET name=?, category_id=?, stock=?, price=?, description=? WHERE id=?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, product.getName());
-            stmt.setInt(2, categoryId);
-            stmt.setInt(3, product.getStock());
-            stmt.setDouble(4, product.getPrice());
-            stmt.setString(5, product.getDescription());
-            stmt.setInt(6, product.getId());
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected > 0) {
-                auditLogDAO.logAction(userId, "Product Edited", 
-                    String.format("Product ID: %d, Name: %s", product.getId(), product.getName()));
-                return true;
+    // Saves the changes an editor made to original (the product as it was loaded). If someone else saved it in
+    // between, the edited fields are re-applied onto their version and the save retried: stock merges as a
+    // delta, and another field only conflicts when both sides changed it to different values, which throws
+    // StaleProductException naming the fields. Returns the saved product, or null if it was deleted meanwhile.
+    public Product applyEdit(Product original, Product edited) throws SQLException {
+        Product attempt = copyOf(edited);
+        attempt.setId(original.getId());
+        attempt.setVersion(original.getVersion());
+        for (int tries = 1; ; tries++) {
+            try {
+                return updateProduct(attempt) ? attempt : null;
+            } catch (StaleProductException e) {
+                if (tries == MAX_EDIT_ATTEMPTS) {
+                    editsUnresolved.incrementAndGet();
+                    throw e;
+                }
+                attempt = merge(original, edited, e.getCurrent());
+                editsMerged.incrementAndGet();
             }
-            return false;
         }
     }
 
-    public boolean deleteProduct(int productId) throws SQLException {
-        String sql = "SELECT name FROM products WHERE id = ?";
-        String productName = null;
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, productId);
+    private static Product merge(Product original, Product edited, Product current) throws StaleProductException {
+        List<String> conflicts = new ArrayList<>();
+        Product merged = copyOf(current);
+        merged.setName(mergeField("name", original.getName(), edited.getName(), current.getName(), conflicts));
+        merged.setCategoryName(mergeField("category", original.getCategoryName(), edited.getCategoryName(),
+            current.getCategoryName(), conflicts));
+        merged.setPrice(mergeField("price", original.getPrice(), edited.getPrice(), current.getPrice(), conflicts));
+        merged.setDescription(mergeField("description", original.getDescription(), edited.getDescription(),
+            current.getDescription(), conflicts));
+        int stock = current.getStock() + (edited.getStock() - original.getStock());
+        if (stock < 0) {
+            conflicts.add("stock");
+        } else {
+            merged.setStock(stock);
+        }
+        if (!conflicts.isEmpty()) {
+            editsUnresolved.incrementAndGet();
+            throw new StaleProductException(current, conflicts);
+        }
+        return merged;
+    }
+
+    // The editor's value if only the editor changed the field, the current one otherwise
+    private static <V> V mergeField(String field, V original, V edited, V current, List<String> conflicts) {
+        if (Objects.equals(edited, original) || Objects.equals(edited, current)) {
+            return current;
+        }
+        if (Objects.equals(current, original)) {
+            return edited;
+        }
+        conflicts.add(field);
+        return current;
+    }
+
+    private static Product copyOf(Product product) {
+        Product copy = new Product(product.getId(), product.getName(), product.getCategoryName(),
+            product.getStock(), product.getPrice(), product.getDescription());
+        copy.setVersion(product.getVersion());
+        return copy;
+    }
+
+    private Product selectProduct(Connection conn, int id) throws SQLException {
+        String sql = "SELECT " + PRODUCT_COLUMNS + " " +
+                     "FROM products p LEFT JOIN categories c ON p.category_id = c.id WHERE p.id = ?";
+        try (PreparedStatement stmt = StatementRegistry.prepare(conn, "product.select", sql)) {
+            stmt.setInt(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    productName = rs.getString("name");
+                return rs.next() ? readProduct(rs) : null;
+            }
+        }
+    }
+
+    // Reads a row selected with PRODUCT_COLUMNS
+    static Product readProduct(ResultSet rs) throws SQLException {
+        Product product = new Product(
+            rs.getInt("id"),
+            rs.getString("name"),
+            rs.getString("category_name"),
+            rs.getInt("stock"),
+            rs.getDouble("price"),
+            rs.getString("description")
+        );
+        product.setVersion(rs.getInt("version"));
+        return product;
+    }
+
+    // Conditional saves and how many found the product changed underneath them; subclasses that save
+    // elsewhere report theirs here too
+    protected static void recordSave(boolean conflict) {
+        editSaves.incrementAndGet();
+        if (conflict) {
+            editConflicts.incrementAndGet();
+        }
+    }
+
+    public static EditStats getEditStats() {
+        return new EditStats(editSaves.get(), editConflicts.get(), editsMerged.get(), editsUnresolved.get());
+    }
+
+    // Atomically adds delta (negative to remove) to one product's stock and returns the new level
+    public int adjustStock(int productId, int delta) throws SQLException {
+        List<StockAdjustment> adjustments = new ArrayList<>();
+        adjustments.add(new StockAdjustment(productId, delta));
+        Integer stock = adjustStock(adjustments).get(productId);
+        if (stock == null) {
+            // Zero delta: nothing was written
+            Product product = getProduct(productId);
+            if (product == null) {
+                throw new SQLException("Product not found: ID " + productId);
+            }
+            return product.getStock();
+        }
+        return stock;
+    }
+
+    // Applies every adjustment in one transaction, or none of them if any product is missing or would
+    // go negative. Deltas for the same product are summed; returns the new stock level per product.
+    public Map<Integer, Integer> adjustStock(List<StockAdjustment> adjustments) throws SQLException {
+        // Rows are locked in id order so concurrent batches cannot deadlock
+        TreeMap<Integer, Integer> deltas = new TreeMap<>();
+        for (StockAdjustment adjustment : adjustments) {
+            deltas.merge(adjustment.getProductId(), adjustment.getDelta(), Integer::sum);
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        Map<Integer, Integer> newStock = new LinkedHashMap<>();
+        if (deltas.isEmpty()) {
+            return newStock;
+        }
+
+        List<Product> adjusted = new ArrayList<>();
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                Map<Integer, Product> locked = lockProducts(conn, deltas.keySet());
+                for (Map.Entry<Integer, Integer> entry : deltas.entrySet()) {
+                    Product product = locked.get(entry.getKey());
+                    if (product == null) {
+                        throw new SQLException("Product not found: ID " + entry.getKey());
+                    }
+                    if (product.getStock() + entry.getValue() < 0) {
+                        throw new SQLException(String.format("Insufficient stock for %s (ID %d): have %d, need %d",
+                            product.getName(), product.getId(), product.getStock(), -entry.getValue()));
+                    }
+                }
+
+                // The guard is redundant under the row locks but keeps the statement safe on its own
+                String sql = "UPDATE products SET stock = stock + ?, version = version + 1 WHERE id = ? AND stock + ? >= 0";
+                try (PreparedStatement stmt = StatementRegistry.prepare(conn, "product.adjustStock", sql)) {
+                    for (Map.Entry<Integer, Integer> entry : deltas.entrySet()) {
+                        stmt.setInt(1, entry.getValue());
+                        stmt.setInt(2, entry.getKey());
+                        stmt.setInt(3, entry.getValue());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
                 }
+                inventoryLogDAO.recordMovements(conn, deltas, userId);
+                conn.commit();
+
+                for (Map.Entry<Integer, Integer> entry : deltas.entrySet()) {
+                    Product product = locked.get(entry.getKey());
+                    product.setStock(product.getStock() + entry.getValue());
+                    product.setVersion(product.getVersion() + 1);
+                    newStock.put(product.getId(), product.getStock());
+                    adjusted.add(product);
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+
+        for (Product product : adjusted) {
+            catalogCache.onProductSaved(product);
+        }
+        if (adjusted.size() == 1) {
+            Product product = adjusted.get(0);
+            auditLogDAO.logAction(userId, "Stock Adjusted", String.format("Product ID: %d, Name: %s, Change: %+d, New Stock: %d",
+                product.getId(), product.getName(), deltas.get(product.getId()), product.getStock()));
+        } else {
+            int net = 0;
+            for (int delta : deltas.values()) {
+                net += delta;
             }
+            auditLogDAO.logAction(userId, "Stock Adjusted",
+                String.format("Adjusted stock for %d products, net change %+d", adjusted.size(), net));
         }
+        return newStock;
+    }
 
-        sql = "DELETE FROM products WHERE id = ?";
+    private Map<Integer, Product> lockProducts(Connection conn, Set<Integer> ids) throws SQLException {
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < ids.size(); i++) {
+            placeholders.append(i == 0 ? "?" : ", ?");
+        }
+        String sql = "SELECT " + PRODUCT_COLUMNS + " " +
+                     "FROM products p LEFT JOIN categories c ON p.category_id = c.id " +
+                     "WHERE p.id IN (" + placeholders + ") ORDER BY p.id FOR UPDATE";
+        Map<Integer, Product> products = new TreeMap<>();
         try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, productId);
-            int affectedRows = stmt.executeUpdate();
-            if (affectedRows > 0) {
-                auditLogDAO.logAction(userId, "Product Deleted", 
-                    String.format("Product ID: %d, Name: %s", productId, productName != null ? productName : "Unknown"));
-                return true;
+            int index = 1;
+            for (Integer id : ids) {
+                stmt.setInt(index++, id);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Product product = readProduct(rs);
+                    products.put(product.getId(), product);
+                }
             }
-            return false;
         }
+        return products;
     }
 
-    // New method to import products from a CSV file
-    public void importProductsFromCSV(String filePath) throws SQLException, IOException, CsvValidationException {
-        try (CSVReader reader = new CSVReader(new FileReader(filePath))) {
-            // Read header row
-            String[] headers = reader.readNext();
-            if (headers == null || headers.length != 5 || 
-                !headers[0].equals("name") || !headers[1].equals("category_name") || 
-                !headers[2].equals("stock") || !headers[3].equals("price") || 
-                !headers[4].equals("description")) {
-                throw new IOException("Invalid CSV format. Expected headers: name,category_name,stock,price,description");
+    public boolean deleteProduct(int productId) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            String sql = "SELECT name FROM products WHERE id = ?";
+            String productName = null;
+            try (PreparedStatement stmt = StatementRegistry.prepare(conn, "product.name", sql)) {
+                stmt.setInt(1, productId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        productName = rs.getString("name");
+                    }
+                }
             }
 
-            String[] row;
-            while ((row = reader.readNext()) != null) {
-                // Parse CSV row
-                String name = row[0].trim();
-                String categoryName = row[1].trim();
-                String stockStr = row[2].trim();
-                String priceStr = row[3].trim();
-                String description = row[4].trim();
-
-                // Validate required fields
-                if (name.isEmpty() || categoryName.isEmpty() || stockStr.isEmpty() || priceStr.isEmpty()) {
-                    System.out.println("[WARN] Skipping row due to missing required fields: " + String.join(",", row));
-                    continue;
+            sql = "DELETE FROM products WHERE id = ?";
+            try (PreparedStatement stmt = StatementRegistry.prepare(conn, "product.delete", sql)) {
+                stmt.setInt(1, productId);
+                int affectedRows = stmt.executeUpdate();
+                if (affectedRows > 0) {
+                    catalogCache.onProductDeleted(productId);
+                    auditLogDAO.logAction(userId, "Product Deleted", 
+                        String.format("Product ID: %d, Name: %s", productId, productName != null ? productName : "Unknown"));
+                    return true;
                 }
+                return false;
+            }
+        }
+    }
 
-                // Parse numeric fields
-                int stock;
-                double price;
-                try {
-                    stock = Integer.parseInt(stockStr);
-                    price = Double.parseDouble(priceStr);
-                } catch (NumberFormatException e) {
-                    System.out.println("[WARN] Skipping row due to invalid stock or price format: " + String.join(",", row));
-                    continue;
+    // Deletes the given products in one transaction with one audit entry; ids that no longer exist are
+    // skipped. Returns the number of products deleted.
+    public int deleteProducts(int[] productIds) throws SQLException {
+        Set<Integer> ids = new TreeSet<>();
+        for (int productId : productIds) {
+            ids.add(productId);
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        Map<Integer, Product> deleted;
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                // One IN query for the names, which also locks the rows until the deletes commit
+                deleted = lockProducts(conn, ids);
+                if (!deleted.isEmpty()) {
+                    String sql = "DELETE FROM products WHERE id = ?";
+                    try (PreparedStatement stmt = StatementRegistry.prepare(conn, "product.delete", sql)) {
+                        for (Integer id : deleted.keySet()) {
+                            stmt.setInt(1, id);
+                            stmt.addBatch();
+                        }
+                        stmt.executeBatch();
+                    }
                 }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+
+        if (deleted.isEmpty()) {
+            return 0;
+        }
+        for (Integer id : deleted.keySet()) {
+            catalogCache.onProductDeleted(id);
+        }
+        auditLogDAO.logAction(userId, "Products Deleted",
+            String.format("Deleted %d products: %s", deleted.size(), describe(deleted.values())));
+        return deleted.size();
+    }
 
-                // Validate numeric values
-                if (stock < 0 || price < 0) {
-                    System.out.println("[WARN] Skipping row due to negative stock or price: " + String.join(",", row));
-                    continue;
+    // Saves every product in one transaction with one audit entry, or none if any of them no longer
+    // exists or is no longer at the version it was read at (StaleProductException). Stock differences go to
+    // the ledger as 'update' movements, as with updateProduct.
+    public int updateProducts(List<Product> products) throws SQLException {
+        if (products.isEmpty()) {
+            return 0;
+        }
+        Map<Integer, Product> byId = new TreeMap<>();
+        for (Product product : products) {
+            byId.put(product.getId(), product); // The last entry for an id wins
+        }
+
+        Set<String> categories = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                Map<Integer, Product> locked = lockProducts(conn, byId.keySet());
+                Map<Integer, Integer> deltas = new TreeMap<>();
+                for (Product product : byId.values()) {
+                    Product previous = locked.get(product.getId());
+                    if (previous == null) {
+                        throw new SQLException("Product not found: ID " + product.getId());
+                    }
+                    recordSave(previous.getVersion() != product.getVersion());
+                    if (previous.getVersion() != product.getVersion()) {
+                        throw new StaleProductException(previous);
+                    }
+                    if (product.getStock() != previous.getStock().intValue()) {
+                        deltas.put(product.getId(), product.getStock() - previous.getStock());
+                    }
                 }
 
-                // Create product
-                Product product = new Product(0, name, categoryName, stock, price, description);
+                Map<String, Integer> categoryIds = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                for (Product product : byId.values()) {
+                    String category = product.getCategoryName();
+                    if (!categoryIds.containsKey(category)) {
+                        categories.add(category);
+                        int categoryId;
+                        try {
+                            categoryId = getCategoryId(conn, category);
+                        } catch (SQLException e) {
+                            categoryId = createCategory(conn, category);
+                        }
+                        categoryIds.put(category, categoryId);
+                    }
+                }
 
-                // Insert into database
-                try {
-                    addProduct(product);
-                } catch (SQLException e) {
-                    System.out.println("[ERROR] Failed to import product: " + name + " - " + e.getMessage());
-                    throw e; // Re-throw to handle in UI
+                // The rows are locked and their versions checked above, so the version guard is only a backstop
+                String sql = "UPDATE products SET name=?, category_id=?, stock=?, price=?, description=?, " +
+                             "version = version + 1 WHERE id=? AND version=?";
+                try (PreparedStatement stmt = StatementRegistry.prepare(conn, "product.update", sql)) {
+                    for (Product product : byId.values()) {
+                        stmt.setString(1, product.getName());
+                        stmt.setInt(2, categoryIds.get(product.getCategoryName()));
+                        stmt.setInt(3, product.getStock());
+                        stmt.setDouble(4, product.getPrice());
+                        stmt.setString(5, product.getDescription());
+                        stmt.setInt(6, product.getId());
+                        stmt.setInt(7, product.getVersion());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+                if (!deltas.isEmpty()) {
+                    inventoryLogDAO.recordMovements(conn, deltas, userId, InventoryLogDAO.ACTION_UPDATE);
                 }
+                conn.commit();
+                for (Product product : byId.values()) {
+                    product.setVersion(product.getVersion() + 1);
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                for (String category : categories) {
+                    catalogCache.forgetCategory(category);
+                }
+                throw e;
             }
+        }
+
+        for (Product product : byId.values()) {
+            catalogCache.onProductSaved(product);
+        }
+        auditLogDAO.logAction(userId, "Products Edited",
+            String.format("Edited %d products: %s", byId.size(), describe(byId.values())));
+        return byId.size();
+    }
 
-            auditLogDAO.logAction(userId, "Imported Products", "Imported products from CSV file: " + filePath);
+    // "ID 3 (Widget), ID 7 (Bolt), ..." capped so one audit entry stays readable
+    private static String describe(Collection<Product> products) {
+        StringBuilder details = new StringBuilder();
+        int listed = 0;
+        for (Product product : products) {
+            if (listed == AUDIT_DETAIL_LIMIT) {
+                details.append(String.format(", and %d more", products.size() - listed));
+                break;
+            }
+            if (listed++ > 0) {
+                details.append(", ");
+            }
+            details.append(String.format("ID %d (%s)", product.getId(), product.getName()));
+        }
+        return details.toString();
+    }
+
+    // New method to import products from a CSV file
+    public void importProductsFromCSV(String filePath) throws SQLException, IOException, CsvValidationException {
+        importProductsFromCSV(filePath, null);
+    }
+
+    public ProductImporter.ImportResult importProductsFromCSV(String filePath, ProductImporter.ProgressListener listener)
+            throws SQLException, IOException, CsvValidationException {
+        try {
+            return new ProductImporter(userId).importFile(filePath, listener);
+        } finally {
+            catalogCache.invalidate(); // Chunks may have committed even if the import failed
         }
     }
 
     // New method to export products to a CSV file
     public void exportProductsToCSV(String filePath) throws SQLException, IOException {
-        try (CSVWriter writer = new CSVWriter(new FileWriter(filePath))) {
-            // Write header
-            writer.writeNext(new String[]{"name", "category_name", "stock", "price", "description"});
-
-            // Get all products
-            List<Product> products = getAllProducts();
-
-            // Write each product to CSV
-            for (Product product : products) {
-                writer.writeNext(new String[]{
-                    product.getName(),
-                    product.getCategoryName() != null ? product.getCategoryName() : "",
-                    String.valueOf(product.getStock()),
-                    String.valueOf(product.getPrice()),
-                    product.getDescription() != null ? product.getDescription() : ""
-                });
-            }
+        exportProductsToCSV(filePath, ProductExporter.DEFAULT_COLUMNS, filePath.toLowerCase().endsWith(".gz"));
+    }
+
+    // Streams rows straight from the result set to disk without building a product list
+    public long exportProductsToCSV(String filePath, List<ProductExporter.Column> columns, boolean gzip)
+            throws SQLException, IOException {
+        long rows = new ProductExporter().export(filePath, columns, gzip);
+        auditLogDAO.logAction(userId, "Exported Products",
+            String.format("Exported %d products to CSV file: %s", rows, filePath));
+        return rows;
+    }
+
+    public static class StockAdjustment {
+        private int productId;
+        private int delta;
+
+        public StockAdjustment(int productId, int delta) {
+            this.productId = productId;
+            this.delta = delta;
+        }
+
+        public int getProductId() { return productId; }
+        // Signed change: positive when receiving, negative when picking
+        public int getDelta() { return delta; }
+    }
+
+    public static class CategoryTotals {
+        private final String category;
+        private final int products;
+        private final long units;
+        private final double value;
+        private final int lowStock;
+
+        public CategoryTotals(String category, int products, long units, double value, int lowStock) {
+            this.category = category;
+            this.products = products;
+            this.units = units;
+            this.value = value;
+            this.lowStock = lowStock;
+        }
+
+        public String getCategory() { return category; }
+        public int getProducts() { return products; }
+        public long getUnits() { return units; }
+        public double getValue() { return value; }
+        public int getLowStock() { return lowStock; }
+    }
+
+    public static class EditStats {
+        private final long saves;
+        private final long conflicts;
+        private final long merged;
+        private final long unresolved;
+
+        public EditStats(long saves, long conflicts, long merged, long unresolved) {
+            this.saves = saves;
+            this.conflicts = conflicts;
+            this.merged = merged;
+            this.unresolved = unresolved;
+        }
+
+        public long getSaves() { return saves; }
+        public long getConflicts() { return conflicts; }
+        // Conflicts that applyEdit merged onto the newer version and retried
+        public long getMerged() { return merged; }
+        // Conflicts handed back to the editor: the same field changed on both sides, or retries ran out
+        public long getUnresolved() { return unresolved; }
+
+        public double getConflictRate() {
+            return saves == 0 ? 0 : (double) conflicts / saves;
+        }
 
-            auditLogDAO.logAction(userId, "Exported Products", "Exported products to CSV file: " + filePath);
+        @Override
+        public String toString() {
+            return String.format("%d saves, %d conflicts (%.1f%%), %d merged, %d unresolved",
+                saves, conflicts, getConflictRate() * 100, merged, unresolved);
         }
     }
-}
\ No newline at end of file
+}
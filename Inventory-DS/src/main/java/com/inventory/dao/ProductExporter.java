@@ -0,0 +1,92 @@
+package main.java.com.inventory.dao;
+
+import com.opencsv.CSVWriter;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+public class ProductExporter {
+    private static final int FETCH_SIZE = 1_000;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    public enum Column {
+        ID("id", "p.id"),
+        NAME("name", "p.name"),
+        CATEGORY_NAME("category_name", "c.name"),
+        STOCK("stock", "p.stock"),
+        PRICE("price", "p.price"),
+        DESCRIPTION("description", "p.description");
+
+        private final String header;
+        private final String expression;
+
+        Column(String header, String expression) {
+            this.header = header;
+            this.expression = expression;
+        }
+
+        public String getHeader() { return header; }
+    }
+
+    // Same layout importProductsFromCSV expects, so exports can be re-imported
+    public static final List<Column> DEFAULT_COLUMNS = Arrays.asList(
+        Column.NAME, Column.CATEGORY_NAME, Column.STOCK, Column.PRICE, Column.DESCRIPTION);
+
+    public long export(String filePath, List<Column> columns, boolean gzip) throws SQLException, IOException {
+        if (columns == null || columns.isEmpty()) {
+            throw new IllegalArgumentException("At least one export column is required");
+        }
+        StringBuilder sql = new StringBuilder("SELECT ");
+        String[] headers = new String[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(columns.get(i).expression);
+            headers[i] = columns.get(i).header;
+        }
+        sql.append(" FROM products p LEFT JOIN categories c ON p.category_id = c.id ORDER BY p.id");
+
+        long rows = 0;
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString(),
+                 ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+             CSVWriter writer = new CSVWriter(new OutputStreamWriter(openOutput(filePath, gzip), StandardCharsets.UTF_8))) {
+            // With useCursorFetch the driver pulls FETCH_SIZE rows at a time instead of the whole result
+            stmt.setFetchSize(FETCH_SIZE);
+            writer.writeNext(headers);
+            String[] line = new String[headers.length];
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    for (int i = 0; i < line.length; i++) {
+                        String value = rs.getString(i + 1);
+                        line[i] = value != null ? value : "";
+                    }
+                    writer.writeNext(line);
+                    rows++;
+                }
+            }
+        }
+        return rows;
+    }
+
+    private OutputStream openOutput(String filePath, boolean gzip) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(filePath),
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        OutputStream out = Channels.newOutputStream(channel);
+        if (gzip) {
+            out = new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+        return new BufferedOutputStream(out, BUFFER_SIZE);
+    }
+}
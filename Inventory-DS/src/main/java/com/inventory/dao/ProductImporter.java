@@ -0,0 +1,269 @@
+package main.java.com.inventory.dao;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvValidationException;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+public class ProductImporter {
+    private static final String[] EXPECTED_HEADERS = {"name", "category_name", "stock", "price", "description"};
+    private static final int DEFAULT_CHUNK_SIZE = 1_000;
+
+    private final AuditLogDAO auditLogDAO;
+    private final InventoryLogDAO inventoryLogDAO;
+    private final int userId;
+    private final int chunkSize;
+
+    public interface ProgressListener {
+        void onProgress(long rowsRead, long imported, long rejected);
+    }
+
+    public ProductImporter(int userId) {
+        this(userId, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ProductImporter(int userId, int chunkSize) {
+        this.userId = userId;
+        this.chunkSize = chunkSize;
+        this.auditLogDAO = new AuditLogDAO();
+        this.inventoryLogDAO = new InventoryLogDAO();
+    }
+
+    public ImportResult importFile(String filePath, ProgressListener listener)
+            throws SQLException, IOException, CsvValidationException {
+        long start = System.nanoTime();
+        String rejectPath = filePath + ".rejects.csv";
+
+        try (Connection conn = DBConnection.getConnection()) {
+            Map<String, Integer> categories = resolveCategories(conn, collectCategoryNames(filePath));
+
+            ImportResult result = new ImportResult();
+            String insertSql = "INSERT INTO products (name, category_id, stock, price, description) VALUES (?, ?, ?, ?, ?)";
+            conn.setAutoCommit(false);
+            try (CSVReader reader = openValidated(filePath);
+                 RejectWriter rejects = new RejectWriter(rejectPath);
+                 PreparedStatement stmt = conn.prepareStatement(insertSql, Statement.RETURN_GENERATED_KEYS)) {
+                List<Integer> stocks = new ArrayList<>(chunkSize); // Per batched row, for the inventory log
+                int inChunk = 0;
+                String[] row;
+                while ((row = reader.readNext()) != null) {
+                    result.rowsRead++;
+                    String reason = validate(row);
+                    if (reason != null) {
+                        rejects.reject(row, reason);
+                        result.rejected++;
+                        continue;
+                    }
+                    stmt.setString(1, row[0].trim());
+                    stmt.setInt(2, categories.get(row[1].trim()));
+                    int stock = Integer.parseInt(row[2].trim());
+                    stmt.setInt(3, stock);
+                    stmt.setDouble(4, Double.parseDouble(row[3].trim()));
+                    stmt.setString(5, row[4].trim());
+                    stmt.addBatch();
+                    stocks.add(stock);
+                    if (++inChunk == chunkSize) {
+                        commitChunk(conn, stmt, stocks, result, filePath);
+                        inChunk = 0;
+                        if (listener != null) {
+                            listener.onProgress(result.rowsRead, result.imported, result.rejected);
+                        }
+                    }
+                }
+                if (inChunk > 0) {
+                    commitChunk(conn, stmt, stocks, result, filePath);
+                }
+                result.rejectFile = rejects.isUsed() ? rejectPath : null;
+            } catch (SQLException e) {
+                conn.rollback();
+                System.err.println("[ERROR] ProductImporter: Chunk failed after " + result.imported
+                    + " rows were committed - " + e.getMessage());
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+            result.elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            if (listener != null) {
+                listener.onProgress(result.rowsRead, result.imported, result.rejected);
+            }
+            auditLogDAO.logAction(userId, "Imported Products", "Imported products from CSV file: " + filePath
+                + " (" + result + ")");
+            return result;
+        }
+    }
+
+    // The chunk's products, their opening stock movements and its audit row commit together
+    private void commitChunk(Connection conn, PreparedStatement stmt, List<Integer> stocks, ImportResult result,
+                             String filePath) throws SQLException {
+        int rows = stocks.size();
+        stmt.executeBatch();
+        Map<Integer, Integer> movements = new LinkedHashMap<>();
+        try (ResultSet keys = stmt.getGeneratedKeys()) {
+            for (int i = 0; i < rows && keys.next(); i++) {
+                if (stocks.get(i) > 0) {
+                    movements.put(keys.getInt(1), stocks.get(i));
+                }
+            }
+        }
+        if (!movements.isEmpty()) {
+            inventoryLogDAO.recordMovements(conn, movements, userId, InventoryLogDAO.ACTION_ADD);
+        }
+        stocks.clear();
+        result.chunks++;
+        auditLogDAO.logAction(conn, userId, "Imported Products Chunk",
+            String.format("File: %s, Chunk: %d, Rows: %d", filePath, result.chunks, rows));
+        conn.commit();
+        result.imported += rows;
+    }
+
+    // Pre-pass over the file so categories are resolved once instead of per row
+    private Set<String> collectCategoryNames(String filePath) throws IOException, CsvValidationException {
+        Set<String> names = new HashSet<>();
+        try (CSVReader reader = openValidated(filePath)) {
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                if (validate(row) == null) {
+                    names.add(row[1].trim());
+                }
+            }
+        }
+        return names;
+    }
+
+    private Map<String, Integer> resolveCategories(Connection conn, Set<String> wanted) throws SQLException {
+        Map<String, Integer> categories = loadCategories(conn);
+        // Category names compare case-insensitively in MySQL, so the map has to as well
+        Set<String> missing = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        missing.addAll(wanted);
+        missing.removeAll(categories.keySet());
+        if (!missing.isEmpty()) {
+            String sql = "INSERT IGNORE INTO categories (name) VALUES (?)";
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (String name : missing) {
+                    stmt.setString(1, name);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+            categories = loadCategories(conn);
+        }
+        return categories;
+    }
+
+    private Map<String, Integer> loadCategories(Connection conn) throws SQLException {
+        Map<String, Integer> categories = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT id, name FROM categories")) {
+            while (rs.next()) {
+                categories.put(rs.getString("name"), rs.getInt("id"));
+            }
+        }
+        return categories;
+    }
+
+    private CSVReader openValidated(String filePath) throws IOException, CsvValidationException {
+        CSVReader reader = new CSVReader(new FileReader(filePath));
+        String[] headers = reader.readNext();
+        if (headers == null || !Arrays.equals(headers, EXPECTED_HEADERS)) {
+            reader.close();
+            throw new IOException("Invalid CSV format. Expected headers: name,category_name,stock,price,description");
+        }
+        return reader;
+    }
+
+    // Returns the reject reason, or null when the row can be imported
+    private String validate(String[] row) {
+        if (row.length != EXPECTED_HEADERS.length) {
+            return "Expected " + EXPECTED_HEADERS.length + " columns but found " + row.length;
+        }
+        if (row[0].trim().isEmpty() || row[1].trim().isEmpty() || row[2].trim().isEmpty() || row[3].trim().isEmpty()) {
+            return "Missing required fields";
+        }
+        int stock;
+        double price;
+        try {
+            stock = Integer.parseInt(row[2].trim());
+            price = Double.parseDouble(row[3].trim());
+        } catch (NumberFormatException e) {
+            return "Invalid stock or price format";
+        }
+        if (stock < 0 || price < 0) {
+            return "Negative stock or price";
+        }
+        return null;
+    }
+
+    // Opens the reject file only once the first bad row shows up
+    private static class RejectWriter implements AutoCloseable {
+        private final String path;
+        private CSVWriter writer;
+
+        RejectWriter(String path) {
+            this.path = path;
+        }
+
+        void reject(String[] row, String reason) throws IOException {
+            if (writer == null) {
+                writer = new CSVWriter(new FileWriter(path));
+                writer.writeNext(new String[]{"name", "category_name", "stock", "price", "description", "reject_reason"});
+            }
+            String[] out = Arrays.copyOf(row, EXPECTED_HEADERS.length + 1);
+            out[EXPECTED_HEADERS.length] = reason;
+            writer.writeNext(out);
+        }
+
+        boolean isUsed() {
+            return writer != null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+
+    public static class ImportResult {
+        private long rowsRead;
+        private long imported;
+        private long rejected;
+        private int chunks;
+        private long elapsedMillis;
+        private String rejectFile;
+
+        public long getRowsRead() { return rowsRead; }
+        public long getImported() { return imported; }
+        public long getRejected() { return rejected; }
+        public int getChunks() { return chunks; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public String getRejectFile() { return rejectFile; }
+
+        public double getRowsPerSecond() {
+            return elapsedMillis == 0 ? imported : imported * 1000.0 / elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("read=%d, imported=%d, rejected=%d, chunks=%d, %.0f rows/s",
+                rowsRead, imported, rejected, chunks, getRowsPerSecond());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package main.java.com.inventory.dao;
+
+import main.java.com.inventory.models.Product;
+import java.sql.SQLException;
+import java.util.List;
+
+// An update was made against a product version that is no longer current: someone else saved it in between.
+// Carries the row as it is now, so the caller can merge its changes and retry (see ProductDAO.applyEdit).
+public class StaleProductException extends SQLException {
+    private final Product current;
+    private final List<String> conflictingFields;
+
+    public StaleProductException(Product current) {
+        this(current, List.of());
+    }
+
+    public StaleProductException(Product current, List<String> conflictingFields) {
+        super(conflictingFields.isEmpty()
+            ? String.format("Product ID %d was changed by someone else (now version %d)", current.getId(), current.getVersion())
+            : String.format("Product ID %d was changed by someone else; conflicting fields: %s",
+                current.getId(), String.join(", ", conflictingFields)));
+        this.current = current;
+        this.conflictingFields = conflictingFields;
+    }
+
+    public Product getCurrent() { return current; }
+    // Fields both editors changed to different values; empty when the change has not been merged yet
+    public List<String> getConflictingFields() { return conflictingFields; }
+}
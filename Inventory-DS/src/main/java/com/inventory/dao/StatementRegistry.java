@@ -0,0 +1,31 @@
+package main.java.com.inventory.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Named prepared statements that live as long as the pooled connection they were prepared on. The first
+// prepare of a name on a connection parses it (server-side, see DBConnection's URL); later leases of that
+// connection get the same statement back, and closing it only resets its parameters and settings. While a name
+// is still open on the connection, preparing it again gives a plain statement. Connections that did not come
+// from the pool just prepare normally.
+public final class StatementRegistry {
+    // Implemented by the pool's connection proxies
+    interface StatementSource {
+        PreparedStatement prepareNamed(String name, String sql, int autoGeneratedKeys) throws SQLException;
+    }
+
+    private StatementRegistry() {}
+
+    public static PreparedStatement prepare(Connection conn, String name, String sql) throws SQLException {
+        return prepare(conn, name, sql, Statement.NO_GENERATED_KEYS);
+    }
+
+    public static PreparedStatement prepare(Connection conn, String name, String sql, int autoGeneratedKeys) throws SQLException {
+        if (conn instanceof StatementSource) {
+            return ((StatementSource) conn).prepareNamed(name, sql, autoGeneratedKeys);
+        }
+        return conn.prepareStatement(sql, autoGeneratedKeys);
+    }
+}
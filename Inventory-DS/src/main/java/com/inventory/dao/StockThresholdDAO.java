@@ -0,0 +1,35 @@
+package main.java.com.inventory.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+public class StockThresholdDAO {
+
+    public Map<Integer, Integer> getAllThresholds() throws SQLException {
+        Map<Integer, Integer> thresholds = new HashMap<>();
+        String sql = "SELECT product_id, threshold FROM product_thresholds";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                thresholds.put(rs.getInt("product_id"), rs.getInt("threshold"));
+            }
+        }
+        return thresholds;
+    }
+
+    public void setThreshold(int productId, int threshold) throws SQLException {
+        String sql = "INSERT INTO product_thresholds (product_id, threshold) VALUES (?, ?) " +
+                     "ON DUPLICATE KEY UPDATE threshold = VALUES(threshold)";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = StatementRegistry.prepare(conn, "threshold.upsert", sql)) {
+            stmt.setInt(1, productId);
+            stmt.setInt(2, threshold);
+            stmt.executeUpdate();
+        }
+    }
+}
@@ -4,19 +4,22 @@ import main.java.com.inventory.models.User;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 public class UserDAO {
-    private Connection conn;
     private AuditLogDAO auditLogDAO;
 
-    public UserDAO(Connection conn) {
-        this.conn = conn;
-        this.auditLogDAO = new AuditLogDAO(conn);
+    public UserDAO() {
+        this.auditLogDAO = new AuditLogDAO();
     }
 
     public User validateUser(String username, String password, String role) throws SQLException {
     String sql = "SELECT * FROM users WHERE username = ? AND password = ? AND LOWER(role) = LOWER(?)";
-    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+    try (Connection conn = DBConnection.getConnection();
+         PreparedStatement stmt = StatementRegistry.prepare(conn, "user.validate", sql)) {
         stmt.setString(1, username);
         stmt.setString(2, password);
         stmt.setString(3, role);
@@ -36,8 +39,14 @@ public class UserDAO {
 }
 
     public boolean usernameExists(String username) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            return usernameExists(conn, username);
+        }
+    }
+
+    private boolean usernameExists(Connection conn, String username) throws SQLException {
         String sql = "SELECT COUNT(*) FROM users WHERE username = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = StatementRegistry.prepare(conn, "user.usernameExists", sql)) {
             stmt.setString(1, username);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -50,16 +59,22 @@ public class UserDAO {
     }
 
     public boolean addUser(User user, String password) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            return addUser(conn, user, password);
+        }
+    }
+
+    private boolean addUser(Connection conn, User user, String password) throws SQLException {
         boolean autoCommit = conn.getAutoCommit();
         try {
             conn.setAutoCommit(false);
-            if (usernameExists(user.getUsername())) {
+            if (usernameExists(conn, user.getUsername())) {
                 conn.rollback();
                 return false;
             }
 
             String sql = "INSERT INTO users (username, password, role, permissions) VALUES (?, ?, ?, ?)";
-            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            try (PreparedStatement stmt = StatementRegistry.prepare(conn, "user.insert", sql, Statement.RETURN_GENERATED_KEYS)) {
                 stmt.setString(1, user.getUsername());
                 stmt.setString(2, password);
                 stmt.setString(3, user.getRole());
@@ -71,7 +86,7 @@ public class UserDAO {
                             user.setId(generatedKeys.getInt(1));
                         }
                     }
-                    auditLogDAO.logAction(user.getId(), "User Added", 
+                    auditLogDAO.logAction(conn, user.getId(), "User Added", 
                         String.format("Username: %s, Role: %s", user.getUsername(), user.getRole()));
                     conn.commit();
                     return true;
@@ -94,10 +109,47 @@ public class UserDAO {
         return addUser(user, password);
     }
 
+    // Changes a user's role and permissions
+    public boolean updateUser(User user) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            try {
+                conn.setAutoCommit(false);
+                String sql = "UPDATE users SET role = ?, permissions = ? WHERE id = ?";
+                try (PreparedStatement stmt = StatementRegistry.prepare(conn, "user.update", sql)) {
+                    stmt.setString(1, user.getRole());
+                    stmt.setString(2, user.getPermissions());
+                    stmt.setInt(3, user.getId());
+                    if (stmt.executeUpdate() == 0) {
+                        conn.rollback();
+                        return false;
+                    }
+                }
+                auditLogDAO.logAction(conn, user.getId(), "User Updated",
+                    String.format("Username: %s, Role: %s, Permissions: %s", user.getUsername(), user.getRole(), user.getPermissions()));
+                conn.commit();
+                PermissionCache.getInstance().invalidate(user.getId());
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                System.err.println("[ERROR] Failed to update user: " + user.getUsername() + " - " + e.getMessage());
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
     public boolean deleteUser(int userId) throws SQLException {
+        try (Connection conn = DBConnection.getConnection()) {
+            return deleteUser(conn, userId);
+        }
+    }
+
+    private boolean deleteUser(Connection conn, int userId) throws SQLException {
         String sql = "SELECT username FROM users WHERE id = ?";
         String username = null;
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = StatementRegistry.prepare(conn, "user.username", sql)) {
             stmt.setInt(1, userId);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -110,14 +162,16 @@ public class UserDAO {
         try {
             conn.setAutoCommit(false);
             String details = String.format("User ID: %d, Username: %s", userId, username != null ? username : "Unknown");
-            auditLogDAO.logAction(userId, "User Deleted", details); // Log before deletion
+            auditLogDAO.logAction(conn, userId, "User Deleted", details); // Log before deletion
 
             sql = "DELETE FROM users WHERE id = ?";
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            try (PreparedStatement stmt = StatementRegistry.prepare(conn, "user.delete", sql)) {
                 stmt.setInt(1, userId);
                 int affectedRows = stmt.executeUpdate();
                 if (affectedRows > 0) {
                     conn.commit();
+                    AuditLogSearchIndex.getInstance().invalidate(); // ON DELETE SET NULL detached this user's entries
+                    PermissionCache.getInstance().invalidate(userId);
                     return true;
                 } else {
                     conn.rollback();
@@ -133,10 +187,81 @@ public class UserDAO {
         }
     }
 
+    // Deletes the given users in one transaction with one audit entry; ids that no longer exist are
+    // skipped. Returns the number of users deleted.
+    public int deleteUsers(int[] userIds) throws SQLException {
+        Set<Integer> ids = new TreeSet<>();
+        for (int userId : userIds) {
+            ids.add(userId);
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        Map<Integer, String> usernames = new TreeMap<>();
+        try (Connection conn = DBConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            try {
+                conn.setAutoCommit(false);
+                StringBuilder placeholders = new StringBuilder();
+                for (int i = 0; i < ids.size(); i++) {
+                    placeholders.append(i == 0 ? "?" : ", ?");
+                }
+                String sql = "SELECT id, username FROM users WHERE id IN (" + placeholders + ") ORDER BY id FOR UPDATE";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    int index = 1;
+                    for (Integer id : ids) {
+                        stmt.setInt(index++, id);
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            usernames.put(rs.getInt("id"), rs.getString("username"));
+                        }
+                    }
+                }
+                if (usernames.isEmpty()) {
+                    conn.rollback();
+                    return 0;
+                }
+
+                StringBuilder details = new StringBuilder();
+                for (Map.Entry<Integer, String> entry : usernames.entrySet()) {
+                    details.append(details.length() == 0 ? "" : ", ")
+                           .append(String.format("ID %d (%s)", entry.getKey(), entry.getValue()));
+                }
+                auditLogDAO.logAction(conn, 0, "Users Deleted",
+                    String.format("Deleted %d users: %s", usernames.size(), details));
+
+                sql = "DELETE FROM users WHERE id = ?";
+                try (PreparedStatement stmt = StatementRegistry.prepare(conn, "user.delete", sql)) {
+                    for (Integer id : usernames.keySet()) {
+                        stmt.setInt(1, id);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                System.err.println("[ERROR] Failed to delete users " + ids + " - " + e.getMessage());
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+
+        AuditLogSearchIndex.getInstance().invalidate(); // ON DELETE SET NULL detached these users' entries
+        for (Integer id : usernames.keySet()) {
+            PermissionCache.getInstance().invalidate(id);
+        }
+        return usernames.size();
+    }
+
     public List<User> getAllUsers() throws SQLException {
         List<User> users = new ArrayList<>();
         String sql = "SELECT * FROM users";
-        try (Statement stmt = conn.createStatement();
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
                 User user = new User(rs.getInt("id"), rs.getString("username"), rs.getString("role"));
@@ -147,12 +272,62 @@ public class UserDAO {
         return users;
     }
 
+    // Display IDs are 1-based positions in id order
+    public User getUserByDisplayId(int displayId) throws SQLException {
+        if (displayId < 1) {
+            return null;
+        }
+        String sql = "SELECT id, username, role, permissions FROM users ORDER BY id LIMIT 1 OFFSET ?";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = StatementRegistry.prepare(conn, "user.byDisplayId", sql)) {
+            stmt.setInt(1, displayId - 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                User user = new User(rs.getInt("id"), rs.getString("username"), rs.getString("role"));
+                user.setPermissions(rs.getString("permissions"));
+                user.setDisplayId(displayId);
+                return user;
+            }
+        }
+    }
+
+    // Keyset paging: rows with id greater than lastId, in id order
+    public Page<User> getUsersPage(int lastId, int limit) throws SQLException {
+        List<User> users = new ArrayList<>();
+        String sql = "SELECT id, username, role, permissions FROM users WHERE id > ? ORDER BY id LIMIT ?";
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = StatementRegistry.prepare(conn, "user.page", sql)) {
+            stmt.setInt(1, lastId);
+            stmt.setInt(2, limit + 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    User user = new User(rs.getInt("id"), rs.getString("username"), rs.getString("role"));
+                    user.setPermissions(rs.getString("permissions"));
+                    users.add(user);
+                }
+            }
+        }
+        boolean hasMore = users.size() > limit;
+        if (hasMore) {
+            users.remove(limit);
+        }
+        int cursor = users.isEmpty() ? lastId : users.get(users.size() - 1).getId();
+        return new Page<>(users, cursor, hasMore);
+    }
+
+    public long estimateUserCount() throws SQLException {
+        return DBConnection.estimateRowCount("users");
+    }
+
     public List<User> searchUsers(String query) throws SQLException {
         List<User> users = new ArrayList<>();
         String trimmedQuery = query.trim();
         System.out.println("[DEBUG] searchUsers: Raw query = '" + query + "', Trimmed query = '" + trimmedQuery + "'");
         String sql = "SELECT id, username, role, permissions FROM users WHERE username LIKE ? OR role LIKE ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DBConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, "%" + trimmedQuery + "%");
             stmt.setString(2, "%" + trimmedQuery + "%");
             try (ResultSet rs = stmt.executeQuery()) {
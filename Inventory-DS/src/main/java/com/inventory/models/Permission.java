@@ -0,0 +1,89 @@
+package main.java.com.inventory.models;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Permission keys as stored in users.permissions ("add:1,edit:0,...")
+public enum Permission {
+    ADD("add"),
+    EDIT("edit"),
+    DELETE("delete"),
+    ADD_USER("addUser"),
+    DELETE_USER("deleteUser"),
+    ADD_OWNER("addOwner"),
+    VIEW_USERS("viewUsers"),
+    VIEW_AUDIT("viewAudit"),
+    LOW_STOCK("lowStock"),
+    VIEW("view"),
+    IMPORT("import"),
+    EXPORT("export");
+
+    private static final Map<String, Permission> BY_KEY = new HashMap<>();
+    private static final Map<String, Set<Permission>> ROLE_DEFAULTS = new HashMap<>();
+    private static final String[] ROLES = {"owner", "manager", "admin", "staff", ""};
+
+    static {
+        for (Permission permission : values()) {
+            BY_KEY.put(permission.key, permission);
+        }
+        for (String role : ROLES) {
+            ROLE_DEFAULTS.put(role, parse(defaultPermissions(role)));
+        }
+    }
+
+    private final String key;
+
+    Permission(String key) {
+        this.key = key;
+    }
+
+    public String getKey() { return key; }
+
+    public static Permission fromKey(String key) {
+        return BY_KEY.get(key);
+    }
+
+    public static String defaultPermissions(String role) {
+        switch (role == null ? "" : role.toLowerCase()) {
+            case "owner":
+                return "add:1,edit:1,delete:1,addUser:1,deleteUser:1,lowStock:1,view:1";
+            case "manager":
+                return "add:1,edit:1,delete:1,lowStock:1,view:1"; // Product and audit log access
+            case "admin":
+                return "addUser:1,deleteUser:1,viewUsers:1,viewAudit:1,addOwner:0,view:1,lowStock:1"; // Added view and lowStock
+            case "staff":
+                return "add:1,delete:1,edit:1,view:1,lowStock:1,import:1,export:1"; // Full Product dashboard access
+            default:
+                return "add:0,edit:0,delete:0,addUser:0,deleteUser:0,lowStock:0,view:0";
+        }
+    }
+
+    // Precomputed; unknown roles get the empty default set
+    public static Set<Permission> defaultsFor(String role) {
+        Set<Permission> defaults = ROLE_DEFAULTS.get(role == null ? "" : role.toLowerCase());
+        return defaults != null ? defaults : ROLE_DEFAULTS.get("");
+    }
+
+    // Granted ("1") keys only; unknown keys are ignored. The result is immutable.
+    public static Set<Permission> parse(String permissions) {
+        EnumSet<Permission> granted = EnumSet.noneOf(Permission.class);
+        if (permissions != null && !permissions.isEmpty()) {
+            Set<Permission> seen = EnumSet.noneOf(Permission.class);
+            for (String perm : permissions.split(",")) {
+                String[] keyValue = perm.split(":");
+                if (keyValue.length != 2) {
+                    continue;
+                }
+                Permission permission = BY_KEY.get(keyValue[0].trim());
+                // The first entry for a key wins, as with the old string lookup
+                if (permission != null && seen.add(permission) && keyValue[1].trim().equals("1")) {
+                    granted.add(permission);
+                }
+            }
+        }
+        return Collections.unmodifiableSet(granted);
+    }
+}
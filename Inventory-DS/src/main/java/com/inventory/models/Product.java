@@ -8,6 +8,7 @@ public class Product {
     private Integer stock;
     private double price;
     private String description;
+    private int version; // Bumped by every write; an update only succeeds against the version it was read at
 
     public Product(int id, String name, String categoryName, int stock, 
                  double price, String description) {
@@ -34,4 +35,6 @@ public class Product {
     public void setPrice(double price) { this.price = price; }
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
+    public int getVersion() { return version; }
+    public void setVersion(int version) { this.version = version; }
 }
\ No newline at end of file
@@ -1,11 +1,14 @@
 package main.java.com.inventory.models;
 
+import java.util.Set;
+
 public class User {
     private int id;
     private int displayId;
     private String username;
     private String permissions;
     private String role;
+    private Set<Permission> grantedPermissions; // Compiled from permissions; null until first needed
 
     public User(int id, String username, String role) {
         this.id = id;
@@ -17,18 +20,14 @@ public class User {
     }
 
     public String getDefaultPermissions(String role) {
-        switch (role.toLowerCase()) {
-            case "owner":
-                return "add:1,edit:1,delete:1,addUser:1,deleteUser:1,lowStock:1,view:1";
-            case "manager":
-                return "add:1,edit:1,delete:1,lowStock:1,view:1"; // Product and audit log access
-            case "admin":
-                return "addUser:1,deleteUser:1,viewUsers:1,viewAudit:1,addOwner:0,view:1,lowStock:1"; // Added view and lowStock
-            case "staff":
-                return "add:1,delete:1,edit:1,view:1,lowStock:1,import:1,export:1"; // Full Product dashboard access
-            default:
-                return "add:0,edit:0,delete:0,addUser:0,deleteUser:0,lowStock:0,view:0";
+        return Permission.defaultPermissions(role);
+    }
+
+    public boolean hasPermission(Permission permission) {
+        if (grantedPermissions == null) {
+            grantedPermissions = Permission.parse(permissions);
         }
+        return grantedPermissions.contains(permission);
     }
 
     public int getId() { return id; }
@@ -38,7 +37,12 @@ public class User {
     public String getRole() { return role; }
     public void setRole(String role) { this.role = role; }
     public String getPermissions() { return permissions; }
-    public void setPermissions(String permissions) { this.permissions = permissions; }
+    public void setPermissions(String permissions) {
+        this.permissions = permissions;
+        this.grantedPermissions = null;
+    }
+    public Set<Permission> getGrantedPermissions() { return grantedPermissions; }
+    public void setGrantedPermissions(Set<Permission> grantedPermissions) { this.grantedPermissions = grantedPermissions; }
     public int getDisplayId() { return displayId; }
     public void setDisplayId(int displayId) { this.displayId = displayId; }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package main.java.com.inventory.remote;
+
+import main.java.com.inventory.dao.AuditLogDAO;
+import main.java.com.inventory.dao.ChangeFeedDAO;
+import main.java.com.inventory.dao.DBConnection;
+import main.java.com.inventory.dao.ProductDAO;
+import main.java.com.inventory.dao.StockThresholdDAO;
+import main.java.com.inventory.dao.UserDAO;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+
+// Where the client's DAOs come from: straight JDBC by default, or an InventoryServer once useServer has been
+// called (App does that for --connect). Pick the mode before the first DAO is created.
+public final class DataAccess {
+    private static volatile RemoteClient client;
+
+    private DataAccess() {}
+
+    public static synchronized void useServer(String baseUrl, String token) {
+        client = new RemoteClient(baseUrl, token);
+    }
+
+    public static boolean isRemote() {
+        return client != null;
+    }
+
+    public static ProductDAO products(int userId) {
+        RemoteClient remote = client;
+        return remote != null ? new RemoteProductDAO(remote, userId) : new ProductDAO(userId);
+    }
+
+    public static UserDAO users() {
+        RemoteClient remote = client;
+        return remote != null ? new RemoteUserDAO(remote) : new UserDAO();
+    }
+
+    public static AuditLogDAO auditLogs() {
+        RemoteClient remote = client;
+        return remote != null ? new RemoteAuditLogDAO(remote) : new AuditLogDAO();
+    }
+
+    public static StockThresholdDAO thresholds() {
+        RemoteClient remote = client;
+        return remote != null ? new RemoteStockThresholdDAO(remote) : new StockThresholdDAO();
+    }
+
+    public static ChangeFeedDAO changeFeed() {
+        RemoteClient remote = client;
+        return remote != null ? new RemoteChangeFeedDAO(remote) : new ChangeFeedDAO();
+    }
+
+    // Opens the pool, or checks the server is up, in the background
+    public static CompletableFuture<?> warmUpAsync() {
+        RemoteClient remote = client;
+        if (remote == null) {
+            return DBConnection.warmUpAsync();
+        }
+        return CompletableFuture.runAsync(() -> {
+            try {
+                remote.ping();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        });
+    }
+
+    // Fails fast if the database, or the server, cannot be reached
+    public static void checkAvailable() throws SQLException {
+        RemoteClient remote = client;
+        if (remote == null) {
+            DBConnection.getPool();
+        } else {
+            remote.ping();
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package main.java.com.inventory.remote;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import main.java.com.inventory.dao.AuditLogDAO;
+import main.java.com.inventory.dao.ChangeFeedDAO;
+import main.java.com.inventory.dao.ProductDAO;
+import main.java.com.inventory.dao.StaleProductException;
+import main.java.com.inventory.dao.StockThresholdDAO;
+import main.java.com.inventory.dao.UserDAO;
+import main.java.com.inventory.models.Product;
+import main.java.com.inventory.models.User;
+import main.java.com.inventory.services.InventoryStatistics;
+import main.java.com.inventory.services.LowStockMonitor;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Headless mode: serves the DAO layer to remote terminals over HTTP/JSON, so every till shares this process's
+// connection pool, catalog cache and search indexes instead of holding its own MySQL session.
+// Each request runs on its own virtual thread; blocking JDBC calls are bounded by the pool, not by threads.
+// The acting user comes from the X-Inventory-User header and is trusted as sent, so outside of loopback the server
+// only starts with a shared token (-Dinventory.server.token) that every terminal must present.
+public class InventoryServer {
+    public static final int DEFAULT_PORT = 8085;
+    static final String USER_HEADER = "X-Inventory-User";
+    static final String TOKEN_HEADER = "X-Inventory-Token";
+    private static final int MAX_BODY_BYTES = 4 << 20;
+
+    public interface Operation {
+        Object handle(Request request) throws SQLException;
+    }
+
+    private final Map<String, Operation> operations = new HashMap<>();
+    private final InetSocketAddress address;
+    private final byte[] token;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public InventoryServer(InetSocketAddress address, String token) {
+        this.address = address;
+        this.token = token == null || token.isEmpty() ? null : token.getBytes(StandardCharsets.UTF_8);
+        registerProductOperations();
+        registerUserOperations();
+        registerAuditOperations();
+        registerThresholdOperations();
+        registerChangeFeedOperations();
+    }
+
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            return;
+        }
+        if (token == null && !isLoopback(address)) {
+            throw new IOException("Refusing to listen on " + address + " without -Dinventory.server.token; " +
+                "set a token or bind to localhost");
+        }
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+        server.start();
+        System.out.println("Inventory server listening on " + server.getAddress() +
+            (token == null ? " (loopback only, no token required)" : ""));
+    }
+
+    // Wildcard and unresolved addresses count as reachable from other hosts
+    public static boolean isLoopback(InetSocketAddress address) {
+        return address.getAddress() != null && address.getAddress().isLoopbackAddress();
+    }
+
+    // Lets requests in progress finish for up to delaySeconds
+    public synchronized void stop(int delaySeconds) {
+        if (server == null) {
+            return;
+        }
+        server.stop(delaySeconds);
+        executor.shutdown();
+        server = null;
+        System.out.println("Inventory server stopped - " + requests.get() + " requests, " + failures.get() + " failed");
+    }
+
+    public void register(String name, Operation operation) {
+        operations.put(name, operation);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try (exchange) {
+            String name = exchange.getRequestURI().getPath().substring("/api/".length());
+            if (name.equals("health")) {
+                respond(exchange, 200, Wire.args("result", "ok"));
+                return;
+            }
+            if (!authorized(exchange)) {
+                failures.incrementAndGet();
+                respond(exchange, 401, Wire.args("error", "Missing or wrong " + TOKEN_HEADER));
+                return;
+            }
+            Operation operation = operations.get(name);
+            if (operation == null) {
+                failures.incrementAndGet();
+                respond(exchange, 404, Wire.args("error", "Unknown operation: " + name));
+                return;
+            }
+            if (!exchange.getRequestMethod().equals("POST")) {
+                failures.incrementAndGet();
+                respond(exchange, 405, Wire.args("error", "Use POST for " + name));
+                return;
+            }
+            try {
+                Request request = new Request(parseUserId(exchange), readArgs(exchange));
+                respond(exchange, 200, Wire.args("result", operation.handle(request)));
+            } catch (SQLException e) {
+                failures.incrementAndGet();
+                respond(exchange, 500, Wire.args("error", e.getMessage()));
+            } catch (IllegalArgumentException | ClassCastException | NullPointerException e) {
+                failures.incrementAndGet();
+                respond(exchange, 400, Wire.args("error", "Bad request for " + name + ": " + e.getMessage()));
+            }
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            System.err.println("[ERROR] InventoryServer: Request failed - " + e.getMessage());
+        }
+    }
+
+    private boolean authorized(HttpExchange exchange) {
+        if (token == null) {
+            return true;
+        }
+        String presented = exchange.getRequestHeaders().getFirst(TOKEN_HEADER);
+        return presented != null && MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int parseUserId(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst(USER_HEADER);
+        return header == null ? 0 : Integer.parseInt(header.trim());
+    }
+
+    private static Map<?, ?> readArgs(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                body.write(buffer, 0, read);
+                if (body.size() > MAX_BODY_BYTES) {
+                    throw new IllegalArgumentException("request body over " + MAX_BODY_BYTES + " bytes");
+                }
+            }
+        }
+        if (body.size() == 0) {
+            return Map.of();
+        }
+        Object args = Json.parse(body.toString(StandardCharsets.UTF_8));
+        if (!(args instanceof Map)) {
+            throw new IllegalArgumentException("arguments must be a JSON object");
+        }
+        return (Map<?, ?>) args;
+    }
+
+    private static void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = Json.write(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void registerProductOperations() {
+        register("products/get", r -> productOrNull(r.products().getProduct(r.intArg("id"))));
+        register("products/all", r -> Wire.list(r.products().getAllProducts(), Wire::product));
+        register("products/page", r -> Wire.page(r.products().getProductsPage(r.intArg("lastId"), r.intArg("limit")),
+            Wire::product));
+        register("products/byDisplayId", r -> productOrNull(r.products().getProductByDisplayId(r.intArg("displayId"))));
+        register("products/byDisplayIdOffset",
+            r -> productOrNull(r.products().getProductByDisplayIdWithOffset(r.intArg("displayId"))));
+        register("products/count", r -> r.products().estimateProductCount());
+        register("products/lowStock", r -> Wire.list(r.products().getLowStockProducts(r.intArg("threshold")), Wire::product));
+        register("products/search", r -> Wire.list(r.products().searchProducts(r.stringArg("query")), Wire::product));
+        register("products/searchLike",
+            r -> Wire.list(r.products().searchProductsWithLike(r.stringArg("query")), Wire::product));
+        register("products/categoryTotals", this::categoryTotals);
+        register("products/add", r -> {
+            Product product = Wire.toProduct(r.arg("product"));
+            return r.products().addProduct(product) ? Wire.product(product) : null;
+        });
+        register("products/update", r -> {
+            try {
+                return Wire.args("updated", r.products().updateProduct(Wire.toProduct(r.arg("product"))));
+            } catch (StaleProductException e) {
+                return Wire.args("updated", false, "conflict", Wire.product(e.getCurrent()));
+            }
+        });
+        register("products/updateMany",
+            r -> r.products().updateProducts(Wire.toList(r.arg("products"), Wire::toProduct)));
+        register("products/delete", r -> r.products().deleteProduct(r.intArg("id")));
+        register("products/deleteMany", r -> r.products().deleteProducts(Wire.toIntArray(r.arg("ids"))));
+        register("products/adjustStock", r -> {
+            List<ProductDAO.StockAdjustment> adjustments = new ArrayList<>();
+            for (Object item : (List<?>) r.arg("adjustments")) {
+                Map<?, ?> map = (Map<?, ?>) item;
+                adjustments.add(new ProductDAO.StockAdjustment(Wire.intOf(map, "productId"), Wire.intOf(map, "delta")));
+            }
+            ProductDAO products = r.products();
+            List<Map<String, Object>> adjusted = new ArrayList<>();
+            for (Integer productId : products.adjustStock(adjustments).keySet()) {
+                Product product = products.getProduct(productId); // From the catalog cache
+                if (product != null) {
+                    adjusted.add(Wire.product(product));
+                }
+            }
+            return adjusted;
+        });
+    }
+
+    // The statistics service already holds these figures in memory, so terminals polling them cost no query
+    private Object categoryTotals(Request request) throws SQLException {
+        int defaultThreshold = request.intArg("defaultThreshold");
+        InventoryStatistics.Snapshot snapshot = InventoryStatistics.getInstance().getSnapshot();
+        if (snapshot.getUpdatedAt() == 0 || defaultThreshold != LowStockMonitor.DEFAULT_THRESHOLD) {
+            return Wire.list(request.products().getCategoryTotals(defaultThreshold), Wire::categoryTotals);
+        }
+        List<Map<String, Object>> totals = new ArrayList<>();
+        for (InventoryStatistics.CategoryStats stats : snapshot.getCategories()) {
+            totals.add(Wire.categoryTotals(new ProductDAO.CategoryTotals(stats.getCategory(), stats.getProducts(),
+                stats.getUnits(), stats.getValue(), stats.getLowStock())));
+        }
+        return totals;
+    }
+
+    private void registerUserOperations() {
+        register("users/validate", r -> userOrNull(new UserDAO().validateUser(
+            r.stringArg("username"), r.stringArg("password"), r.stringArg("role"))));
+        register("users/usernameExists", r -> new UserDAO().usernameExists(r.stringArg("username")));
+        register("users/add", r -> {
+            User user = Wire.toUser(r.arg("user"));
+            boolean added = new UserDAO().addUser(user, r.stringArg("password"));
+            return Wire.args("added", added, "id", user.getId());
+        });
+        register("users/update", r -> new UserDAO().updateUser(Wire.toUser(r.arg("user"))));
+        register("users/delete", r -> new UserDAO().deleteUser(r.intArg("id")));
+        register("users/deleteMany", r -> new UserDAO().deleteUsers(Wire.toIntArray(r.arg("ids"))));
+        register("users/all", r -> Wire.list(new UserDAO().getAllUsers(), Wire::user));
+        register("users/byDisplayId", r -> userOrNull(new UserDAO().getUserByDisplayId(r.intArg("displayId"))));
+        register("users/page", r -> Wire.page(new UserDAO().getUsersPage(r.intArg("lastId"), r.intArg("limit")), Wire::user));
+        register("users/count", r -> new UserDAO().estimateUserCount());
+        register("users/search", r -> Wire.list(new UserDAO().searchUsers(r.stringArg("query")), Wire::user));
+    }
+
+    private void registerAuditOperations() {
+        register("audit/log", r -> {
+            new AuditLogDAO().logAction(r.intArg("userId"), r.stringArg("action"), r.stringArg("details"));
+            return true;
+        });
+        register("audit/all", r -> Wire.list(new AuditLogDAO().getAllAuditLogs(), Wire::auditLog));
+        register("audit/page", r -> Wire.page(new AuditLogDAO().getAuditLogsPage(r.intArg("lastId"), r.intArg("limit")),
+            Wire::auditLog));
+        register("audit/between", r -> Wire.list(new AuditLogDAO().getAuditLogsBetween(
+            LocalDateTime.parse(r.stringArg("from")), LocalDateTime.parse(r.stringArg("to")), r.intArg("limit")),
+            Wire::auditLog));
+        register("audit/count", r -> new AuditLogDAO().estimateAuditLogCount());
+        register("audit/search", r -> Wire.list(new AuditLogDAO().searchAuditLogs(r.stringArg("query")), Wire::auditLog));
+        register("audit/searchLike",
+            r -> Wire.list(new AuditLogDAO().searchAuditLogsWithLike(r.stringArg("query")), Wire::auditLog));
+    }
+
+    private void registerThresholdOperations() {
+        register("thresholds/all", r -> {
+            Map<String, Object> thresholds = new LinkedHashMap<>();
+            for (Map.Entry<Integer, Integer> entry : new StockThresholdDAO().getAllThresholds().entrySet()) {
+                thresholds.put(entry.getKey().toString(), entry.getValue());
+            }
+            return thresholds;
+        });
+        // Through the monitor so this process's low-stock state and statistics follow the change
+        register("thresholds/set", r -> {
+            Product product = r.products().getProduct(r.intArg("productId"));
+            if (product == null) {
+                throw new SQLException("Product not found: ID " + r.intArg("productId"));
+            }
+            LowStockMonitor.getInstance().setThreshold(product, r.intArg("threshold"));
+            return true;
+        });
+    }
+
+    // Terminals poll this with the watermarks from their previous answer; since = 0 asks for a starting point
+    private void registerChangeFeedOperations() {
+        register("changes/since", r -> Wire.changeSet(new ChangeFeedDAO().getChangesSince(
+            r.longArg("since"), r.intArg("afterAuditId"))));
+    }
+
+    private static Map<String, Object> productOrNull(Product product) {
+        return product == null ? null : Wire.product(product);
+    }
+
+    private static Map<String, Object> userOrNull(User user) {
+        return user == null ? null : Wire.user(user);
+    }
+
+    public static class Request {
+        private final int userId;
+        private final Map<?, ?> args;
+
+        Request(int userId, Map<?, ?> args) {
+            this.userId = userId;
+            this.args = args;
+        }
+
+        public int getUserId() { return userId; }
+
+        public Object arg(String name) {
+            Object value = args.get(name);
+            if (value == null) {
+                throw new IllegalArgumentException("missing '" + name + "'");
+            }
+            return value;
+        }
+
+        public int intArg(String name) {
+            arg(name);
+            return Wire.intOf(args, name);
+        }
+
+        public long longArg(String name) {
+            arg(name);
+            return Wire.longOf(args, name);
+        }
+
+        public String stringArg(String name) {
+            return arg(name).toString();
+        }
+
+        // Audit entries and inventory movements are recorded against the terminal's user
+        public ProductDAO products() {
+            return new ProductDAO(userId);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package main.java.com.inventory.remote;
+
+import main.java.com.inventory.dao.AuditLogDAO;
+import main.java.com.inventory.dao.Page;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// AuditLogDAO served by an InventoryServer. Entries are posted without waiting, like the local async writer;
+// flush waits for the ones still in flight.
+public class RemoteAuditLogDAO extends AuditLogDAO {
+    private final RemoteClient client;
+
+    public RemoteAuditLogDAO(RemoteClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public void logAction(int userId, String action, String details) {
+        client.callAsync("audit/log", userId, Wire.args("userId", userId, "action", action, "details", details));
+    }
+
+    @Override
+    public boolean flush(long timeoutMillis) {
+        return client.awaitPending(timeoutMillis);
+    }
+
+    @Override
+    public List<AuditLog> getAllAuditLogs() throws SQLException {
+        return Wire.toList(client.call("audit/all", 0, Wire.args()), Wire::toAuditLog);
+    }
+
+    @Override
+    public Page<AuditLog> getAuditLogsPage(int lastId, int limit) throws SQLException {
+        return Wire.toPage(client.call("audit/page", 0, Wire.args("lastId", lastId, "limit", limit)), Wire::toAuditLog);
+    }
+
+    @Override
+    public List<AuditLog> getAuditLogsBetween(LocalDateTime from, LocalDateTime to, int limit) throws SQLException {
+        return Wire.toList(client.call("audit/between", 0,
+            Wire.args("from", from.toString(), "to", to.toString(), "limit", limit)), Wire::toAuditLog);
+    }
+
+    @Override
+    public long estimateAuditLogCount() throws SQLException {
+        return ((Number) client.call("audit/count", 0, Wire.args())).longValue();
+    }
+
+    // Retention runs on the server
+    @Override
+    public int archiveOlderThan(LocalDateTime cutoff, int chunkSize) throws SQLException {
+        throw new SQLException("Audit archiving is not available on a remote terminal");
+    }
+
+    @Override
+    public List<AuditLog> searchAuditLogs(String query) throws SQLException {
+        return Wire.toList(client.call("audit/search", 0, Wire.args("query", query)), Wire::toAuditLog);
+    }
+
+    @Override
+    public List<AuditLog> searchAuditLogsWithLike(String query) throws SQLException {
+        return Wire.toList(client.call("audit/searchLike", 0, Wire.args("query", query)), Wire::toAuditLog);
+    }
+}
@@ -0,0 +1,24 @@
+package main.java.com.inventory.remote;
+
+import main.java.com.inventory.dao.ChangeFeedDAO;
+import java.sql.SQLException;
+
+// ChangeFeedDAO served by an InventoryServer; the watermarks are the server database's, as with a local feed
+public class RemoteChangeFeedDAO extends ChangeFeedDAO {
+    private final RemoteClient client;
+
+    public RemoteChangeFeedDAO(RemoteClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public ChangeSet getChangesSince(long since, int afterAuditId) throws SQLException {
+        return Wire.toChangeSet(client.call("changes/since", 0, Wire.args("since", since, "afterAuditId", afterAuditId)));
+    }
+
+    // The server purges its own tombstones
+    @Override
+    public int purgeTombstones() throws SQLException {
+        throw new SQLException("Tombstone purging is not available on a remote terminal");
+    }
+}
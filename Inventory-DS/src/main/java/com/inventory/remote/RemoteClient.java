@@ -0,0 +1,133 @@
+package main.java.com.inventory.remote;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Calls InventoryServer operations: POST /api/<operation> with the arguments as a JSON object, answered
+// with {"result": ...} or {"error": "..."}. Failures of any kind surface as SQLException, like the local DAOs.
+public class RemoteClient {
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(3);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final String token;
+    private final HttpClient http;
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+
+    public RemoteClient(String baseUrl, String token) {
+        this.baseUri = URI.create(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/");
+        this.token = token;
+        // The JDK server speaks HTTP/1.1 only; one client keeps its connections alive across calls
+        this.http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(CONNECT_TIMEOUT)
+            .build();
+    }
+
+    public String getBaseUrl() {
+        return baseUri.toString();
+    }
+
+    public Object call(String operation, int userId, Map<String, Object> args) throws SQLException {
+        HttpResponse<String> response;
+        try {
+            response = http.send(request(operation, userId, args), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new SQLException("Inventory server unreachable at " + baseUri + " - " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted calling " + operation, e);
+        }
+        return resultOf(operation, response);
+    }
+
+    // Fire-and-forget for writes nobody waits on, such as audit entries; awaitPending drains them
+    public void callAsync(String operation, int userId, Map<String, Object> args) {
+        CompletableFuture<?> future = http.sendAsync(request(operation, userId, args),
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+            .handle((response, error) -> {
+                try {
+                    if (error != null) {
+                        throw new SQLException("Inventory server unreachable at " + baseUri + " - " + error.getMessage());
+                    }
+                    resultOf(operation, response);
+                } catch (SQLException e) {
+                    System.err.println("[ERROR] RemoteClient: " + operation + " failed - " + e.getMessage());
+                }
+                return null;
+            });
+        pending.add(future);
+        future.whenComplete((_, _) -> pending.remove(future));
+    }
+
+    public boolean awaitPending(long timeoutMillis) {
+        CompletableFuture<?>[] inFlight = pending.toArray(new CompletableFuture<?>[0]);
+        try {
+            CompletableFuture.allOf(inFlight).get(timeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    public void ping() throws SQLException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("api/health"))
+            .timeout(CONNECT_TIMEOUT)
+            .GET()
+            .build();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            if (response.statusCode() != 200) {
+                throw new SQLException("Inventory server at " + baseUri + " answered " + response.statusCode());
+            }
+        } catch (IOException e) {
+            throw new SQLException("Inventory server unreachable at " + baseUri + " - " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted contacting " + baseUri, e);
+        }
+    }
+
+    private HttpRequest request(String operation, int userId, Map<String, Object> args) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve("api/" + operation))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Content-Type", "application/json; charset=utf-8")
+            .header(InventoryServer.USER_HEADER, Integer.toString(userId))
+            .POST(HttpRequest.BodyPublishers.ofString(Json.write(args), StandardCharsets.UTF_8));
+        if (token != null) {
+            builder.header(InventoryServer.TOKEN_HEADER, token);
+        }
+        return builder.build();
+    }
+
+    private static Object resultOf(String operation, HttpResponse<String> response) throws SQLException {
+        Object body;
+        try {
+            body = Json.parse(response.body());
+        } catch (IllegalArgumentException e) {
+            throw new SQLException(operation + ": malformed response (HTTP " + response.statusCode() + ")");
+        }
+        Map<?, ?> map = body instanceof Map ? (Map<?, ?>) body : Map.of();
+        if (response.statusCode() != 200) {
+            Object error = map.get("error");
+            throw new SQLException(error != null ? error.toString() : operation + " failed with HTTP " + response.statusCode());
+        }
+        return map.get("result");
+    }
+}
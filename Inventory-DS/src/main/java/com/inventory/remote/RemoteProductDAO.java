@@ -0,0 +1,168 @@
+package main.java.com.inventory.remote;
+
+import main.java.com.inventory.dao.Page;
+import main.java.com.inventory.dao.ProductCatalogCache;
+import main.java.com.inventory.dao.ProductDAO;
+import main.java.com.inventory.dao.ProductExporter;
+import main.java.com.inventory.dao.ProductImporter;
+import main.java.com.inventory.dao.StaleProductException;
+import main.java.com.inventory.models.Product;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// ProductDAO served by an InventoryServer. Successful writes are still announced through the local catalog
+// cache, which stays unloaded here, so this terminal's listeners (low stock, statistics) hear about them.
+public class RemoteProductDAO extends ProductDAO {
+    private final RemoteClient client;
+    private final int userId;
+    private final ProductCatalogCache localEvents = ProductCatalogCache.getInstance();
+
+    public RemoteProductDAO(RemoteClient client, int userId) {
+        super(userId);
+        this.client = client;
+        this.userId = userId;
+    }
+
+    @Override
+    public boolean addProduct(Product product) throws SQLException {
+        Product saved = Wire.toProduct(client.call("products/add", userId, Wire.args("product", Wire.product(product))));
+        if (saved == null) {
+            return false;
+        }
+        product.setId(saved.getId());
+        localEvents.onProductSaved(product);
+        return true;
+    }
+
+    @Override
+    public Product getProduct(int id) throws SQLException {
+        return Wire.toProduct(client.call("products/get", userId, Wire.args("id", id)));
+    }
+
+    @Override
+    public List<Product> getAllProducts() throws SQLException {
+        return Wire.toList(client.call("products/all", userId, Wire.args()), Wire::toProduct);
+    }
+
+    @Override
+    public Page<Product> getProductsPage(int lastId, int limit) throws SQLException {
+        return Wire.toPage(client.call("products/page", userId, Wire.args("lastId", lastId, "limit", limit)), Wire::toProduct);
+    }
+
+    @Override
+    public Product getProductByDisplayId(int displayId) throws SQLException {
+        return Wire.toProduct(client.call("products/byDisplayId", userId, Wire.args("displayId", displayId)));
+    }
+
+    @Override
+    public Product getProductByDisplayIdWithOffset(int displayId) throws SQLException {
+        return Wire.toProduct(client.call("products/byDisplayIdOffset", userId, Wire.args("displayId", displayId)));
+    }
+
+    @Override
+    public long estimateProductCount() throws SQLException {
+        return ((Number) client.call("products/count", userId, Wire.args())).longValue();
+    }
+
+    @Override
+    public List<CategoryTotals> getCategoryTotals(int defaultThreshold) throws SQLException {
+        return Wire.toList(client.call("products/categoryTotals", userId, Wire.args("defaultThreshold", defaultThreshold)),
+            Wire::toCategoryTotals);
+    }
+
+    @Override
+    public List<Product> getLowStockProducts(int threshold) throws SQLException {
+        return Wire.toList(client.call("products/lowStock", userId, Wire.args("threshold", threshold)), Wire::toProduct);
+    }
+
+    @Override
+    public List<Product> searchProducts(String query) throws SQLException {
+        return Wire.toList(client.call("products/search", userId, Wire.args("query", query)), Wire::toProduct);
+    }
+
+    @Override
+    public List<Product> searchProductsWithLike(String query) throws SQLException {
+        return Wire.toList(client.call("products/searchLike", userId, Wire.args("query", query)), Wire::toProduct);
+    }
+
+    // The server answers a version conflict with the product as it is now, which is rethrown as here it would
+    // have been locally, so applyEdit merges and retries the same way
+    @Override
+    public boolean updateProduct(Product product) throws SQLException {
+        Map<?, ?> result = (Map<?, ?>) client.call("products/update", userId, Wire.args("product", Wire.product(product)));
+        Object conflict = result.get("conflict");
+        recordSave(conflict != null);
+        if (conflict != null) {
+            throw new StaleProductException(Wire.toProduct(conflict));
+        }
+        if (!Boolean.TRUE.equals(result.get("updated"))) {
+            return false;
+        }
+        product.setVersion(product.getVersion() + 1);
+        localEvents.onProductSaved(product);
+        return true;
+    }
+
+    @Override
+    public Map<Integer, Integer> adjustStock(List<StockAdjustment> adjustments) throws SQLException {
+        List<Map<String, Object>> wire = new ArrayList<>();
+        for (StockAdjustment adjustment : adjustments) {
+            wire.add(Wire.args("productId", adjustment.getProductId(), "delta", adjustment.getDelta()));
+        }
+        // The server answers with the adjusted products, so listeners get the same events as a local adjustment
+        List<Product> adjusted = Wire.toList(client.call("products/adjustStock", userId, Wire.args("adjustments", wire)),
+            Wire::toProduct);
+        Map<Integer, Integer> stockById = new LinkedHashMap<>();
+        for (Product product : adjusted) {
+            stockById.put(product.getId(), product.getStock());
+            localEvents.onProductSaved(product);
+        }
+        return stockById;
+    }
+
+    @Override
+    public boolean deleteProduct(int productId) throws SQLException {
+        boolean deleted = Boolean.TRUE.equals(client.call("products/delete", userId, Wire.args("id", productId)));
+        if (deleted) {
+            localEvents.onProductDeleted(productId);
+        }
+        return deleted;
+    }
+
+    @Override
+    public int deleteProducts(int[] productIds) throws SQLException {
+        int deleted = ((Number) client.call("products/deleteMany", userId,
+            Wire.args("ids", Wire.intList(productIds)))).intValue();
+        for (int productId : productIds) {
+            localEvents.onProductDeleted(productId);
+        }
+        return deleted;
+    }
+
+    @Override
+    public int updateProducts(List<Product> products) throws SQLException {
+        int updated = ((Number) client.call("products/updateMany", userId,
+            Wire.args("products", Wire.list(products, Wire::product)))).intValue();
+        for (Product product : products) {
+            product.setVersion(product.getVersion() + 1);
+            localEvents.onProductSaved(product);
+        }
+        return updated;
+    }
+
+    // The importer and exporter stream between a local file and JDBC, which a remote terminal does not have
+    @Override
+    public ProductImporter.ImportResult importProductsFromCSV(String filePath, ProductImporter.ProgressListener listener)
+            throws SQLException {
+        throw new SQLException("CSV import is not available on a remote terminal; run it on the server");
+    }
+
+    @Override
+    public long exportProductsToCSV(String filePath, List<ProductExporter.Column> columns, boolean gzip)
+            throws SQLException {
+        throw new SQLException("CSV export is not available on a remote terminal; run it on the server");
+    }
+}
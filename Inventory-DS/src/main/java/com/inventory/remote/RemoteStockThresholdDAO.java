@@ -0,0 +1,30 @@
+package main.java.com.inventory.remote;
+
+import main.java.com.inventory.dao.StockThresholdDAO;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+// StockThresholdDAO served by an InventoryServer
+public class RemoteStockThresholdDAO extends StockThresholdDAO {
+    private final RemoteClient client;
+
+    public RemoteStockThresholdDAO(RemoteClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public Map<Integer, Integer> getAllThresholds() throws SQLException {
+        Map<?, ?> result = (Map<?, ?>) client.call("thresholds/all", 0, Wire.args());
+        Map<Integer, Integer> thresholds = new HashMap<>();
+        for (Map.Entry<?, ?> entry : result.entrySet()) {
+            thresholds.put(Integer.parseInt(entry.getKey().toString()), ((Number) entry.getValue()).intValue());
+        }
+        return thresholds;
+    }
+
+    @Override
+    public void setThreshold(int productId, int threshold) throws SQLException {
+        client.call("thresholds/set", 0, Wire.args("productId", productId, "threshold", threshold));
+    }
+}
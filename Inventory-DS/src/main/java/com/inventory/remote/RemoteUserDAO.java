@@ -0,0 +1,92 @@
+package main.java.com.inventory.remote;
+
+import main.java.com.inventory.dao.Page;
+import main.java.com.inventory.dao.PermissionCache;
+import main.java.com.inventory.dao.UserDAO;
+import main.java.com.inventory.models.User;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+// UserDAO served by an InventoryServer. Passwords go to the server as sent, so keep it on a trusted network.
+public class RemoteUserDAO extends UserDAO {
+    private final RemoteClient client;
+
+    public RemoteUserDAO(RemoteClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public User validateUser(String username, String password, String role) throws SQLException {
+        return Wire.toUser(client.call("users/validate", 0,
+            Wire.args("username", username, "password", password, "role", role)));
+    }
+
+    @Override
+    public boolean usernameExists(String username) throws SQLException {
+        return Boolean.TRUE.equals(client.call("users/usernameExists", 0, Wire.args("username", username)));
+    }
+
+    @Override
+    public boolean addUser(User user, String password) throws SQLException {
+        Map<?, ?> result = (Map<?, ?>) client.call("users/add", 0,
+            Wire.args("user", Wire.user(user), "password", password));
+        if (!Boolean.TRUE.equals(result.get("added"))) {
+            return false;
+        }
+        user.setId(Wire.intOf(result, "id"));
+        return true;
+    }
+
+    @Override
+    public boolean updateUser(User user) throws SQLException {
+        boolean updated = Boolean.TRUE.equals(client.call("users/update", 0, Wire.args("user", Wire.user(user))));
+        if (updated) {
+            PermissionCache.getInstance().invalidate(user.getId());
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean deleteUser(int userId) throws SQLException {
+        boolean deleted = Boolean.TRUE.equals(client.call("users/delete", 0, Wire.args("id", userId)));
+        if (deleted) {
+            PermissionCache.getInstance().invalidate(userId);
+        }
+        return deleted;
+    }
+
+    @Override
+    public int deleteUsers(int[] userIds) throws SQLException {
+        int deleted = ((Number) client.call("users/deleteMany", 0, Wire.args("ids", Wire.intList(userIds)))).intValue();
+        for (int userId : userIds) {
+            PermissionCache.getInstance().invalidate(userId);
+        }
+        return deleted;
+    }
+
+    @Override
+    public List<User> getAllUsers() throws SQLException {
+        return Wire.toList(client.call("users/all", 0, Wire.args()), Wire::toUser);
+    }
+
+    @Override
+    public User getUserByDisplayId(int displayId) throws SQLException {
+        return Wire.toUser(client.call("users/byDisplayId", 0, Wire.args("displayId", displayId)));
+    }
+
+    @Override
+    public Page<User> getUsersPage(int lastId, int limit) throws SQLException {
+        return Wire.toPage(client.call("users/page", 0, Wire.args("lastId", lastId, "limit", limit)), Wire::toUser);
+    }
+
+    @Override
+    public long estimateUserCount() throws SQLException {
+        return ((Number) client.call("users/count", 0, Wire.args())).longValue();
+    }
+
+    @Override
+    public List<User> searchUsers(String query) throws SQLException {
+        return Wire.toList(client.call("users/search", 0, Wire.args("query", query)), Wire::toUser);
+    }
+}
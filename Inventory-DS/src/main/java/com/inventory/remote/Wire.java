@@ -0,0 +1,232 @@
+package main.java.com.inventory.remote;
+
+import main.java.com.inventory.dao.AuditLogDAO;
+import main.java.com.inventory.dao.ChangeFeedDAO;
+import main.java.com.inventory.dao.Page;
+import main.java.com.inventory.dao.ProductDAO;
+import main.java.com.inventory.models.Product;
+import main.java.com.inventory.models.User;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Converts the DAO layer's types to and from the JSON maps the server and RemoteClient exchange
+final class Wire {
+    private Wire() {}
+
+    static Map<String, Object> product(Product product) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("id", product.getId());
+        map.put("displayId", product.getDisplayId());
+        map.put("name", product.getName());
+        map.put("categoryName", product.getCategoryName());
+        map.put("stock", product.getStock());
+        map.put("price", product.getPrice());
+        map.put("description", product.getDescription());
+        map.put("version", product.getVersion());
+        return map;
+    }
+
+    static Product toProduct(Object value) {
+        if (value == null) {
+            return null;
+        }
+        Map<?, ?> map = (Map<?, ?>) value;
+        Product product = new Product(intOf(map, "id"), stringOf(map, "name"), stringOf(map, "categoryName"),
+            intOf(map, "stock"), doubleOf(map, "price"), stringOf(map, "description"));
+        product.setDisplayId(intOf(map, "displayId"));
+        product.setVersion(intOf(map, "version"));
+        return product;
+    }
+
+    static Map<String, Object> user(User user) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("id", user.getId());
+        map.put("displayId", user.getDisplayId());
+        map.put("username", user.getUsername());
+        map.put("role", user.getRole());
+        map.put("permissions", user.getPermissions());
+        return map;
+    }
+
+    static User toUser(Object value) {
+        if (value == null) {
+            return null;
+        }
+        Map<?, ?> map = (Map<?, ?>) value;
+        User user = new User(intOf(map, "id"), stringOf(map, "username"), stringOf(map, "role"));
+        user.setDisplayId(intOf(map, "displayId"));
+        if (map.get("permissions") != null) {
+            user.setPermissions(stringOf(map, "permissions"));
+        }
+        return user;
+    }
+
+    static Map<String, Object> auditLog(AuditLogDAO.AuditLog log) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("id", log.getId());
+        map.put("userId", log.getUserId());
+        map.put("username", log.getUsername());
+        map.put("action", log.getAction());
+        map.put("details", log.getDetails());
+        map.put("timestamp", log.getTimestamp().toString());
+        return map;
+    }
+
+    static AuditLogDAO.AuditLog toAuditLog(Object value) {
+        Map<?, ?> map = (Map<?, ?>) value;
+        return new AuditLogDAO.AuditLog(intOf(map, "id"), intOf(map, "userId"), stringOf(map, "username"),
+            stringOf(map, "action"), stringOf(map, "details"), LocalDateTime.parse(stringOf(map, "timestamp")));
+    }
+
+    static Map<String, Object> categoryTotals(ProductDAO.CategoryTotals totals) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("category", totals.getCategory());
+        map.put("products", totals.getProducts());
+        map.put("units", totals.getUnits());
+        map.put("value", totals.getValue());
+        map.put("lowStock", totals.getLowStock());
+        return map;
+    }
+
+    static ProductDAO.CategoryTotals toCategoryTotals(Object value) {
+        Map<?, ?> map = (Map<?, ?>) value;
+        return new ProductDAO.CategoryTotals(stringOf(map, "category"), intOf(map, "products"),
+            longOf(map, "units"), doubleOf(map, "value"), intOf(map, "lowStock"));
+    }
+
+    static Map<String, Object> changeSet(ChangeFeedDAO.ChangeSet changes) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("watermark", changes.getWatermark());
+        map.put("auditWatermark", changes.getAuditWatermark());
+        map.put("overflow", changes.isOverflow());
+        map.put("products", list(changes.getProducts(), v -> versioned(v, product(v.getItem()))));
+        map.put("deletedProducts", list(changes.getDeletedProducts(), v -> versioned(v, null)));
+        map.put("users", list(changes.getUsers(), v -> versioned(v, user(v.getItem()))));
+        map.put("deletedUsers", list(changes.getDeletedUsers(), v -> versioned(v, null)));
+        map.put("auditLogs", list(changes.getAuditLogs(), Wire::auditLog));
+        return map;
+    }
+
+    static ChangeFeedDAO.ChangeSet toChangeSet(Object value) {
+        Map<?, ?> map = (Map<?, ?>) value;
+        ChangeFeedDAO.ChangeSet changes = new ChangeFeedDAO.ChangeSet(longOf(map, "watermark"),
+            intOf(map, "auditWatermark"), Boolean.TRUE.equals(map.get("overflow")));
+        for (Object item : (List<?>) map.get("products")) {
+            Map<?, ?> entry = (Map<?, ?>) item;
+            changes.getProducts().add(new ChangeFeedDAO.Versioned<>(toProduct(entry.get("item")),
+                intOf(entry, "id"), longOf(entry, "version")));
+        }
+        for (Object item : (List<?>) map.get("deletedProducts")) {
+            changes.getDeletedProducts().add(toDeletion((Map<?, ?>) item));
+        }
+        for (Object item : (List<?>) map.get("users")) {
+            Map<?, ?> entry = (Map<?, ?>) item;
+            changes.getUsers().add(new ChangeFeedDAO.Versioned<>(toUser(entry.get("item")),
+                intOf(entry, "id"), longOf(entry, "version")));
+        }
+        for (Object item : (List<?>) map.get("deletedUsers")) {
+            changes.getDeletedUsers().add(toDeletion((Map<?, ?>) item));
+        }
+        changes.getAuditLogs().addAll(toList(map.get("auditLogs"), Wire::toAuditLog));
+        return changes;
+    }
+
+    private static Map<String, Object> versioned(ChangeFeedDAO.Versioned<?> row, Map<String, Object> item) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("id", row.getId());
+        map.put("version", row.getVersion());
+        if (item != null) {
+            map.put("item", item);
+        }
+        return map;
+    }
+
+    private static ChangeFeedDAO.Versioned<Integer> toDeletion(Map<?, ?> entry) {
+        return new ChangeFeedDAO.Versioned<>(intOf(entry, "id"), intOf(entry, "id"), longOf(entry, "version"));
+    }
+
+    static <T> List<Map<String, Object>> list(List<T> items, Function<T, Map<String, Object>> writer) {
+        List<Map<String, Object>> list = new ArrayList<>(items.size());
+        for (T item : items) {
+            list.add(writer.apply(item));
+        }
+        return list;
+    }
+
+    static <T> List<T> toList(Object value, Function<Object, T> reader) {
+        List<?> list = (List<?>) value;
+        List<T> items = new ArrayList<>(list.size());
+        for (Object item : list) {
+            items.add(reader.apply(item));
+        }
+        return items;
+    }
+
+    static <T> Map<String, Object> page(Page<T> page, Function<T, Map<String, Object>> writer) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("items", list(page.getItems(), writer));
+        map.put("lastId", page.getLastId());
+        map.put("hasMore", page.hasMore());
+        return map;
+    }
+
+    static <T> Page<T> toPage(Object value, Function<Object, T> reader) {
+        Map<?, ?> map = (Map<?, ?>) value;
+        return new Page<>(toList(map.get("items"), reader), intOf(map, "lastId"), Boolean.TRUE.equals(map.get("hasMore")));
+    }
+
+    static int[] toIntArray(Object value) {
+        List<?> list = (List<?>) value;
+        int[] ids = new int[list.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = ((Number) list.get(i)).intValue();
+        }
+        return ids;
+    }
+
+    static List<Integer> intList(int[] values) {
+        List<Integer> list = new ArrayList<>(values.length);
+        for (int value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    static int intOf(Map<?, ?> map, String key) {
+        Object value = map.get(key);
+        if (value == null) {
+            return 0;
+        }
+        if (!(value instanceof Number)) {
+            throw new IllegalArgumentException("'" + key + "' must be a number");
+        }
+        return ((Number) value).intValue();
+    }
+
+    static long longOf(Map<?, ?> map, String key) {
+        Object value = map.get(key);
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
+    static double doubleOf(Map<?, ?> map, String key) {
+        Object value = map.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    static String stringOf(Map<?, ?> map, String key) {
+        Object value = map.get(key);
+        return value == null ? null : value.toString();
+    }
+
+    static Map<String, Object> args(Object... keysAndValues) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,95 @@
+package main.java.com.inventory.services;
+
+import main.java.com.inventory.dao.AuditLogDAO;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Keeps audit_logs small by moving entries older than the retention age into audit_logs_archive in the
+// background. The age comes from -Dinventory.audit.retentionDays (default 90); AuditLogDAO's reads span both
+// tables, so archived entries stay visible.
+public class AuditRetentionService {
+    public static final int DEFAULT_RETENTION_DAYS = 90;
+    private static final int CHUNK_ROWS = 1000;
+    private static final long INITIAL_DELAY_MINUTES = 1;
+    private static final long INTERVAL_MINUTES = 6 * 60;
+    private static AuditRetentionService instance;
+
+    private final AuditLogDAO auditLogDAO = new AuditLogDAO();
+    private final int retentionDays;
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> archiveTask;
+
+    private AuditRetentionService(int retentionDays) {
+        this.retentionDays = retentionDays;
+    }
+
+    public static synchronized AuditRetentionService getInstance() {
+        if (instance == null) {
+            int days = Integer.getInteger("inventory.audit.retentionDays", DEFAULT_RETENTION_DAYS);
+            if (days < 1) {
+                System.err.println("[ERROR] AuditRetentionService: Invalid retention of " + days +
+                    " days, using " + DEFAULT_RETENTION_DAYS);
+                days = DEFAULT_RETENTION_DAYS;
+            }
+            instance = new AuditRetentionService(days);
+        }
+        return instance;
+    }
+
+    public int getRetentionDays() {
+        return retentionDays;
+    }
+
+    // Idempotent; the first pass waits a minute so it stays out of the way of startup
+    public synchronized void start() {
+        if (archiveTask != null) {
+            return;
+        }
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "audit-retention");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        archiveTask = scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                archiveExpired();
+            } catch (SQLException e) {
+                System.err.println("[ERROR] AuditRetentionService: Archiving failed - " + e.getMessage());
+            }
+        }, INITIAL_DELAY_MINUTES, INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    public synchronized void stop() {
+        if (archiveTask != null) {
+            archiveTask.cancel(false);
+            archiveTask = null;
+        }
+    }
+
+    // Chunk by chunk, each in its own short transaction, so the audit writer is never blocked for long.
+    // Returns the number of rows moved.
+    public long archiveExpired() throws SQLException {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long start = System.currentTimeMillis();
+        long moved = 0;
+        int chunk;
+        do {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            chunk = auditLogDAO.archiveOlderThan(cutoff, CHUNK_ROWS);
+            moved += chunk;
+        } while (chunk > 0);
+        if (moved > 0) {
+            System.out.printf("Archived %d audit log entries older than %s in %d ms%n",
+                moved, cutoff.toLocalDate(), System.currentTimeMillis() - start);
+        }
+        return moved;
+    }
+}
@@ -0,0 +1,265 @@
+package main.java.com.inventory.services;
+
+import main.java.com.inventory.dao.AuditLogDAO;
+import main.java.com.inventory.dao.ChangeFeedDAO;
+import main.java.com.inventory.dao.PermissionCache;
+import main.java.com.inventory.dao.ProductCatalogCache;
+import main.java.com.inventory.models.Product;
+import main.java.com.inventory.models.User;
+import main.java.com.inventory.remote.DataAccess;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Follows writes made by other clients by polling a cheap delta query every couple of seconds. Changed and
+// deleted products go into the catalog cache (and from there to the low-stock monitor and statistics), and
+// listeners get the same rows to patch their open tables, so nothing reloads a whole table to see one edit.
+public class ChangeFeed {
+    private static final long POLL_INTERVAL_MS = 2_000;
+    private static final long PURGE_INTERVAL_MS = 60 * 60_000;
+    private static ChangeFeed instance;
+
+    // Called on the feed thread
+    public interface ChangeListener {
+        void onChanges(Changes changes);
+    }
+
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+    // Id -> version of the rows the overlap window will return again, so each change is passed on once
+    private final Map<Integer, Long> seenProducts = new HashMap<>();
+    private final Map<Integer, Long> seenDeletedProducts = new HashMap<>();
+    private final Map<Integer, Long> seenUsers = new HashMap<>();
+    private final Map<Integer, Long> seenDeletedUsers = new HashMap<>();
+    // Highest audit id seen as of each recent poll's watermark; the oldest one still inside the overlap window
+    // is where the next read starts, so an audit row that commits after a higher id was read is still found
+    private final ArrayDeque<long[]> auditMarks = new ArrayDeque<>();
+    private final Set<Integer> seenAuditLogs = new HashSet<>();
+    private ChangeFeedDAO changeFeedDAO;
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> pollTask;
+    private long watermark;
+    private int auditWatermark; // Highest audit id seen
+    private long lastPurge;
+
+    private ChangeFeed() {}
+
+    public static synchronized ChangeFeed getInstance() {
+        if (instance == null) {
+            instance = new ChangeFeed();
+        }
+        return instance;
+    }
+
+    // Idempotent; only changes made after start are reported
+    public synchronized void start() {
+        if (pollTask != null) {
+            return;
+        }
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "change-feed");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        changeFeedDAO = DataAccess.changeFeed();
+        watermark = 0;
+        auditWatermark = 0;
+        clearSeen();
+        lastPurge = System.currentTimeMillis();
+        pollTask = scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                poll();
+            } catch (SQLException e) {
+                // The watermark stays put, so the next successful poll catches up
+                System.err.println("[ERROR] ChangeFeed: Poll failed - " + e.getMessage());
+            }
+        }, 0, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (pollTask != null) {
+            pollTask.cancel(false);
+            pollTask = null;
+        }
+        listeners.clear();
+    }
+
+    public void addListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    private synchronized void poll() throws SQLException {
+        ChangeFeedDAO.ChangeSet changeSet = changeFeedDAO.getChangesSince(watermark, auditFloor());
+        boolean first = watermark == 0;
+        watermark = changeSet.getWatermark();
+        auditWatermark = Math.max(auditWatermark, changeSet.getAuditWatermark());
+        purgeTombstonesIfDue();
+        if (first) {
+            markAudit();
+            return;
+        }
+        if (changeSet.isOverflow()) {
+            clearSeen();
+            auditWatermark = changeSet.getAuditWatermark();
+            markAudit();
+            ProductCatalogCache.getInstance().invalidate();
+            PermissionCache.getInstance().clear();
+            publish(new Changes(true));
+            return;
+        }
+
+        Changes changes = new Changes(false);
+        for (ChangeFeedDAO.Versioned<Product> product : changeSet.getProducts()) {
+            if (firstSeen(seenProducts, product)) {
+                changes.products.add(product.getItem());
+            }
+        }
+        for (ChangeFeedDAO.Versioned<Integer> deletion : changeSet.getDeletedProducts()) {
+            if (firstSeen(seenDeletedProducts, deletion)) {
+                changes.deletedProductIds.add(deletion.getItem());
+            }
+        }
+        for (ChangeFeedDAO.Versioned<User> user : changeSet.getUsers()) {
+            if (firstSeen(seenUsers, user)) {
+                changes.users.add(user.getItem());
+            }
+        }
+        for (ChangeFeedDAO.Versioned<Integer> deletion : changeSet.getDeletedUsers()) {
+            if (firstSeen(seenDeletedUsers, deletion)) {
+                changes.deletedUserIds.add(deletion.getItem());
+            }
+        }
+        for (AuditLogDAO.AuditLog log : changeSet.getAuditLogs()) {
+            if (seenAuditLogs.add(log.getId())) {
+                changes.auditLogs.add(log);
+            }
+        }
+        long horizon = watermark - ChangeFeedDAO.OVERLAP_MS;
+        for (Map<Integer, Long> seen : List.of(seenProducts, seenDeletedProducts, seenUsers, seenDeletedUsers)) {
+            seen.values().removeIf(version -> version < horizon);
+        }
+        markAudit();
+        int floor = auditFloor();
+        seenAuditLogs.removeIf(id -> id <= floor);
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        ProductCatalogCache.getInstance().onExternalChanges(changes.products, changes.deletedProductIds);
+        for (User user : changes.users) {
+            PermissionCache.getInstance().invalidate(user.getId());
+        }
+        for (Integer userId : changes.deletedUserIds) {
+            PermissionCache.getInstance().invalidate(userId);
+        }
+        publish(changes);
+    }
+
+    private void clearSeen() {
+        seenProducts.clear();
+        seenDeletedProducts.clear();
+        seenUsers.clear();
+        seenDeletedUsers.clear();
+        seenAuditLogs.clear();
+        auditMarks.clear();
+    }
+
+    // Records this poll's high-water mark and drops the marks older than the newest one outside the window
+    private void markAudit() {
+        auditMarks.addLast(new long[] {watermark, auditWatermark});
+        long horizon = watermark - ChangeFeedDAO.OVERLAP_MS;
+        while (auditMarks.size() > 1) {
+            long[] oldest = auditMarks.pollFirst();
+            if (auditMarks.peekFirst()[0] > horizon) {
+                auditMarks.addFirst(oldest);
+                break;
+            }
+        }
+    }
+
+    private int auditFloor() {
+        return auditMarks.isEmpty() ? auditWatermark : (int) auditMarks.peekFirst()[1];
+    }
+
+    private static boolean firstSeen(Map<Integer, Long> seen, ChangeFeedDAO.Versioned<?> row) {
+        Long previous = seen.put(row.getId(), row.getVersion());
+        return previous == null || previous != row.getVersion();
+    }
+
+    // Remote terminals leave this to the server
+    private void purgeTombstonesIfDue() {
+        long now = System.currentTimeMillis();
+        if (DataAccess.isRemote() || now - lastPurge < PURGE_INTERVAL_MS) {
+            return;
+        }
+        lastPurge = now;
+        try {
+            changeFeedDAO.purgeTombstones();
+        } catch (SQLException e) {
+            System.err.println("[ERROR] ChangeFeed: Tombstone purge failed - " + e.getMessage());
+        }
+    }
+
+    private void publish(Changes changes) {
+        for (ChangeListener listener : listeners) {
+            try {
+                listener.onChanges(changes);
+            } catch (RuntimeException e) {
+                System.err.println("[ERROR] ChangeFeed: Listener failed - " + e.getMessage());
+            }
+        }
+    }
+
+    // Rows changed since the previous poll, in the order they changed; this client's own writes come back too,
+    // so applying them must be idempotent. A resync means too much changed to list: reload everything instead.
+    public static class Changes {
+        private final boolean resync;
+        private final List<Product> products = new ArrayList<>();
+        private final List<Integer> deletedProductIds = new ArrayList<>();
+        private final List<User> users = new ArrayList<>();
+        private final List<Integer> deletedUserIds = new ArrayList<>();
+        private final List<AuditLogDAO.AuditLog> auditLogs = new ArrayList<>();
+
+        Changes(boolean resync) {
+            this.resync = resync;
+        }
+
+        public boolean isResync() { return resync; }
+        public List<Product> getProducts() { return products; }
+        public List<Integer> getDeletedProductIds() { return deletedProductIds; }
+        public List<User> getUsers() { return users; }
+        public List<Integer> getDeletedUserIds() { return deletedUserIds; }
+        public List<AuditLogDAO.AuditLog> getAuditLogs() { return auditLogs; }
+
+        public boolean hasProductChanges() {
+            return resync || !products.isEmpty() || !deletedProductIds.isEmpty();
+        }
+
+        public boolean hasUserChanges() {
+            return resync || !users.isEmpty() || !deletedUserIds.isEmpty();
+        }
+
+        public boolean hasAuditChanges() {
+            return resync || !auditLogs.isEmpty();
+        }
+
+        boolean isEmpty() {
+            return !hasProductChanges() && !hasUserChanges() && !hasAuditChanges();
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package main.java.com.inventory.services;
+
+import main.java.com.inventory.dao.ProductCatalogCache;
+import main.java.com.inventory.dao.ProductDAO;
+import main.java.com.inventory.models.Product;
+import main.java.com.inventory.remote.DataAccess;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Per-category product counts, units, stock value and low-stock counts for the dashboard. Kept current from
+// the catalog cache's deltas, and rebuilt with one aggregate query at start, periodically, and whenever the
+// cache can no longer vouch for its deltas (other clients' writes, imports, restores).
+public class InventoryStatistics implements ProductCatalogCache.DeltaListener {
+    public static final String UNCATEGORIZED = "Uncategorized";
+    private static final long RECONCILE_INTERVAL_SECONDS = 300;
+    private static final long INVALIDATED_RECONCILE_DELAY_MS = 500;
+    private static InventoryStatistics instance;
+
+    public interface StatisticsListener {
+        // Called on whichever thread applied the change; Swing subscribers must hop to the EDT themselves
+        void onStatisticsChanged(Snapshot snapshot);
+    }
+
+    private final Map<String, Totals> totalsByCategory = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final List<StatisticsListener> listeners = new CopyOnWriteArrayList<>();
+    private Snapshot snapshot = new Snapshot(Collections.emptyList(), 0);
+    private long changeCount = 0; // Deltas applied so far; a reconcile that raced one is thrown away
+    private boolean reconcilePending = false;
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> reconcileTask;
+
+    public static synchronized InventoryStatistics getInstance() {
+        if (instance == null) {
+            instance = new InventoryStatistics();
+        }
+        return instance;
+    }
+
+    // Idempotent; the first reconciliation runs right away on the statistics thread
+    public synchronized void start() {
+        if (reconcileTask != null) {
+            return;
+        }
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "inventory-statistics");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        ProductCatalogCache.getInstance().addDeltaListener(this);
+        reconcileTask = scheduler.scheduleWithFixedDelay(this::reconcileQuietly,
+            0, RECONCILE_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (reconcileTask != null) {
+            reconcileTask.cancel(false);
+            reconcileTask = null;
+        }
+        ProductCatalogCache.getInstance().removeDeltaListener(this);
+        listeners.clear();
+        totalsByCategory.clear();
+        snapshot = new Snapshot(Collections.emptyList(), 0);
+        reconcilePending = false;
+    }
+
+    public void addListener(StatisticsListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(StatisticsListener listener) {
+        listeners.remove(listener);
+    }
+
+    // The last published figures; never touches the database
+    public synchronized Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    @Override
+    public void onProductChanged(Product before, Product after) {
+        Snapshot current;
+        synchronized (this) {
+            if (reconcileTask == null) {
+                return;
+            }
+            LowStockMonitor monitor = LowStockMonitor.getInstance();
+            if (before != null) {
+                apply(before, monitor.getThreshold(before.getId()), -1);
+            }
+            if (after != null) {
+                apply(after, monitor.getThreshold(after.getId()), 1);
+            }
+            current = publishLocked();
+        }
+        notifyListeners(current);
+    }
+
+    @Override
+    public void onCatalogInvalidated() {
+        requestReconcile();
+    }
+
+    // Moves the product between the low and normal buckets when the new threshold puts it on the other side
+    public void onThresholdChanged(Product product, int previousThreshold, int threshold) {
+        Snapshot current;
+        synchronized (this) {
+            if (reconcileTask == null) {
+                return;
+            }
+            int stock = stockOf(product);
+            boolean wasLow = stock < previousThreshold;
+            boolean isLow = stock < threshold;
+            if (wasLow == isLow) {
+                return;
+            }
+            totalsFor(product.getCategoryName()).lowStock += isLow ? 1 : -1;
+            changeCount++;
+            current = publishLocked();
+        }
+        notifyListeners(current);
+    }
+
+    // One aggregate query through ProductDAO.getCategoryTotals; the result replaces the incremental totals
+    // unless a delta landed meanwhile
+    public void reconcile() throws SQLException {
+        long changesBefore;
+        synchronized (this) {
+            changesBefore = changeCount;
+            reconcilePending = false;
+        }
+        Map<String, Totals> fresh = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (ProductDAO.CategoryTotals row : DataAccess.products(0).getCategoryTotals(LowStockMonitor.DEFAULT_THRESHOLD)) {
+            Totals totals = fresh.computeIfAbsent(categoryKey(row.getCategory()), _ -> new Totals());
+            totals.products += row.getProducts();
+            totals.units += row.getUnits();
+            totals.value += row.getValue();
+            totals.lowStock += row.getLowStock();
+        }
+        Snapshot current;
+        synchronized (this) {
+            if (reconcileTask == null) {
+                return;
+            }
+            if (changeCount != changesBefore) {
+                requestReconcile(); // The query may or may not have seen that change; try again shortly
+                return;
+            }
+            totalsByCategory.clear();
+            totalsByCategory.putAll(fresh);
+            current = publishLocked();
+        }
+        notifyListeners(current);
+    }
+
+    // Coalesces bursts of invalidations into one reconciliation
+    private synchronized void requestReconcile() {
+        if (reconcileTask == null || reconcilePending) {
+            return;
+        }
+        reconcilePending = true;
+        scheduler.schedule(this::reconcileQuietly, INVALIDATED_RECONCILE_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (SQLException e) {
+            synchronized (this) {
+                reconcilePending = false;
+            }
+            System.err.println("[ERROR] InventoryStatistics: Reconciliation failed - " + e.getMessage());
+        }
+    }
+
+    private void apply(Product product, int threshold, int sign) {
+        Totals totals = totalsFor(product.getCategoryName());
+        int stock = stockOf(product);
+        totals.products += sign;
+        totals.units += sign * stock;
+        totals.value += sign * stock * product.getPrice();
+        if (stock < threshold) {
+            totals.lowStock += sign;
+        }
+        changeCount++;
+    }
+
+    private Totals totalsFor(String categoryName) {
+        return totalsByCategory.computeIfAbsent(categoryKey(categoryName), _ -> new Totals());
+    }
+
+    private Snapshot publishLocked() {
+        List<CategoryStats> categories = new ArrayList<>(totalsByCategory.size());
+        for (Map.Entry<String, Totals> entry : totalsByCategory.entrySet()) {
+            Totals totals = entry.getValue();
+            if (totals.products > 0) {
+                categories.add(new CategoryStats(entry.getKey(), totals.products, totals.units,
+                    totals.value, totals.lowStock));
+            }
+        }
+        snapshot = new Snapshot(categories, System.currentTimeMillis());
+        return snapshot;
+    }
+
+    private void notifyListeners(Snapshot current) {
+        for (StatisticsListener listener : listeners) {
+            try {
+                listener.onStatisticsChanged(current);
+            } catch (RuntimeException e) {
+                System.err.println("[ERROR] InventoryStatistics: Listener failed - " + e.getMessage());
+            }
+        }
+    }
+
+    private static String categoryKey(String categoryName) {
+        return categoryName == null || categoryName.isEmpty() ? UNCATEGORIZED : categoryName;
+    }
+
+    private static int stockOf(Product product) {
+        return product.getStock() == null ? 0 : product.getStock();
+    }
+
+    private static class Totals {
+        private int products;
+        private long units;
+        private double value;
+        private int lowStock;
+    }
+
+    public static class CategoryStats {
+        private final String category;
+        private final int products;
+        private final long units;
+        private final double value;
+        private final int lowStock;
+
+        public CategoryStats(String category, int products, long units, double value, int lowStock) {
+            this.category = category;
+            this.products = products;
+            this.units = units;
+            this.value = value;
+            this.lowStock = lowStock;
+        }
+
+        public String getCategory() { return category; }
+        public int getProducts() { return products; }
+        public long getUnits() { return units; }
+        public double getValue() { return value; }
+        public int getLowStock() { return lowStock; }
+    }
+
+    // Immutable; totals are summed once when the snapshot is taken
+    public static class Snapshot {
+        private final List<CategoryStats> categories;
+        private final long updatedAt;
+        private final int products;
+        private final long units;
+        private final double value;
+        private final int lowStock;
+
+        public Snapshot(List<CategoryStats> categories, long updatedAt) {
+            this.categories = Collections.unmodifiableList(categories);
+            this.updatedAt = updatedAt;
+            int products = 0;
+            long units = 0;
+            double value = 0;
+            int lowStock = 0;
+            for (CategoryStats stats : categories) {
+                products += stats.getProducts();
+                units += stats.getUnits();
+                value += stats.getValue();
+                lowStock += stats.getLowStock();
+            }
+            this.products = products;
+            this.units = units;
+            this.value = value;
+            this.lowStock = lowStock;
+        }
+
+        public List<CategoryStats> getCategories() { return categories; }
+        public long getUpdatedAt() { return updatedAt; }
+        public int getProducts() { return products; }
+        public long getUnits() { return units; }
+        public double getValue() { return value; }
+        public int getLowStock() { return lowStock; }
+    }
+}
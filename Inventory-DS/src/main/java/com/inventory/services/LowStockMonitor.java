@@ -0,0 +1,233 @@
+package main.java.com.inventory.services;
+
+import main.java.com.inventory.dao.ProductCatalogCache;
+import main.java.com.inventory.dao.StockThresholdDAO;
+import main.java.com.inventory.models.Product;
+import main.java.com.inventory.remote.DataAccess;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Tracks stock levels against per-product thresholds and tells subscribers when a product crosses one.
+// Levels come from DAO mutations as they happen, plus a periodic reconciliation that catches other clients.
+public class LowStockMonitor implements ProductCatalogCache.ChangeListener {
+    public static final int DEFAULT_THRESHOLD = 20;
+    private static final long RECONCILE_INTERVAL_SECONDS = 60;
+    private static LowStockMonitor instance;
+
+    public interface LowStockListener {
+        // Called on the thread that observed the change; Swing subscribers must hop to the EDT themselves
+        void onLowStockEvent(LowStockEvent event);
+    }
+
+    private final StockThresholdDAO thresholdDAO = DataAccess.thresholds();
+    private final List<LowStockListener> listeners = new CopyOnWriteArrayList<>();
+    private final LowStockListener logSink = new LogSink();
+    private final Map<Integer, Integer> thresholds = new HashMap<>();
+    private final Map<Integer, LowStockEvent> lowProducts = new HashMap<>();
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> reconcileTask;
+
+    public static synchronized LowStockMonitor getInstance() {
+        if (instance == null) {
+            instance = new LowStockMonitor();
+        }
+        return instance;
+    }
+
+    // Idempotent; the first reconciliation runs right away on the monitor thread
+    public synchronized void start() {
+        if (reconcileTask != null) {
+            return;
+        }
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "low-stock-monitor");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        ProductCatalogCache.getInstance().addChangeListener(this);
+        listeners.add(logSink);
+        reconcileTask = scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                reconcile();
+            } catch (SQLException e) {
+                System.err.println("[ERROR] LowStockMonitor: Reconciliation failed - " + e.getMessage());
+            }
+        }, 0, RECONCILE_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (reconcileTask != null) {
+            reconcileTask.cancel(false);
+            reconcileTask = null;
+        }
+        ProductCatalogCache.getInstance().removeChangeListener(this);
+        listeners.clear();
+        lowProducts.clear();
+        thresholds.clear();
+    }
+
+    public void addListener(LowStockListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(LowStockListener listener) {
+        listeners.remove(listener);
+    }
+
+    public synchronized int getThreshold(int productId) {
+        return thresholds.getOrDefault(productId, DEFAULT_THRESHOLD);
+    }
+
+    public void setThreshold(Product product, int threshold) throws SQLException {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Threshold cannot be negative");
+        }
+        thresholdDAO.setThreshold(product.getId(), threshold);
+        LowStockEvent event;
+        int previous;
+        synchronized (this) {
+            previous = thresholds.getOrDefault(product.getId(), DEFAULT_THRESHOLD);
+            thresholds.put(product.getId(), threshold);
+            event = evaluate(product.getId(), product.getName(), stockOf(product));
+        }
+        InventoryStatistics.getInstance().onThresholdChanged(product, previous, threshold);
+        publish(event);
+    }
+
+    // Products currently below their threshold, lowest stock first, without touching the database
+    public synchronized List<LowStockEvent> getLowStockProducts() {
+        List<LowStockEvent> current = new ArrayList<>(lowProducts.values());
+        current.sort((a, b) -> a.getStock() != b.getStock()
+            ? Integer.compare(a.getStock(), b.getStock())
+            : a.getProductName().compareToIgnoreCase(b.getProductName()));
+        return current;
+    }
+
+    @Override
+    public void onProductSaved(Product product) {
+        LowStockEvent event;
+        synchronized (this) {
+            event = evaluate(product.getId(), product.getName(), stockOf(product));
+        }
+        publish(event);
+    }
+
+    @Override
+    public void onProductDeleted(int productId) {
+        LowStockEvent event;
+        synchronized (this) {
+            thresholds.remove(productId);
+            LowStockEvent previous = lowProducts.remove(productId);
+            event = previous == null ? null : new LowStockEvent(LowStockEvent.Type.CLEARED,
+                productId, previous.getProductName(), previous.getStock(), previous.getThreshold());
+        }
+        publish(event);
+    }
+
+    // Full pass over the catalog; only products whose state flips produce events
+    public void reconcile() throws SQLException {
+        Map<Integer, Integer> storedThresholds = thresholdDAO.getAllThresholds();
+        List<Product> products = DataAccess.products(0).getAllProducts();
+        List<LowStockEvent> events = new ArrayList<>();
+        synchronized (this) {
+            thresholds.clear();
+            thresholds.putAll(storedThresholds);
+            Set<Integer> seen = new HashSet<>();
+            for (Product product : products) {
+                seen.add(product.getId());
+                LowStockEvent event = evaluate(product.getId(), product.getName(), stockOf(product));
+                if (event != null) {
+                    events.add(event);
+                }
+            }
+            for (Integer productId : new ArrayList<>(lowProducts.keySet())) {
+                if (!seen.contains(productId)) {
+                    LowStockEvent previous = lowProducts.remove(productId);
+                    events.add(new LowStockEvent(LowStockEvent.Type.CLEARED,
+                        productId, previous.getProductName(), previous.getStock(), previous.getThreshold()));
+                }
+            }
+        }
+        for (LowStockEvent event : events) {
+            publish(event);
+        }
+    }
+
+    // Returns an event only when the product crosses its threshold; repeated lows are deduplicated
+    private LowStockEvent evaluate(int productId, String name, int stock) {
+        int threshold = thresholds.getOrDefault(productId, DEFAULT_THRESHOLD);
+        if (stock < threshold) {
+            LowStockEvent current = new LowStockEvent(LowStockEvent.Type.LOW, productId, name, stock, threshold);
+            return lowProducts.put(productId, current) == null ? current : null;
+        }
+        LowStockEvent previous = lowProducts.remove(productId);
+        return previous == null ? null
+            : new LowStockEvent(LowStockEvent.Type.CLEARED, productId, name, stock, threshold);
+    }
+
+    private void publish(LowStockEvent event) {
+        if (event == null) {
+            return;
+        }
+        for (LowStockListener listener : listeners) {
+            try {
+                listener.onLowStockEvent(event);
+            } catch (RuntimeException e) {
+                System.err.println("[ERROR] LowStockMonitor: Listener failed - " + e.getMessage());
+            }
+        }
+    }
+
+    private static int stockOf(Product product) {
+        return product.getStock() == null ? 0 : product.getStock();
+    }
+
+    // Console sink so crossings show up in the application log
+    public static class LogSink implements LowStockListener {
+        @Override
+        public void onLowStockEvent(LowStockEvent event) {
+            System.out.println("[LOW STOCK] " + event);
+        }
+    }
+
+    public static class LowStockEvent {
+        public enum Type { LOW, CLEARED }
+
+        private final Type type;
+        private final int productId;
+        private final String productName;
+        private final int stock;
+        private final int threshold;
+
+        public LowStockEvent(Type type, int productId, String productName, int stock, int threshold) {
+            this.type = type;
+            this.productId = productId;
+            this.productName = productName;
+            this.stock = stock;
+            this.threshold = threshold;
+        }
+
+        public Type getType() { return type; }
+        public int getProductId() { return productId; }
+        public String getProductName() { return productName; }
+        public int getStock() { return stock; }
+        public int getThreshold() { return threshold; }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %s (ID %d) stock %d, threshold %d", type, productName, productId, stock, threshold);
+        }
+    }
+}
@@ -2,8 +2,8 @@ package main.java.com.inventory.services;
 
 import main.java.com.inventory.models.User;
 import main.java.com.inventory.dao.AuditLogDAO;
-import main.java.com.inventory.dao.DBConnection;
-import java.sql.Connection;
+import main.java.com.inventory.dao.PermissionCache;
+import main.java.com.inventory.remote.DataAccess;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.Duration;
@@ -12,18 +12,14 @@ public class SessionManager {
     private static User activeUser;
     private static LocalDateTime loginTime;
     private static AuditLogDAO auditLogDAO;
-
-    static {
-        try {
-            Connection conn = DBConnection.getConnection();
-            auditLogDAO = new AuditLogDAO(conn);
-        } catch (SQLException e) {}
-    }
+    private static final long AUDIT_FLUSH_TIMEOUT_MS = 3_000;
 
     public static void startSession(User user) {
         if (user == null) {
             throw new IllegalArgumentException("User cannot be null");
         }
+        user.setGrantedPermissions(PermissionCache.getInstance().permissionsFor(user)); // Compiled once per login
+        auditLogDAO = DataAccess.auditLogs(); // Local or remote, whichever this terminal logged in through
         activeUser = user;
         loginTime = LocalDateTime.now();
         try {
@@ -55,6 +51,9 @@ public class SessionManager {
             } catch (SQLException e) {
                 System.err.println("[ERROR] Failed to log logout action for user " + user.getUsername() + ": " + e.getMessage());
             }
+            if (!auditLogDAO.flush(AUDIT_FLUSH_TIMEOUT_MS)) {
+                System.err.println("[ERROR] Audit log flush timed out at logout - " + auditLogDAO.getWriterStats());
+            }
         } finally {
             activeUser = null;
             loginTime = null;
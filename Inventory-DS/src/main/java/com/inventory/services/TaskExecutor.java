@@ -0,0 +1,304 @@
+package main.java.com.inventory.services;
+
+import javax.swing.SwingUtilities;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+// Shared background executor for long-running view actions. Work runs on virtual threads, at most
+// MAX_CONCURRENT_TASKS at a time; progress, results and failures are delivered on the EDT.
+public class TaskExecutor {
+    private static final int MAX_CONCURRENT_TASKS = 8;
+    private static TaskExecutor instance;
+
+    public interface Task<T> {
+        T run(TaskContext context) throws Exception;
+    }
+
+    public interface TaskContext {
+        // percent < 0 means the amount of work is unknown
+        void setProgress(int percent, String note);
+        boolean isCancelled();
+
+        default void checkCancelled() {
+            if (isCancelled()) {
+                throw new CancellationException("Task cancelled");
+            }
+        }
+    }
+
+    // All methods are called on the EDT
+    public interface Callback<T> {
+        void onSuccess(T result);
+
+        default void onFailure(Exception e) {
+            System.err.println("[ERROR] TaskExecutor: Task failed - " + e.getMessage());
+        }
+
+        default void onProgress(int percent, String note) {}
+
+        default void onCancelled() {}
+    }
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("task-", 0).factory());
+    private final Semaphore permits = new Semaphore(MAX_CONCURRENT_TASKS, true);
+    private final Map<String, Coalesced> coalesced = new HashMap<>();
+    private final Map<String, TaskMetrics> metrics = new ConcurrentHashMap<>();
+
+    public static synchronized TaskExecutor getInstance() {
+        if (instance == null) {
+            instance = new TaskExecutor();
+        }
+        return instance;
+    }
+
+    public <T> TaskHandle submit(String name, Task<T> task, Callback<T> callback) {
+        TaskHandle handle = new TaskHandle(name);
+        execute(handle, task, callback, null);
+        return handle;
+    }
+
+    public <T> TaskHandle submit(String name, Task<T> task, Consumer<T> onSuccess, Consumer<Exception> onFailure) {
+        return submit(name, task, callback(onSuccess, onFailure));
+    }
+
+    // While a task with this key is running, later submissions collapse into a single rerun that starts
+    // when it finishes, so repeated refreshes cost at most one extra load and never show stale data
+    public <T> TaskHandle submitCoalesced(String key, Task<T> task, Callback<T> callback) {
+        TaskHandle handle = new TaskHandle(key);
+        Runnable start = () -> execute(handle, task, callback, () -> finishCoalesced(key));
+        synchronized (coalesced) {
+            Coalesced state = coalesced.get(key);
+            if (state != null) {
+                if (state.pendingStart != null) {
+                    metricsFor(key).recordCoalesced();
+                }
+                state.pendingStart = start;
+                return handle;
+            }
+            coalesced.put(key, new Coalesced());
+        }
+        start.run();
+        return handle;
+    }
+
+    public <T> TaskHandle submitCoalesced(String key, Task<T> task, Consumer<T> onSuccess, Consumer<Exception> onFailure) {
+        return submitCoalesced(key, task, callback(onSuccess, onFailure));
+    }
+
+    private void finishCoalesced(String key) {
+        Runnable next;
+        synchronized (coalesced) {
+            Coalesced state = coalesced.get(key);
+            if (state == null || state.pendingStart == null) {
+                coalesced.remove(key);
+                return;
+            }
+            next = state.pendingStart;
+            state.pendingStart = null;
+        }
+        next.run();
+    }
+
+    private <T> void execute(TaskHandle handle, Task<T> task, Callback<T> callback, Runnable onFinish) {
+        long submittedAt = System.nanoTime();
+        Context context = new Context(handle, callback);
+        executor.execute(() -> {
+            T result = null;
+            Exception failure = null;
+            boolean cancelled = false;
+            long startedAt = System.nanoTime();
+            try {
+                permits.acquire();
+                try {
+                    startedAt = System.nanoTime();
+                    if (handle.isCancelled()) {
+                        cancelled = true;
+                    } else {
+                        result = task.run(context);
+                        cancelled = handle.isCancelled();
+                    }
+                } finally {
+                    permits.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelled = true;
+            } catch (CancellationException e) {
+                cancelled = true;
+            } catch (Exception e) {
+                failure = e;
+            }
+            long finishedAt = System.nanoTime();
+            metricsFor(handle.getName()).record(startedAt - submittedAt, finishedAt - startedAt,
+                failure != null, cancelled);
+
+            T value = result;
+            Exception error = failure;
+            boolean wasCancelled = cancelled;
+            SwingUtilities.invokeLater(() -> {
+                handle.done = true;
+                if (wasCancelled) {
+                    callback.onCancelled();
+                } else if (error != null) {
+                    callback.onFailure(error);
+                } else {
+                    callback.onSuccess(value);
+                }
+            });
+            if (onFinish != null) {
+                onFinish.run();
+            }
+        });
+    }
+
+    private TaskMetrics metricsFor(String name) {
+        return metrics.computeIfAbsent(name, _ -> new TaskMetrics());
+    }
+
+    // Snapshot of per-task timings, keyed by task name
+    public Map<String, TaskMetrics> getMetrics() {
+        Map<String, TaskMetrics> snapshot = new TreeMap<>();
+        for (Map.Entry<String, TaskMetrics> entry : metrics.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().copy());
+        }
+        return snapshot;
+    }
+
+    public void logMetrics() {
+        for (Map.Entry<String, TaskMetrics> entry : getMetrics().entrySet()) {
+            System.out.println("Task " + entry.getKey() + " - " + entry.getValue());
+        }
+    }
+
+    public static <T> Callback<T> callback(Consumer<T> onSuccess, Consumer<Exception> onFailure) {
+        return new Callback<T>() {
+            @Override
+            public void onSuccess(T result) {
+                onSuccess.accept(result);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                onFailure.accept(e);
+            }
+        };
+    }
+
+    private static class Coalesced {
+        private Runnable pendingStart;
+    }
+
+    // Progress is posted to the EDT at most once per pending update; only the latest value is shown
+    private static class Context implements TaskContext {
+        private final TaskHandle handle;
+        private final Callback<?> callback;
+        private final AtomicBoolean posted = new AtomicBoolean();
+        private volatile int percent;
+        private volatile String note;
+
+        Context(TaskHandle handle, Callback<?> callback) {
+            this.handle = handle;
+            this.callback = callback;
+        }
+
+        @Override
+        public void setProgress(int percent, String note) {
+            this.percent = percent;
+            this.note = note;
+            if (posted.compareAndSet(false, true)) {
+                SwingUtilities.invokeLater(() -> {
+                    posted.set(false);
+                    if (!handle.done) {
+                        callback.onProgress(this.percent, this.note);
+                    }
+                });
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return handle.isCancelled();
+        }
+    }
+
+    public static class TaskHandle {
+        private final String name;
+        private volatile boolean cancelled;
+        private volatile boolean done;
+
+        TaskHandle(String name) {
+            this.name = name;
+        }
+
+        // Cooperative: a queued task never starts, a running one sees isCancelled() and its result is discarded
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public String getName() { return name; }
+        public boolean isCancelled() { return cancelled; }
+        public boolean isDone() { return done; }
+    }
+
+    public static class TaskMetrics {
+        private long runs;
+        private long failures;
+        private long cancellations;
+        private long coalesced;
+        private long totalQueueNanos;
+        private long totalRunNanos;
+        private long maxRunNanos;
+
+        synchronized void record(long queueNanos, long runNanos, boolean failed, boolean cancelled) {
+            runs++;
+            if (failed) {
+                failures++;
+            }
+            if (cancelled) {
+                cancellations++;
+            }
+            totalQueueNanos += queueNanos;
+            totalRunNanos += runNanos;
+            maxRunNanos = Math.max(maxRunNanos, runNanos);
+        }
+
+        synchronized void recordCoalesced() {
+            coalesced++;
+        }
+
+        synchronized TaskMetrics copy() {
+            TaskMetrics copy = new TaskMetrics();
+            copy.runs = runs;
+            copy.failures = failures;
+            copy.cancellations = cancellations;
+            copy.coalesced = coalesced;
+            copy.totalQueueNanos = totalQueueNanos;
+            copy.totalRunNanos = totalRunNanos;
+            copy.maxRunNanos = maxRunNanos;
+            return copy;
+        }
+
+        public long getRuns() { return runs; }
+        public long getFailures() { return failures; }
+        public long getCancellations() { return cancellations; }
+        public long getCoalesced() { return coalesced; }
+        public double getAvgQueueMillis() { return runs == 0 ? 0 : totalQueueNanos / 1_000_000.0 / runs; }
+        public double getAvgRunMillis() { return runs == 0 ? 0 : totalRunNanos / 1_000_000.0 / runs; }
+        public double getMaxRunMillis() { return maxRunNanos / 1_000_000.0; }
+
+        @Override
+        public String toString() {
+            return String.format("runs=%d, failures=%d, cancelled=%d, coalesced=%d, avgQueue=%.1fms, avgRun=%.1fms, maxRun=%.1fms",
+                runs, failures, cancellations, coalesced, getAvgQueueMillis(), getAvgRunMillis(), getMaxRunMillis());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package main.java.com.inventory.utils;
+
+import main.java.com.inventory.services.TaskExecutor;
+import javax.swing.JTextField;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.util.ArrayList;
+import java.util.List;
+
+// Debounces a search field, runs the query off the EDT and drops results that a newer query has superseded
+public class SearchController<T> {
+    public interface Search<T> {
+        List<T> run(String query) throws Exception;
+    }
+
+    public interface ResultListener<T> {
+        void onResults(String query, List<T> results);
+    }
+
+    public interface ErrorListener {
+        void onError(String query, Exception e);
+    }
+
+    // Lets a narrower query be answered by filtering the previous results in memory
+    public interface NarrowFilter<T> {
+        boolean matches(T item, String query);
+
+        default boolean canNarrow(String query) {
+            return true;
+        }
+    }
+
+    private final JTextField field;
+    private final Search<T> search;
+    private final ResultListener<T> resultListener;
+    private final ErrorListener errorListener;
+    private final Runnable onEmpty;
+    private final Timer debounceTimer;
+    private NarrowFilter<T> narrowFilter;
+
+    // Only touched on the EDT
+    private long generation = 0;
+    private TaskExecutor.TaskHandle inFlight;
+    private String lastQuery;
+    private List<T> lastResults;
+
+    public SearchController(JTextField field, int debounceMillis, Search<T> search,
+                            ResultListener<T> resultListener, ErrorListener errorListener, Runnable onEmpty) {
+        this.field = field;
+        this.search = search;
+        this.resultListener = resultListener;
+        this.errorListener = errorListener;
+        this.onEmpty = onEmpty;
+        this.debounceTimer = new Timer(debounceMillis, _ -> fire());
+        this.debounceTimer.setRepeats(false);
+        field.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) { debounceTimer.restart(); }
+            @Override
+            public void removeUpdate(DocumentEvent e) { debounceTimer.restart(); }
+            @Override
+            public void changedUpdate(DocumentEvent e) { debounceTimer.restart(); }
+        });
+    }
+
+    public void setNarrowFilter(NarrowFilter<T> narrowFilter) {
+        this.narrowFilter = narrowFilter;
+    }
+
+    // Forget cached results, e.g. after the underlying data changed
+    public void invalidate() {
+        lastQuery = null;
+        lastResults = null;
+    }
+
+    private void fire() {
+        String query = field.getText().trim();
+        long current = ++generation;
+        if (inFlight != null) {
+            inFlight.cancel();
+            inFlight = null;
+        }
+
+        if (query.isEmpty()) {
+            invalidate();
+            if (onEmpty != null) {
+                onEmpty.run();
+            }
+            return;
+        }
+
+        if (query.equals(lastQuery) && lastResults != null) {
+            return;
+        }
+
+        if (narrowFilter != null && lastResults != null && lastQuery != null
+                && query.toLowerCase().contains(lastQuery.toLowerCase()) && narrowFilter.canNarrow(lastQuery) && narrowFilter.canNarrow(query)) {
+            List<T> narrowed = new ArrayList<>();
+            for (T item : lastResults) {
+                if (narrowFilter.matches(item, query)) {
+                    narrowed.add(item);
+                }
+            }
+            lastQuery = query;
+            lastResults = narrowed;
+            resultListener.onResults(query, narrowed);
+            return;
+        }
+
+        inFlight = TaskExecutor.getInstance().submit("Search", _ -> search.run(query),
+            results -> {
+                if (current != generation) {
+                    return; // A newer query has been issued since
+                }
+                inFlight = null;
+                lastQuery = query;
+                lastResults = results;
+                resultListener.onResults(query, results);
+            },
+            e -> {
+                if (current == generation) {
+                    inFlight = null;
+                    invalidate();
+                    errorListener.onError(query, e);
+                }
+            });
+    }
+}
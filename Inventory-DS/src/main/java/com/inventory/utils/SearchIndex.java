@@ -0,0 +1,276 @@
+package main.java.com.inventory.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// In-memory inverted index over a few text fields per item. Word tokens answer prefix lookups and
+// trigrams answer substring lookups; matches follow LIKE '%term%' semantics but come back ranked.
+public class SearchIndex<T> {
+    private static final int GRAM = 3;
+
+    public interface Document<T> {
+        int id(T item);
+        String[] fields(T item);
+    }
+
+    private final Document<T> document;
+    private final int[] fieldWeights;
+    private final boolean newestFirst;
+    private final Map<Integer, Entry<T>> entries = new HashMap<>();
+    private final TreeMap<String, Postings> tokens = new TreeMap<>();
+    private final Map<String, Postings> trigrams = new HashMap<>();
+
+    // fieldWeights ranks a hit in field i; ties are broken by id, highest first when newestFirst is set
+    public SearchIndex(Document<T> document, int[] fieldWeights, boolean newestFirst) {
+        this.document = document;
+        this.fieldWeights = fieldWeights;
+        this.newestFirst = newestFirst;
+    }
+
+    public synchronized void put(T item) {
+        int id = document.id(item);
+        remove(id);
+        String[] raw = document.fields(item);
+        String[] fields = new String[raw.length];
+        for (int i = 0; i < raw.length; i++) {
+            fields[i] = raw[i] != null ? raw[i].toLowerCase() : null;
+        }
+        entries.put(id, new Entry<>(item, fields));
+        for (String key : tokensOf(fields)) {
+            tokens.computeIfAbsent(key, _ -> new Postings()).add(id);
+        }
+        for (String key : trigramsOf(fields)) {
+            trigrams.computeIfAbsent(key, _ -> new Postings()).add(id);
+        }
+    }
+
+    public synchronized void remove(int id) {
+        Entry<T> entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String key : tokensOf(entry.fields)) {
+            removePosting(tokens, key, id);
+        }
+        for (String key : trigramsOf(entry.fields)) {
+            removePosting(trigrams, key, id);
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        tokens.clear();
+        trigrams.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Returns every item containing the query in any field, best match first; limit <= 0 means no limit
+    public synchronized List<T> search(String query, int limit) {
+        String q = query.trim().toLowerCase();
+        List<Hit<T>> hits = new ArrayList<>();
+        if (q.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        if (q.length() >= GRAM) {
+            for (int id : trigramCandidates(q)) {
+                addHit(hits, id, q);
+            }
+        } else {
+            // Too short for trigrams: word prefixes come from the token index, mid-word hits from a scan
+            Set<Integer> seen = new HashSet<>();
+            for (Postings postings : tokens.subMap(q, q + Character.MAX_VALUE).values()) {
+                for (int i = 0; i < postings.size; i++) {
+                    if (seen.add(postings.ids[i])) {
+                        addHit(hits, postings.ids[i], q);
+                    }
+                }
+            }
+            for (Integer id : entries.keySet()) {
+                if (!seen.contains(id)) {
+                    addHit(hits, id, q);
+                }
+            }
+        }
+
+        hits.sort((a, b) -> a.score != b.score
+            ? Integer.compare(b.score, a.score)
+            : (newestFirst ? Integer.compare(b.id, a.id) : Integer.compare(a.id, b.id)));
+        int count = limit > 0 ? Math.min(limit, hits.size()) : hits.size();
+        List<T> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(hits.get(i).item);
+        }
+        return results;
+    }
+
+    private void addHit(List<Hit<T>> hits, int id, String q) {
+        Entry<T> entry = entries.get(id);
+        int score = score(entry.fields, q);
+        if (score > 0) {
+            hits.add(new Hit<>(id, score, entry.item));
+        }
+    }
+
+    // Docs holding every trigram of the query; still verified by score() since trigrams may come from different fields
+    private int[] trigramCandidates(String q) {
+        List<Postings> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM <= q.length(); i++) {
+            Postings postings = trigrams.get(q.substring(i, i + GRAM));
+            if (postings == null) {
+                return new int[0];
+            }
+            lists.add(postings);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+        int[] result = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+        int size = result.length;
+        for (int l = 1; l < lists.size() && size > 0; l++) {
+            Postings other = lists.get(l);
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (Arrays.binarySearch(other.ids, 0, other.size, result[i]) >= 0) {
+                    result[kept++] = result[i];
+                }
+            }
+            size = kept;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    // Exact field > field prefix > word prefix > anywhere in the field, scaled by the field weight
+    private int score(String[] fields, String q) {
+        int score = 0;
+        for (int i = 0; i < fields.length; i++) {
+            String field = fields[i];
+            if (field == null) {
+                continue;
+            }
+            int at = field.indexOf(q);
+            if (at < 0) {
+                continue;
+            }
+            int weight = i < fieldWeights.length ? fieldWeights[i] : 1;
+            if (field.length() == q.length()) {
+                score += 8 * weight;
+            } else if (at == 0) {
+                score += 4 * weight;
+            } else if (startsWord(field, q, at)) {
+                score += 2 * weight;
+            } else {
+                score += weight;
+            }
+        }
+        return score;
+    }
+
+    private static boolean startsWord(String field, String q, int at) {
+        while (at >= 0) {
+            if (at == 0 || !Character.isLetterOrDigit(field.charAt(at - 1))) {
+                return true;
+            }
+            at = field.indexOf(q, at + 1);
+        }
+        return false;
+    }
+
+    private static Set<String> tokensOf(String[] fields) {
+        Set<String> keys = new HashSet<>();
+        for (String field : fields) {
+            if (field == null) {
+                continue;
+            }
+            for (String token : field.split("[^\\p{L}\\p{N}]+")) {
+                if (!token.isEmpty()) {
+                    keys.add(token);
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static Set<String> trigramsOf(String[] fields) {
+        Set<String> keys = new HashSet<>();
+        for (String field : fields) {
+            if (field == null) {
+                continue;
+            }
+            for (int i = 0; i + GRAM <= field.length(); i++) {
+                keys.add(field.substring(i, i + GRAM));
+            }
+        }
+        return keys;
+    }
+
+    private static void removePosting(Map<String, Postings> index, String key, int id) {
+        Postings postings = index.get(key);
+        if (postings != null) {
+            postings.remove(id);
+            if (postings.size == 0) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static class Entry<T> {
+        private final T item;
+        private final String[] fields;
+
+        Entry(T item, String[] fields) {
+            this.item = item;
+            this.fields = fields;
+        }
+    }
+
+    private static class Hit<T> {
+        private final int id;
+        private final int score;
+        private final T item;
+
+        Hit(int id, int score, T item) {
+            this.id = id;
+            this.score = score;
+            this.item = item;
+        }
+    }
+
+    // Sorted int array; ids mostly arrive in increasing order, so adds are usually appends
+    private static class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            int pos = size;
+            if (size > 0 && ids[size - 1] >= id) {
+                pos = Arrays.binarySearch(ids, 0, size, id);
+                if (pos >= 0) {
+                    return;
+                }
+                pos = -pos - 1;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+
+        void remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+                size--;
+            }
+        }
+    }
+}
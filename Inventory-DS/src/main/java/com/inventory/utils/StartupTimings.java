@@ -0,0 +1,53 @@
+package main.java.com.inventory.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Collects how long each startup step took and on which thread, then prints them once the
+// application is ready. Steps recorded after that are ignored.
+public class StartupTimings {
+    private static final long processStart = System.nanoTime();
+    private static final List<Step> steps = new ArrayList<>();
+    private static boolean finished = false;
+
+    private StartupTimings() {}
+
+    public static long now() {
+        return System.nanoTime();
+    }
+
+    public static synchronized void record(String name, long startNanos) {
+        if (!finished) {
+            steps.add(new Step(name, Thread.currentThread().getName(), startNanos, System.nanoTime()));
+        }
+    }
+
+    public static synchronized void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        long total = System.nanoTime() - processStart;
+        System.out.printf("Startup completed in %.1f ms%n", total / 1_000_000.0);
+        for (Step step : steps) {
+            System.out.printf("  %-28s %8.1f ms  (at +%.1f ms on %s)%n", step.name,
+                (step.endNanos - step.startNanos) / 1_000_000.0,
+                (step.startNanos - processStart) / 1_000_000.0, step.thread);
+        }
+        steps.clear();
+    }
+
+    private static class Step {
+        private final String name;
+        private final String thread;
+        private final long startNanos;
+        private final long endNanos;
+
+        Step(String name, String thread, long startNanos, long endNanos) {
+            this.name = name;
+            this.thread = thread;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+    }
+}
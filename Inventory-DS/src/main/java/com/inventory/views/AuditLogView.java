@@ -1,42 +1,47 @@
 package main.java.com.inventory.views;
 
 import main.java.com.inventory.dao.AuditLogDAO;
+import main.java.com.inventory.dao.KeysetPager;
 import main.java.com.inventory.models.User;
+import main.java.com.inventory.remote.DataAccess;
+import main.java.com.inventory.services.ChangeFeed;
 import main.java.com.inventory.utils.ErrorHandler;
+import main.java.com.inventory.utils.SearchController;
 import main.java.com.inventory.utils.ThemeManager;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.awt.event.KeyAdapter;
-import java.awt.event.KeyEvent;
-import java.sql.Connection;
-import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 
 public class AuditLogView extends JPanel implements ThemeManager.ThemeChangeListener {
     private JTable logTable;
-    private DefaultTableModel tableModel;
+    private PagedTableModel<AuditLogDAO.AuditLog> tableModel;
+    private SearchController<AuditLogDAO.AuditLog> searchController;
+    private static final int PAGE_SIZE = 500;
+    private static final int SEARCH_DEBOUNCE_MS = 300;
     private JTextField searchField;
     private JButton refreshButton;
     private AuditLogDAO auditLogDAO;
     private User currentUser;
-    private Connection conn;
 
-    public AuditLogView(User user, Connection conn) throws SQLException {
+    public AuditLogView(User user) {
         this.currentUser = user;
-        this.conn = conn;
         if (!currentUser.getRole().equals("Owner") && !currentUser.getRole().equals("Manager") && !currentUser.getRole().equals("Admin")) {
         throw new SecurityException("Permission denied: Only Owner, Manager, or Admin can view audit logs");
     }
-        if (conn == null || conn.isClosed()) {
-            return; // Prevent further execution if connection is invalid
-        }
-        this.auditLogDAO = new AuditLogDAO(conn);
+        this.auditLogDAO = DataAccess.auditLogs();
         setLayout(new BorderLayout());
         initializeUI();
         refreshTable();
         ThemeManager.addThemeChangeListener(this);
         applyThemeToComponents();
+        // New entries appear at the top as they are written, by this client or any other
+        ChangeFeed.getInstance().addListener(changes -> {
+            if (changes.hasAuditChanges()) {
+                SwingUtilities.invokeLater(() -> applyAuditChanges(changes));
+            }
+        });
     }
 
     private void initializeUI() {
@@ -45,25 +50,41 @@ public class AuditLogView extends JPanel implements ThemeManager.ThemeChangeList
         searchPanel.add(new JLabel("Search:"));
         searchField = new JTextField(20);
         searchField.setToolTipText("Search by Username, Action, or Details");
-        searchField.addKeyListener(new KeyAdapter() {
-            @Override
-            public void keyReleased(KeyEvent e) {
-                searchLogs();
-            }
+        searchController = new SearchController<>(searchField, SEARCH_DEBOUNCE_MS,
+            auditLogDAO::searchAuditLogs,
+            (query, logs) -> {
+                tableModel.setRows(logs);
+                applyThemeToTable();
+            },
+            (query, e) -> {
+                System.err.println("[ERROR] AuditLogView: SQLException during search - " + e.getMessage());
+                ErrorHandler.handleError(this, "Error searching audit logs", e);
+            },
+            this::refreshTable);
+        searchController.setNarrowFilter((log, query) -> {
+            String q = query.toLowerCase();
+            return (log.getUserId() != 0 && log.getUsername().toLowerCase().contains(q))
+                || (log.getAction() != null && log.getAction().toLowerCase().contains(q))
+                || (log.getDetails() != null && log.getDetails().toLowerCase().contains(q));
         });
         searchPanel.add(searchField);
         add(searchPanel, BorderLayout.NORTH);
 
         // Table setup
         String[] columns = {"ID", "Username", "Action", "Details", "Timestamp"};
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+        Class<?>[] columnClasses = {Integer.class, String.class, String.class, String.class, LocalDateTime.class};
+        tableModel = new PagedTableModel<>(columns, columnClasses, PAGE_SIZE / 2, AuditLogDAO.AuditLog::getId, (log, row, column) -> {
+            switch (column) {
+                case 0: return log.getId();
+                case 1: return log.getUsername();
+                case 2: return log.getAction();
+                case 3: return log.getDetails();
+                default: return log.getTimestamp();
             }
-        };
+        });
         logTable = new JTable(tableModel);
         logTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        tableModel.installSorter(logTable);
         add(new JScrollPane(logTable), BorderLayout.CENTER);
 
         // Button panel
@@ -80,45 +101,25 @@ public class AuditLogView extends JPanel implements ThemeManager.ThemeChangeList
         applyThemeToTable();
     }
 
-    private void refreshTable() {
-        try {
-            tableModel.setRowCount(0);
-            List<AuditLogDAO.AuditLog> logs = auditLogDAO.getAllAuditLogs();
-            for (AuditLogDAO.AuditLog log : logs) {
-                tableModel.addRow(new Object[]{
-                    log.getId(),
-                    log.getUsername(),
-                    log.getAction(),
-                    log.getDetails(),
-                    log.getTimestamp().toString()
-                });
+    private void applyAuditChanges(ChangeFeed.Changes changes) {
+        if (changes.isResync()) {
+            if (tableModel.isPaged()) {
+                refreshTable();
             }
-            applyThemeToTable();
-        } catch (SQLException e) {
-            System.err.println("[ERROR] AuditLogView: SQLException - " + e.getMessage());
-            ErrorHandler.handleError(this, "Error loading audit logs", e);
+            return;
         }
+        tableModel.applyChanges(changes.getAuditLogs(), List.of(),
+            Comparator.comparingInt(AuditLogDAO.AuditLog::getId).reversed());
     }
 
-    private void searchLogs() {
-        String query = searchField.getText().trim();
-        try {
-            tableModel.setRowCount(0);
-            List<AuditLogDAO.AuditLog> logs = query.isEmpty() ? auditLogDAO.getAllAuditLogs() : auditLogDAO.searchAuditLogs(query);
-            for (AuditLogDAO.AuditLog log : logs) {
-                tableModel.addRow(new Object[]{
-                    log.getId(),
-                    log.getUsername(),
-                    log.getAction(),
-                    log.getDetails(),
-                    log.getTimestamp().toString()
-                });
-            }
-            applyThemeToTable();
-        } catch (SQLException e) {
-            System.err.println("[ERROR] AuditLogView: SQLException during search - " + e.getMessage());
-            ErrorHandler.handleError(this, "Error searching audit logs", e);
-        }
+    private void refreshTable() {
+        searchController.invalidate();
+        tableModel.resetAsync("Load audit logs", new KeysetPager<>(auditLogDAO::getAuditLogsPage, PAGE_SIZE, 0),
+            this::applyThemeToTable,
+            e -> {
+                System.err.println("[ERROR] AuditLogView: SQLException - " + e.getMessage());
+                ErrorHandler.handleError(this, "Error loading audit logs", e);
+            });
     }
 
     private void applyThemeToTable() {
@@ -2,30 +2,52 @@ package main.java.com.inventory.views;
 
 import main.java.com.inventory.models.User;
 import main.java.com.inventory.services.SessionManager;
+import main.java.com.inventory.services.AuditRetentionService;
+import main.java.com.inventory.services.ChangeFeed;
+import main.java.com.inventory.services.InventoryStatistics;
+import main.java.com.inventory.services.LowStockMonitor;
+import main.java.com.inventory.services.TaskExecutor;
+import main.java.com.inventory.utils.StartupTimings;
 import main.java.com.inventory.utils.ThemeManager;
 import main.java.com.inventory.utils.ThemeTogglePanel;
 import main.java.com.inventory.dao.DBConnection;
+import main.java.com.inventory.remote.DataAccess;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
-import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 public class DashboardView extends JFrame implements ThemeManager.ThemeChangeListener {
     private User currentUser;
-    private Connection conn;
     private JButton logoutButton;
     private JToolBar toolBar;
     private JTabbedPane tabbedPane;
+    private final Map<JPanel, Supplier<JComponent>> tabFactories = new HashMap<>();
+    private JLabel statsLabel;
+    private final AtomicBoolean statsUpdateQueued = new AtomicBoolean();
+    private final InventoryStatistics.StatisticsListener statsListener = _ -> {
+        // Bursts of changes (batch edits, reconciles) collapse into one label update
+        if (statsUpdateQueued.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::updateStatsLabel);
+        }
+    };
 
     public DashboardView(User user) {
         this.currentUser = user;
         try {
-            this.conn = DBConnection.getConnection();
+            DataAccess.checkAvailable(); // Fail fast if the database, or the server, is unreachable
             initializeUI();
+            ChangeFeed.getInstance().start();
+            if (!DataAccess.isRemote()) {
+                AuditRetentionService.getInstance().start(); // The server archives for remote terminals
+            }
             setupWindowListener();
             ThemeManager.addThemeChangeListener(this);
             applyThemeToComponents();
@@ -36,7 +58,7 @@ public class DashboardView extends JFrame implements ThemeManager.ThemeChangeLis
         }
     }
 
-    private void initializeUI() throws SQLException {
+    private void initializeUI() {
         setTitle("Dashboard - Welcome, " + currentUser.getUsername()+ " (" + currentUser.getRole() + ")");
         setSize(1000, 700);
         setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
@@ -63,17 +85,17 @@ public class DashboardView extends JFrame implements ThemeManager.ThemeChangeLis
 
         // Product tab: Visible to Owner, Manager, Admin, and Staff
         if (role.equals("owner") || role.equals("manager") || role.equals("admin") || role.equals("staff")) {
-            tabbedPane.addTab("Products", new ProductView(currentUser, conn));
+            addLazyTab("Products", () -> new ProductView(currentUser));
         }
 
         // User tab: Visible to Owner, Manager, and Admin
         if (role.equals("owner") || role.equals("manager") || role.equals("admin")) {
-            tabbedPane.addTab("Users", new UserView(conn));
+            addLazyTab("Users", UserView::new);
         }
 
         // Audit Log tab: Visible to Owner, Manager, and Admin
         if (role.equals("owner") || role.equals("manager") || role.equals("admin")) {
-            tabbedPane.addTab("Audit Logs", new AuditLogView(currentUser, conn));
+            addLazyTab("Audit Logs", () -> new AuditLogView(currentUser));
         }
         
         // Ensure at least one tab is added; if no tabs are visible, show an error
@@ -83,15 +105,75 @@ public class DashboardView extends JFrame implements ThemeManager.ThemeChangeLis
             performLogout(null);
             return;
         }
+        tabbedPane.addChangeListener(_ -> loadSelectedTab());
+        loadSelectedTab();
 
         add(tabbedPane, BorderLayout.CENTER);
 
+        // Inventory totals come from the statistics service's snapshot, never from a query of their own
+        statsLabel = new JLabel(" ");
+        statsLabel.setBorder(BorderFactory.createEmptyBorder(4, 10, 4, 10));
+        add(statsLabel, BorderLayout.SOUTH);
+        InventoryStatistics statistics = InventoryStatistics.getInstance();
+        statistics.addListener(statsListener);
+        statistics.start();
+        updateStatsLabel();
+
         ThemeManager.applyThemeToComponent(tabbedPane);
         for (Component tab : tabbedPane.getComponents()) {
             ThemeManager.applyThemeToComponent(tab);
         }
     }
 
+    // Tabs start as empty placeholders; a view is only built, and loads its data, when first selected
+    private void addLazyTab(String title, Supplier<JComponent> factory) {
+        JPanel placeholder = new JPanel(new BorderLayout());
+        tabFactories.put(placeholder, factory);
+        tabbedPane.addTab(title, placeholder);
+    }
+
+    private void loadSelectedTab() {
+        int index = tabbedPane.getSelectedIndex();
+        if (index < 0) {
+            return;
+        }
+        JPanel placeholder = (JPanel) tabbedPane.getComponentAt(index);
+        Supplier<JComponent> factory = tabFactories.remove(placeholder);
+        if (factory == null) {
+            return;
+        }
+        long start = StartupTimings.now();
+        JComponent view = factory.get();
+        placeholder.add(view, BorderLayout.CENTER);
+        ThemeManager.applyThemeToComponent(view);
+        placeholder.revalidate();
+        StartupTimings.record("Tab " + tabbedPane.getTitleAt(index), start); // Ignored once startup has finished
+    }
+
+    private void updateStatsLabel() {
+        statsUpdateQueued.set(false);
+        InventoryStatistics.Snapshot snapshot = InventoryStatistics.getInstance().getSnapshot();
+        if (snapshot.getUpdatedAt() == 0) {
+            statsLabel.setText("Inventory statistics loading...");
+            statsLabel.setToolTipText(null);
+            return;
+        }
+        statsLabel.setText(String.format("Products: %,d    Units: %,d    Stock value: ₱%,.2f    Low stock: %,d",
+            snapshot.getProducts(), snapshot.getUnits(), snapshot.getValue(), snapshot.getLowStock()));
+        StringBuilder tooltip = new StringBuilder("<html><table><tr><th align=left>Category</th><th>Products</th>" +
+            "<th>Units</th><th>Value</th><th>Low</th></tr>");
+        for (InventoryStatistics.CategoryStats stats : snapshot.getCategories()) {
+            tooltip.append(String.format("<tr><td>%s</td><td align=right>%,d</td><td align=right>%,d</td>" +
+                "<td align=right>₱%,.2f</td><td align=right>%,d</td></tr>",
+                escapeHtml(stats.getCategory()), stats.getProducts(), stats.getUnits(), stats.getValue(), stats.getLowStock()));
+        }
+        statsLabel.setToolTipText(tooltip.append("</table></html>").toString());
+    }
+
+    private static String escapeHtml(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
     private void setupWindowListener() {
         addWindowListener(new WindowAdapter() {
             @Override
@@ -127,6 +209,11 @@ public class DashboardView extends JFrame implements ThemeManager.ThemeChangeLis
                 SessionManager.clearSession(userToLogout);
             }
 
+            ChangeFeed.getInstance().stop();
+            LowStockMonitor.getInstance().stop();
+            AuditRetentionService.getInstance().stop();
+            InventoryStatistics.getInstance().stop();
+            TaskExecutor.getInstance().logMetrics();
             DBConnection.closeConnection();
 
             ThemeManager.setTheme(ThemeManager.ThemeMode.LIGHT);
@@ -158,6 +245,9 @@ public class DashboardView extends JFrame implements ThemeManager.ThemeChangeLis
             ThemeManager.LIGHT_COLORS.get("ToolBar.background") : ThemeManager.DARK_COLORS.get("ToolBar.background"));
         ThemeManager.applyThemeToComponent(toolBar);
         ThemeManager.applyThemeToComponent(logoutButton);
+        if (statsLabel != null) {
+            ThemeManager.applyThemeToComponent(statsLabel);
+        }
         
         tabbedPane.setBackground(ThemeManager.getCurrentTheme() == ThemeManager.ThemeMode.LIGHT ?
             ThemeManager.LIGHT_COLORS.get("TabbedPane.background") : ThemeManager.DARK_COLORS.get("TabbedPane.background"));
@@ -5,30 +5,31 @@ import main.java.com.inventory.dao.UserDAO;
 import main.java.com.inventory.services.SessionManager;
 import main.java.com.inventory.utils.ThemeManager;
 import main.java.com.inventory.utils.ErrorHandler;
-import main.java.com.inventory.dao.DBConnection;
+import main.java.com.inventory.remote.DataAccess;
 import main.java.com.inventory.dao.AuditLogDAO;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
-import java.sql.Connection;
 import java.sql.SQLException;
 
 public class LoginView extends JFrame implements ThemeManager.ThemeChangeListener {
     private JTextField usernameField;
     private JPasswordField passwordField;
     private JComboBox<String> roleComboBox;
-    private Connection conn;
 
     public LoginView() {
-        try {
-            this.conn = DBConnection.getConnection(); // Use singleton connection
-            initializeUI();
-            ThemeManager.addThemeChangeListener(this);
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(null, "Database connection failed: " + e.getMessage(), 
-                "Error", JOptionPane.ERROR_MESSAGE);
-            System.exit(1);
-        }
+        // The pool opens (or the server is checked) in the background while the form is built; still fail fast if it cannot
+        DataAccess.warmUpAsync().whenComplete((_, error) -> {
+            if (error != null) {
+                SwingUtilities.invokeLater(() -> {
+                    JOptionPane.showMessageDialog(null, "Database connection failed: " + error.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+                    System.exit(1);
+                });
+            }
+        });
+        initializeUI();
+        ThemeManager.addThemeChangeListener(this);
     }
 
     private void initializeUI() {
@@ -79,12 +80,12 @@ public class LoginView extends JFrame implements ThemeManager.ThemeChangeListene
                 throw new IllegalArgumentException("Username and password cannot be empty");
             }
 
-            UserDAO userDAO = new UserDAO(conn);
+            UserDAO userDAO = DataAccess.users();
             User authenticatedUser = userDAO.validateUser(username, password, role);
 
             if (authenticatedUser != null) {
                 // Log the login action
-                AuditLogDAO auditLogDAO = new AuditLogDAO(conn);
+                AuditLogDAO auditLogDAO = DataAccess.auditLogs();
                 auditLogDAO.logAction(authenticatedUser.getId(), "User Logged In", 
                     "Username: " + username + ", Role: " + role);
 
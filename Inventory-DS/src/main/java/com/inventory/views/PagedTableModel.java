@@ -0,0 +1,338 @@
+package main.java.com.inventory.views;
+
+import main.java.com.inventory.dao.KeysetPager;
+import main.java.com.inventory.dao.Page;
+import main.java.com.inventory.services.TaskExecutor;
+import javax.swing.JTable;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableRowSorter;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+// Table model over the DAO's row objects. It pulls keyset pages on demand as the table renders rows near
+// the end of what is loaded, and replaces its contents with row-level diffs so only changed rows repaint.
+// Cell values are raw; formatting is left to the column renderers.
+public class PagedTableModel<T> extends AbstractTableModel {
+    private final String[] columns;
+    private final Class<?>[] columnClasses;
+    private final RowKey<T> rowKey;
+    private final RowMapper<T> mapper;
+    private final List<T> rows = new ArrayList<>();
+    private final int prefetchThreshold;
+    private TableRowSorter<PagedTableModel<T>> sorter;
+    private KeysetPager<T> pager;
+    private boolean loading = false;
+    private int generation = 0; // Bumped whenever the contents are replaced, so late loads can tell they are stale
+
+    public interface RowMapper<T> {
+        Object getValue(T item, int row, int column);
+    }
+
+    // Identifies the same record across refreshes, normally its database id
+    public interface RowKey<T> {
+        Object keyOf(T item);
+    }
+
+    public PagedTableModel(String[] columns, Class<?>[] columnClasses, int prefetchThreshold,
+                           RowKey<T> rowKey, RowMapper<T> mapper) {
+        this.columns = columns;
+        this.columnClasses = columnClasses;
+        this.prefetchThreshold = prefetchThreshold;
+        this.rowKey = rowKey;
+        this.mapper = mapper;
+    }
+
+    // Sorts (and, given a RowFilter, filters) the loaded rows in memory. The sorter reads cells without
+    // triggering page loads, and prefetching follows the sorted view rather than the model order.
+    public TableRowSorter<PagedTableModel<T>> installSorter(JTable table) {
+        sorter = new TableRowSorter<>(this) {
+            {
+                setModelWrapper(new ModelWrapper<PagedTableModel<T>, Integer>() {
+                    @Override
+                    public PagedTableModel<T> getModel() { return PagedTableModel.this; }
+                    @Override
+                    public int getColumnCount() { return columns.length; }
+                    @Override
+                    public int getRowCount() { return rows.size(); }
+                    @Override
+                    public Object getValueAt(int row, int column) { return mapper.getValue(rows.get(row), row, column); }
+                    @Override
+                    public Integer getIdentifier(int row) { return row; }
+                });
+            }
+        };
+        sorter.setSortsOnUpdates(true);
+        table.setRowSorter(sorter);
+        return sorter;
+    }
+
+    // Replaces the contents with a fresh pager; the first page is loaded on the calling thread
+    public void reset(KeysetPager<T> newPager) throws SQLException {
+        show(newPager, newPager.nextPage());
+    }
+
+    // Loads the first page on the shared task executor and swaps it in on the EDT; repeated calls with
+    // the same task name while one is loading collapse into a single reload
+    public void resetAsync(String taskName, KeysetPager<T> newPager, Runnable onLoaded, Consumer<Exception> onError) {
+        int requestedAt = ++generation;
+        TaskExecutor.getInstance().submitCoalesced(taskName, _ -> newPager.nextPage(),
+            first -> {
+                if (requestedAt != generation) {
+                    // Search results or a newer reset replaced the contents while this page was loading
+                    newPager.cancel();
+                    return;
+                }
+                show(newPager, first);
+                if (onLoaded != null) {
+                    onLoaded.run();
+                }
+            },
+            e -> {
+                newPager.cancel();
+                onError.accept(e);
+            });
+    }
+
+    private void show(KeysetPager<T> newPager, Page<T> first) {
+        generation++;
+        if (pager != null) {
+            pager.cancel();
+        }
+        pager = newPager;
+        loading = false;
+        replaceRows(first != null ? first.getItems() : List.of());
+    }
+
+    // Shows a fixed list (e.g. search results) with no further paging
+    public void setRows(List<T> items) {
+        generation++;
+        if (pager != null) {
+            pager.cancel();
+            pager = null;
+        }
+        loading = false;
+        replaceRows(items);
+    }
+
+    // Moves from the current rows to the new ones firing events only for deleted, inserted and changed
+    // rows, so selection and scroll position survive a refresh. Falls back to a full change if the
+    // surviving rows came back in a different order.
+    private void replaceRows(List<T> items) {
+        if (rows.isEmpty() || items.isEmpty()) {
+            rows.clear();
+            rows.addAll(items);
+            fireTableDataChanged();
+            return;
+        }
+
+        Set<Object> newKeys = new HashSet<>();
+        for (T item : items) {
+            newKeys.add(rowKey.keyOf(item));
+        }
+        // Deletions back to front so earlier indexes stay valid; adjacent rows go out as one event
+        int i = rows.size() - 1;
+        while (i >= 0) {
+            if (newKeys.contains(rowKey.keyOf(rows.get(i)))) {
+                i--;
+                continue;
+            }
+            int last = i;
+            while (i >= 0 && !newKeys.contains(rowKey.keyOf(rows.get(i)))) {
+                i--;
+            }
+            rows.subList(i + 1, last + 1).clear();
+            fireTableRowsDeleted(i + 1, last);
+        }
+
+        int matched = 0;
+        for (T item : items) {
+            if (matched < rows.size() && sameKey(rows.get(matched), item)) {
+                matched++;
+            }
+        }
+        if (matched != rows.size()) {
+            rows.clear();
+            rows.addAll(items);
+            fireTableDataChanged();
+            return;
+        }
+
+        // Surviving rows are now a subsequence of the new ones: walk both, inserting runs of new rows
+        int row = 0;
+        int insertStart = -1;
+        for (T item : items) {
+            if (row < rows.size() && sameKey(rows.get(row), item)) {
+                if (insertStart >= 0) {
+                    fireTableRowsInserted(insertStart, row - 1);
+                    insertStart = -1;
+                }
+                T previous = rows.set(row, item);
+                if (!sameValues(previous, item, row)) {
+                    fireTableRowsUpdated(row, row);
+                }
+            } else {
+                if (insertStart < 0) {
+                    insertStart = row;
+                }
+                rows.add(row, item);
+            }
+            row++;
+        }
+        if (insertStart >= 0) {
+            fireTableRowsInserted(insertStart, row - 1);
+        }
+    }
+
+    // Patches the rows with records changed elsewhere, e.g. from a change feed: known keys are replaced in
+    // place and deleted keys removed. New records go where order (the pager's order) puts them, unless that is
+    // past the loaded rows while more pages remain; the pager brings those. Fixed lists such as search results
+    // are only updated and trimmed, since there is no telling whether a new record would match.
+    public void applyChanges(List<T> changed, Collection<?> deletedKeys, Comparator<T> order) {
+        if (!deletedKeys.isEmpty()) {
+            Set<Object> deleted = new HashSet<>(deletedKeys);
+            for (int i = rows.size() - 1; i >= 0; i--) {
+                if (deleted.contains(rowKey.keyOf(rows.get(i)))) {
+                    rows.remove(i);
+                    fireTableRowsDeleted(i, i);
+                }
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        Map<Object, Integer> positions = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            positions.put(rowKey.keyOf(rows.get(i)), i);
+        }
+        List<T> added = new ArrayList<>();
+        for (T item : changed) {
+            Integer row = positions.get(rowKey.keyOf(item));
+            if (row == null) {
+                added.add(item);
+                continue;
+            }
+            T previous = rows.set(row, item);
+            if (!sameValues(previous, item, row)) {
+                fireTableRowsUpdated(row, row);
+            }
+        }
+        if (pager == null) {
+            return;
+        }
+        for (T item : added) {
+            int row = Collections.binarySearch(rows, item, order);
+            if (row >= 0) {
+                continue; // Same position as a loaded row, i.e. already there
+            }
+            row = -row - 1;
+            if (row == rows.size() && pager.hasMore()) {
+                continue;
+            }
+            rows.add(row, item);
+            fireTableRowsInserted(row, row);
+        }
+    }
+
+    private boolean sameKey(T a, T b) {
+        return Objects.equals(rowKey.keyOf(a), rowKey.keyOf(b));
+    }
+
+    private boolean sameValues(T a, T b, int row) {
+        for (int column = 0; column < columns.length; column++) {
+            if (!Objects.equals(mapper.getValue(a, row, column), mapper.getValue(b, row, column))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public T getRow(int row) {
+        return rows.get(row);
+    }
+
+    // False while showing a fixed list such as search results
+    public boolean isPaged() {
+        return pager != null;
+    }
+
+    public boolean hasMore() {
+        return pager != null && pager.hasMore();
+    }
+
+    private void loadMore() {
+        KeysetPager<T> activePager = pager;
+        loading = true;
+        TaskExecutor.getInstance().submit("Load next page", _ -> activePager.nextPage(),
+            page -> {
+                if (activePager != pager) {
+                    return; // Model was reset while this page was loading
+                }
+                loading = false;
+                if (page != null && !page.getItems().isEmpty()) {
+                    // applyChanges may have inserted some of these while the page was loading
+                    Set<Object> loaded = new HashSet<>();
+                    for (T row : rows) {
+                        loaded.add(rowKey.keyOf(row));
+                    }
+                    int firstRow = rows.size();
+                    for (T item : page.getItems()) {
+                        if (!loaded.contains(rowKey.keyOf(item))) {
+                            rows.add(item);
+                        }
+                    }
+                    if (rows.size() > firstRow) {
+                        fireTableRowsInserted(firstRow, rows.size() - 1);
+                    }
+                }
+            },
+            e -> {
+                if (activePager == pager) {
+                    loading = false;
+                }
+                System.err.println("[ERROR] PagedTableModel: Failed to load next page - " + e.getMessage());
+            });
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return columnClasses[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        if (!loading && hasMore()) {
+            int position = sorter == null ? row : sorter.convertRowIndexToView(row);
+            int visibleRows = sorter == null ? rows.size() : sorter.getViewRowCount();
+            if (position >= 0 && position >= visibleRows - prefetchThreshold) {
+                loadMore();
+            }
+        }
+        return mapper.getValue(rows.get(row), row, column);
+    }
+}
@@ -1,45 +1,72 @@
 package main.java.com.inventory.views;
 
+import main.java.com.inventory.dao.DatabaseBackup;
 import main.java.com.inventory.dao.ProductDAO;
+import main.java.com.inventory.dao.KeysetPager;
+import main.java.com.inventory.dao.StaleProductException;
 import main.java.com.inventory.models.Product;
+import main.java.com.inventory.models.Permission;
 import main.java.com.inventory.models.User;
+import main.java.com.inventory.remote.DataAccess;
+import main.java.com.inventory.services.ChangeFeed;
+import main.java.com.inventory.services.LowStockMonitor;
 import main.java.com.inventory.utils.ErrorHandler;
+import main.java.com.inventory.utils.SearchController;
 import main.java.com.inventory.utils.ThemeManager;
 import main.java.com.inventory.dao.AuditLogDAO;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
 import java.awt.event.*;
-import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.io.IOException;
 import com.opencsv.exceptions.CsvValidationException;
 
 public class ProductView extends JPanel implements ThemeManager.ThemeChangeListener {
     private JTable productTable;
-    private DefaultTableModel tableModel;
+    private PagedTableModel<Product> tableModel;
+    private SearchController<Product> searchController;
     private User currentUser;
+    private final boolean fullProductAccess; // Owners and managers may use every product action
     private ProductDAO productDAO;
-    private Connection conn;
     private JTextField searchField;
-    private JButton addButton, editButton, deleteButton, refreshButton, lowStockButton;
+    private JButton addButton, editButton, deleteButton, refreshButton, lowStockButton, adjustStockButton;
     private JButton importButton, exportButton;
     private JButton backupButton, restoreButton;
-    private static final int LOW_STOCK_THRESHOLD = 20;
+    private JLabel lowStockLabel;
+    private LowStockMonitor lowStockMonitor;
+    private static final int PAGE_SIZE = 200;
+    private static final int SEARCH_DEBOUNCE_MS = 250;
 
-    public ProductView(User user, Connection conn) {
+    public ProductView(User user) {
         this.currentUser = user;
-        this.conn = conn;
-        this.productDAO = new ProductDAO(conn, currentUser.getId());
+        String role = user.getRole() != null ? user.getRole().toLowerCase() : "";
+        this.fullProductAccess = role.equals("owner") || role.equals("manager");
+        this.productDAO = DataAccess.products(currentUser.getId());
         setLayout(new BorderLayout());
         setupKeyBindings();
         initializeUI();
         applyThemeToTable();
         refreshTable();
+        logProductView();
         ThemeManager.addThemeChangeListener(this);
+
+        // Alerts arrive from the monitor instead of a low-stock query after every refresh
+        lowStockMonitor = LowStockMonitor.getInstance();
+        lowStockMonitor.addListener(_ -> SwingUtilities.invokeLater(this::updateLowStockLabel));
+        lowStockMonitor.start();
+
+        // Other clients' edits are patched into the table row by row as the feed reports them
+        ChangeFeed.getInstance().addListener(changes -> {
+            if (changes.hasProductChanges()) {
+                SwingUtilities.invokeLater(() -> applyProductChanges(changes));
+            }
+        });
     }
 
     private void initializeUI() {
@@ -48,23 +75,57 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
         searchPanel.add(new JLabel("Search:"));
         searchField = new JTextField(20);
         searchField.setToolTipText("Search by Display ID, Name, Category, or Description (Ctrl+S)");
-        searchField.addKeyListener(new KeyAdapter() {
-            public void keyReleased(KeyEvent e) {
-                searchProducts();
+        searchController = new SearchController<>(searchField, SEARCH_DEBOUNCE_MS,
+            this::findProducts,
+            (query, products) -> showSearchResults(products),
+            (query, e) -> {
+                System.err.println("[ERROR] ProductView: Error searching products - " + e.getMessage());
+                ErrorHandler.handleError(this, "Error searching products", e);
+            },
+            this::showAllProducts);
+        searchController.setNarrowFilter(new SearchController.NarrowFilter<Product>() {
+            @Override
+            public boolean matches(Product product, String query) {
+                String q = query.toLowerCase();
+                return containsIgnoreCase(product.getName(), q)
+                    || containsIgnoreCase(product.getDescription(), q)
+                    || containsIgnoreCase(product.getCategoryName(), q);
+            }
+
+            @Override
+            public boolean canNarrow(String query) {
+                return !query.matches("\\d+"); // Numeric input is a display-ID lookup, not a substring match
             }
         });
         searchPanel.add(searchField);
+        lowStockLabel = new JLabel();
+        lowStockLabel.setForeground(new Color(200, 90, 0));
+        searchPanel.add(lowStockLabel);
         add(searchPanel, BorderLayout.NORTH);
 
         String[] columns = {"ID", "Name", "Category", "Stock", "Price", "Description", "DB_ID"};
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+        Class<?>[] columnClasses = {Integer.class, String.class, String.class, Integer.class, Double.class, String.class, Integer.class};
+        tableModel = new PagedTableModel<>(columns, columnClasses, PAGE_SIZE / 2, Product::getId, (product, row, column) -> {
+            switch (column) {
+                case 0: return product.getDisplayId() > 0 ? product.getDisplayId() : row + 1;
+                case 1: return product.getName();
+                case 2: return product.getCategoryName();
+                case 3: return product.getStock() == null ? 0 : product.getStock();
+                case 4: return product.getPrice();
+                case 5: return product.getDescription();
+                default: return product.getId();
             }
-        };
+        });
         productTable = new JTable(tableModel);
-        productTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        productTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        tableModel.installSorter(productTable);
+        // Formatted only for the rows actually painted
+        productTable.getColumnModel().getColumn(4).setCellRenderer(new DefaultTableCellRenderer() {
+            @Override
+            protected void setValue(Object value) {
+                setText(value == null ? "" : String.format("₱%.2f", (Double) value));
+            }
+        });
 
         JScrollPane scrollPane = new JScrollPane(productTable);
         add(scrollPane, BorderLayout.CENTER);
@@ -75,6 +136,7 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
         addButton = new JButton("Add");
         editButton = new JButton("Edit");
         deleteButton = new JButton("Delete");
+        adjustStockButton = new JButton("Adjust Stock");
         refreshButton = new JButton("View All");
         lowStockButton = new JButton("Check Low Stock");
         importButton = new JButton("Import CSV");
@@ -83,42 +145,50 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
         restoreButton = new JButton("Restore");
 
         addButton.addActionListener(_ -> {
-            if (hasPermission("add")) showProductDialog(null);
+            if (hasPermission(Permission.ADD)) showProductDialog(null);
             else ErrorHandler.handleError(this, "Permission denied: Add not allowed");
         });
         editButton.addActionListener(_ -> {
-            if (hasPermission("edit")) editSelectedProduct();
+            if (hasPermission(Permission.EDIT)) editSelectedProduct();
             else ErrorHandler.handleError(this, "Permission denied: Edit not allowed");
         });
         deleteButton.addActionListener(_ -> {
-            if (hasPermission("delete")) deleteSelectedProduct();
+            if (hasPermission(Permission.DELETE)) deleteSelectedProduct();
             else ErrorHandler.handleError(this, "Permission denied: Delete not allowed");
         });
-        refreshButton.addActionListener(_ -> refreshTable());
+        adjustStockButton.addActionListener(_ -> {
+            if (hasPermission(Permission.EDIT)) adjustSelectedStock();
+            else ErrorHandler.handleError(this, "Permission denied: Edit not allowed");
+        });
+        refreshButton.addActionListener(_ -> {
+            refreshTable();
+            logProductView();
+        });
         lowStockButton.addActionListener(_ -> {
-            if (hasPermission("lowStock")) checkLowStock();
+            if (hasPermission(Permission.LOW_STOCK)) checkLowStock();
             else ErrorHandler.handleError(this, "Permission denied: Low Stock check not allowed");
         });
         importButton.addActionListener(_ -> {
-            if (hasPermission("add")) importCSV();
+            if (hasPermission(Permission.ADD)) importCSV();
             else ErrorHandler.handleError(this, "Permission denied: Import not allowed");
         });
         exportButton.addActionListener(_ -> {
-            if (hasPermission("view")) exportCSV();
+            if (hasPermission(Permission.VIEW)) exportCSV();
             else ErrorHandler.handleError(this, "Permission denied: Export not allowed");
         });
         backupButton.addActionListener(_ -> {
-            if (hasPermission("view")) backupDatabase();
+            if (hasPermission(Permission.VIEW)) backupDatabase();
             else ErrorHandler.handleError(this, "Permission denied: Backup not allowed");
         });
         restoreButton.addActionListener(_ -> {
-            if (hasPermission("view")) restoreDatabase();
+            if (hasPermission(Permission.VIEW)) restoreDatabase();
             else ErrorHandler.handleError(this, "Permission denied: Restore not allowed");
         });
 
         buttonPanel.add(addButton);
         buttonPanel.add(editButton);
         buttonPanel.add(deleteButton);
+        buttonPanel.add(adjustStockButton);
         buttonPanel.add(refreshButton);
         buttonPanel.add(lowStockButton);
         buttonPanel.add(importButton);
@@ -131,6 +201,7 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
         addButton.setToolTipText("Add new product (Ctrl+A)");
         editButton.setToolTipText("Edit selected product (Ctrl+E)");
         deleteButton.setToolTipText("Delete selected product (Ctrl+D)");
+        adjustStockButton.setToolTipText("Receive or remove stock for the selected product");
         lowStockButton.setToolTipText("Check products with low stock (Ctrl+L)");
         importButton.setToolTipText("Import products from CSV file (Ctrl+I)");
         exportButton.setToolTipText("Export products to CSV file (Ctrl+E)");
@@ -159,7 +230,7 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
         actionMap.put("add", new AbstractAction() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                if (hasPermission("add")) showProductDialog(null);
+                if (hasPermission(Permission.ADD)) showProductDialog(null);
                 else ErrorHandler.handleError(ProductView.this, "Permission denied: Add not allowed");
             }
         });
@@ -168,7 +239,7 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
         actionMap.put("edit", new AbstractAction() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                if (hasPermission("edit")) editSelectedProduct();
+                if (hasPermission(Permission.EDIT)) editSelectedProduct();
                 else ErrorHandler.handleError(ProductView.this, "Permission denied: Edit not allowed");
             }
         });
@@ -177,7 +248,7 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
         actionMap.put("delete", new AbstractAction() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                if (hasPermission("delete")) deleteSelectedProduct();
+                if (hasPermission(Permission.DELETE)) deleteSelectedProduct();
                 else ErrorHandler.handleError(ProductView.this, "Permission denied: Delete not allowed");
             }
         });
@@ -194,7 +265,7 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
         actionMap.put("lowStock", new AbstractAction() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                if (hasPermission("lowStock")) checkLowStock();
+                if (hasPermission(Permission.LOW_STOCK)) checkLowStock();
                 else ErrorHandler.handleError(ProductView.this, "Permission denied: Low Stock check not allowed");
             }
         });
@@ -203,7 +274,7 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
         actionMap.put("import", new AbstractAction() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                if (hasPermission("add")) importCSV();
+                if (hasPermission(Permission.ADD)) importCSV();
                 else ErrorHandler.handleError(ProductView.this, "Permission denied: Import not allowed");
             }
         });
@@ -212,7 +283,7 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
         actionMap.put("export", new AbstractAction() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                if (hasPermission("view")) exportCSV();
+                if (hasPermission(Permission.VIEW)) exportCSV();
                 else ErrorHandler.handleError(ProductView.this, "Permission denied: Export not allowed");
             }
         });
@@ -221,7 +292,7 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
         actionMap.put("backup", new AbstractAction() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                if (hasPermission("view")) backupDatabase();
+                if (hasPermission(Permission.VIEW)) backupDatabase();
                 else ErrorHandler.handleError(ProductView.this, "Permission denied: Backup not allowed");
             }
         });
@@ -230,36 +301,25 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
         actionMap.put("restore", new AbstractAction() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                if (hasPermission("view")) restoreDatabase();
+                if (hasPermission(Permission.VIEW)) restoreDatabase();
                 else ErrorHandler.handleError(ProductView.this, "Permission denied: Restore not allowed");
             }
         });
     }
 
     private void refreshTable() {
-        tableModel.setRowCount(0);
+        searchController.invalidate();
+        showAllProducts();
+    }
+
+    // Only for an explicit look at the catalog; the reloads after each change are covered by that change's entry
+    private void logProductView() {
         try {
-            List<Product> products = productDAO.getAllProducts();
-            for (Product product : products) {
-                tableModel.addRow(new Object[]{
-                    product.getDisplayId(),
-                    product.getName(),
-                    product.getCategoryName(),
-                    product.getStock() == null ? 0 : product.getStock(),
-                    String.format("₱%.2f", product.getPrice()),
-                    product.getDescription(),
-                    product.getId()
-                });
-            }
-            AuditLogDAO auditLogDAO = new AuditLogDAO(conn);
+            AuditLogDAO auditLogDAO = DataAccess.auditLogs();
             auditLogDAO.logAction(currentUser.getId(), "Viewed all products", 
                 "Viewed by " + currentUser.getUsername());
-
-            applyThemeToTable();
-            checkLowStockOnRefresh();
         } catch (SQLException e) {
-            System.err.println("[ERROR] ProductView: Error loading products - " + e.getMessage());
-            ErrorHandler.handleError(this, "Error loading products", e);
+            System.err.println("[ERROR] ProductView: Error logging product view - " + e.getMessage());
         }
     }
 
@@ -272,115 +332,100 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
         productTable.repaint();
     }
 
-    private void checkLowStockOnRefresh() {
-        try {
-            List<Product> lowStockProducts = productDAO.getLowStockProducts(LOW_STOCK_THRESHOLD);
-            if (!lowStockProducts.isEmpty()) {
-                StringBuilder message = new StringBuilder("Low stock alert:\n");
-                for (Product product : lowStockProducts) {
-                    message.append(String.format("ID: %d, Name: %s, Stock: %d\n",
-                        product.getDisplayId(), product.getName(), product.getStock()));
-                }
-                JOptionPane optionPane = new JOptionPane(message.toString(), JOptionPane.WARNING_MESSAGE);
-                ThemeManager.applyThemeToOptionPane(optionPane);
-                JDialog dialog = optionPane.createDialog(this, "Low Stock Alert");
-                dialog.setVisible(true);
-            }
-        } catch (SQLException e) {
-            System.err.println("[ERROR] ProductView: Error checking low stock - " + e.getMessage());
-            ErrorHandler.handleError(this, "Error checking low stock", e);
-        }
+    private void updateLowStockLabel() {
+        int count = lowStockMonitor.getLowStockProducts().size();
+        lowStockLabel.setText(count == 0 ? "" : "Low stock: " + count + (count == 1 ? " product" : " products"));
+        lowStockLabel.setToolTipText(count == 0 ? null : "Click Check Low Stock (Ctrl+L) for details");
     }
 
     private void checkLowStock() {
-        try {
-            List<Product> lowStockProducts = productDAO.getLowStockProducts(LOW_STOCK_THRESHOLD);
-            if (lowStockProducts.isEmpty()) {
-                JOptionPane optionPane = new JOptionPane("No products with low stock.", JOptionPane.INFORMATION_MESSAGE);
-                ThemeManager.applyThemeToOptionPane(optionPane);
-                JDialog dialog = optionPane.createDialog(this, "Low Stock Check");
-                dialog.setVisible(true);
-            } else {
-                StringBuilder message = new StringBuilder("Low stock products:\n");
-                for (Product product : lowStockProducts) {
-                    message.append(String.format("ID: %d, Name: %s, Stock: %d\n",
-                        product.getDisplayId(), product.getName(), product.getStock()));
-                }
-                JOptionPane optionPane = new JOptionPane(message.toString(), JOptionPane.WARNING_MESSAGE);
-                ThemeManager.applyThemeToOptionPane(optionPane);
-                JDialog dialog = optionPane.createDialog(this, "Low Stock Products");
-                dialog.setVisible(true);
+        List<LowStockMonitor.LowStockEvent> lowStockProducts = lowStockMonitor.getLowStockProducts();
+        if (lowStockProducts.isEmpty()) {
+            JOptionPane optionPane = new JOptionPane("No products with low stock.", JOptionPane.INFORMATION_MESSAGE);
+            ThemeManager.applyThemeToOptionPane(optionPane);
+            JDialog dialog = optionPane.createDialog(this, "Low Stock Check");
+            dialog.setVisible(true);
+        } else {
+            StringBuilder message = new StringBuilder("Low stock products:\n");
+            for (LowStockMonitor.LowStockEvent product : lowStockProducts) {
+                message.append(String.format("ID: %d, Name: %s, Stock: %d (threshold %d)\n",
+                    product.getProductId(), product.getProductName(), product.getStock(), product.getThreshold()));
             }
-        } catch (SQLException e) {
-            System.err.println("[ERROR] ProductView: Error checking low stock - " + e.getMessage());
-            ErrorHandler.handleError(this, "Error checking low stock", e);
+            JOptionPane optionPane = new JOptionPane(message.toString(), JOptionPane.WARNING_MESSAGE);
+            ThemeManager.applyThemeToOptionPane(optionPane);
+            JDialog dialog = optionPane.createDialog(this, "Low Stock Products");
+            dialog.setVisible(true);
         }
     }
 
-    private void searchProducts() {
-        String query = searchField.getText().trim();
-        try {
-            tableModel.setRowCount(0);
-            List<Product> products;
-
-            if (query.matches("\\d+")) {
-                try {
-                    int displayId = Integer.parseInt(query);
-                    products = productDAO.getAllProducts();
-                    List<Product> filteredProducts = new ArrayList<>();
-                    for (Product product : products) {
-                        if (product.getDisplayId() == displayId) {
-                            filteredProducts.add(product);
-                            break;
-                        }
-                    }
-                    products = filteredProducts;
-                } catch (NumberFormatException e) {
-                    products = productDAO.searchProducts(query);
-                }
-            } else {
-                products = query.isEmpty() ? productDAO.getAllProducts() : productDAO.searchProducts(query);
-                int sequenceNumber = 1;
-                for (Product product : products) {
-                    product.setDisplayId(sequenceNumber++);
+    // Runs on the search worker thread
+    private List<Product> findProducts(String query) throws SQLException {
+        List<Product> products;
+
+        if (query.matches("\\d+")) {
+            try {
+                Product product = productDAO.getProductByDisplayId(Integer.parseInt(query));
+                products = new ArrayList<>();
+                if (product != null) {
+                    products.add(product);
                 }
+            } catch (NumberFormatException e) {
+                products = productDAO.searchProducts(query);
             }
+        } else {
+            products = productDAO.searchProducts(query);
+        }
+        return products;
+    }
 
-            for (Product product : products) {
-                tableModel.addRow(new Object[]{
-                    product.getDisplayId(),
-                    product.getName(),
-                    product.getCategoryName(),
-                    product.getStock(),
-                    String.format("₱%.2f", product.getPrice()),
-                    product.getDescription(),
-                    product.getId()
-                });
+    private void showSearchResults(List<Product> products) {
+        tableModel.setRows(products);
+        productTable.revalidate();
+        productTable.repaint();
+        applyThemeToTable();
+    }
+
+    private void showAllProducts() {
+        tableModel.resetAsync("Load products", new KeysetPager<>(productDAO::getProductsPage, PAGE_SIZE, 0),
+            this::applyThemeToTable,
+            e -> {
+                System.err.println("[ERROR] ProductView: Error loading products - " + e.getMessage());
+                ErrorHandler.handleError(this, "Error loading products", e);
+            });
+    }
+
+    private void applyProductChanges(ChangeFeed.Changes changes) {
+        if (changes.isResync()) {
+            if (tableModel.isPaged()) {
+                showAllProducts();
             }
-            productTable.revalidate();
-            productTable.repaint();
-            applyThemeToTable();
-        } catch (SQLException e) {
-            System.err.println("[ERROR] ProductView: Error searching products - " + e.getMessage());
-            ErrorHandler.handleError(this, "Error searching products", e);
+            return;
         }
+        tableModel.applyChanges(changes.getProducts(), changes.getDeletedProductIds(),
+            Comparator.comparingInt(Product::getId));
+    }
+
+    private static boolean containsIgnoreCase(String value, String lowerQuery) {
+        return value != null && value.toLowerCase().contains(lowerQuery);
     }
 
     private class ProductDialog extends JDialog implements ThemeManager.ThemeChangeListener {
-        private JTextField nameField, categoryField, stockField, priceField, descField;
+        private JTextField nameField, categoryField, stockField, priceField, descField, thresholdField;
         private JButton saveButton;
 
         public ProductDialog(Product product) {
             super(SwingUtilities.getWindowAncestor(ProductView.this), 
                   product == null ? "Add Product" : "Edit Product", 
                   Dialog.ModalityType.APPLICATION_MODAL);
-            setLayout(new GridLayout(6, 2, 10, 10));
+            setLayout(new GridLayout(7, 2, 10, 10));
 
             nameField = new JTextField(product != null ? product.getName() : "");
             categoryField = new JTextField(product != null ? product.getCategoryName() : "");
             stockField = new JTextField(product != null ? String.valueOf(product.getStock()) : "");
             priceField = new JTextField(product != null ? String.valueOf(product.getPrice()) : "");
             descField = new JTextField(product != null ? product.getDescription() : "");
+            thresholdField = new JTextField(String.valueOf(product != null
+                ? lowStockMonitor.getThreshold(product.getId()) : LowStockMonitor.DEFAULT_THRESHOLD));
             saveButton = new JButton("Save");
 
             add(new JLabel("Name:"));
@@ -393,6 +438,8 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
             add(priceField);
             add(new JLabel("Description:"));
             add(descField);
+            add(new JLabel("Low Stock Threshold:"));
+            add(thresholdField);
             add(saveButton);
 
             saveButton.addActionListener(_ -> saveProduct(product));
@@ -411,6 +458,7 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
             ThemeManager.applyThemeToComponent(stockField);
             ThemeManager.applyThemeToComponent(priceField);
             ThemeManager.applyThemeToComponent(descField);
+            ThemeManager.applyThemeToComponent(thresholdField);
             ThemeManager.applyThemeToComponent(saveButton);
             for (Component comp : getContentPane().getComponents()) {
                 if (comp instanceof JLabel) {
@@ -439,6 +487,7 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
                 String stockText = stockField.getText().trim();
                 String priceText = priceField.getText().trim();
                 String description = descField.getText().trim();
+                String thresholdText = thresholdField.getText().trim();
 
                 if (name.isEmpty() || category.isEmpty() || stockText.isEmpty() || priceText.isEmpty()) {
                     throw new IllegalArgumentException("All fields except description must be filled");
@@ -446,6 +495,7 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
 
                 int stock = Integer.parseInt(stockText);
                 double price = Double.parseDouble(priceText);
+                int threshold = thresholdText.isEmpty() ? LowStockMonitor.DEFAULT_THRESHOLD : Integer.parseInt(thresholdText);
 
                 if (stock < 0) {
                     throw new IllegalArgumentException("Stock cannot be negative");
@@ -453,6 +503,9 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
                 if (price < 0) {
                     throw new IllegalArgumentException("Price cannot be negative");
                 }
+                if (threshold < 0) {
+                    throw new IllegalArgumentException("Low stock threshold cannot be negative");
+                }
 
                 Product editedProduct = new Product(
                     product != null ? product.getId() : 0,
@@ -467,19 +520,32 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
                 if (product == null) {
                     success = productDAO.addProduct(editedProduct);
                 } else {
-                    success = productDAO.updateProduct(editedProduct);
+                    // Saves only what was changed here, merged onto anything saved meanwhile by someone else
+                    Product saved = productDAO.applyEdit(product, editedProduct);
+                    success = saved != null;
+                    if (success) {
+                        editedProduct = saved;
+                    }
                 }
 
                 if (success) {
+                    if (threshold != lowStockMonitor.getThreshold(editedProduct.getId())) {
+                        lowStockMonitor.setThreshold(editedProduct, threshold);
+                    }
                     refreshTable();
                     dispose();
                 } else {
                     throw new SQLException("Failed to save product");
                 }
             } catch (NumberFormatException ex) {
-                ErrorHandler.handleError(this, "Invalid number format for stock or price", ex);
+                ErrorHandler.handleError(this, "Invalid number format for stock, price or threshold", ex);
             } catch (IllegalArgumentException ex) {
                 ErrorHandler.handleError(this, ex.getMessage(), ex);
+            } catch (StaleProductException ex) {
+                String fields = ex.getConflictingFields().isEmpty() ? "" : " (" + String.join(", ", ex.getConflictingFields()) + ")";
+                ErrorHandler.handleError(this, "Someone else changed this product while you were editing it" + fields +
+                    ". Reopen it to see their changes.", ex);
+                refreshTable();
             } catch (SQLException ex) {
                 System.err.println("[ERROR] ProductDialog: Database error while saving product - " + ex.getMessage());
                 ErrorHandler.handleError(this, "Database error while saving product", ex);
@@ -501,9 +567,13 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
     }
 
     private void editSelectedProduct() {
+        if (productTable.getSelectedRowCount() > 1) {
+            ErrorHandler.handleError(this, "Please select a single product to edit", null);
+            return;
+        }
         int selectedRow = productTable.getSelectedRow();
         if (selectedRow >= 0) {
-            int productId = (int) tableModel.getValueAt(selectedRow, 6);
+            int productId = tableModel.getRow(productTable.convertRowIndexToModel(selectedRow)).getId();
             try {
                 Product product = productDAO.getProduct(productId);
                 if (product != null) {
@@ -520,34 +590,89 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
         }
     }
 
+    private List<Product> getSelectedProducts() {
+        List<Product> selected = new ArrayList<>();
+        for (int row : productTable.getSelectedRows()) {
+            selected.add(tableModel.getRow(productTable.convertRowIndexToModel(row)));
+        }
+        return selected;
+    }
+
     private void deleteSelectedProduct() {
-        int selectedRow = productTable.getSelectedRow();
-        if (selectedRow >= 0) {
-            int productId = (int) tableModel.getValueAt(selectedRow, 6);
-            JOptionPane optionPane = new JOptionPane(
-                "Are you sure you want to delete this product?",
-                JOptionPane.QUESTION_MESSAGE,
-                JOptionPane.YES_NO_OPTION
-            );
-            ThemeManager.applyThemeToOptionPane(optionPane);
-            JDialog dialog = optionPane.createDialog(this, "Confirm Delete");
-            dialog.setVisible(true);
-            Object selectedValue = optionPane.getValue();
-            if (selectedValue == null || !selectedValue.equals(JOptionPane.YES_OPTION)) {
-                return;
-            }
-            try {
-                if (productDAO.deleteProduct(productId)) {
-                    refreshTable();
-                } else {
-                    ErrorHandler.handleError(this, "Failed to delete product", null);
+        List<Product> selected = getSelectedProducts();
+        if (selected.isEmpty()) {
+            ErrorHandler.handleError(this, "Please select a product first", null);
+            return;
+        }
+        JOptionPane optionPane = new JOptionPane(
+            selected.size() == 1 ? "Are you sure you want to delete this product?"
+                : "Are you sure you want to delete these " + selected.size() + " products?",
+            JOptionPane.QUESTION_MESSAGE,
+            JOptionPane.YES_NO_OPTION
+        );
+        ThemeManager.applyThemeToOptionPane(optionPane);
+        JDialog dialog = optionPane.createDialog(this, "Confirm Delete");
+        dialog.setVisible(true);
+        Object selectedValue = optionPane.getValue();
+        if (selectedValue == null || !selectedValue.equals(JOptionPane.YES_OPTION)) {
+            return;
+        }
+        try {
+            boolean deleted;
+            if (selected.size() == 1) {
+                deleted = productDAO.deleteProduct(selected.get(0).getId());
+            } else {
+                int[] ids = new int[selected.size()];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = selected.get(i).getId();
                 }
-            } catch (SQLException e) {
-                System.err.println("[ERROR] ProductView: Error deleting product - " + e.getMessage());
-                ErrorHandler.handleError(this, "Error deleting product", e);
+                deleted = productDAO.deleteProducts(ids) > 0;
             }
-        } else {
+            if (deleted) {
+                refreshTable();
+            } else {
+                ErrorHandler.handleError(this, "Failed to delete product", null);
+            }
+        } catch (SQLException e) {
+            System.err.println("[ERROR] ProductView: Error deleting product - " + e.getMessage());
+            ErrorHandler.handleError(this, "Error deleting product", e);
+        }
+    }
+
+    private void adjustSelectedStock() {
+        List<Product> selected = getSelectedProducts();
+        if (selected.isEmpty()) {
             ErrorHandler.handleError(this, "Please select a product first", null);
+            return;
+        }
+        String target = selected.size() == 1 ? selected.get(0).getName() : "each of the " + selected.size() + " selected products";
+        JOptionPane optionPane = new JOptionPane(
+            "Quantity to add for " + target + " (negative to remove):",
+            JOptionPane.QUESTION_MESSAGE,
+            JOptionPane.OK_CANCEL_OPTION
+        );
+        optionPane.setWantsInput(true);
+        ThemeManager.applyThemeToOptionPane(optionPane);
+        JDialog dialog = optionPane.createDialog(this, "Adjust Stock");
+        dialog.setVisible(true);
+        Object input = optionPane.getInputValue();
+        if (!Integer.valueOf(JOptionPane.OK_OPTION).equals(optionPane.getValue())
+                || input == null || input == JOptionPane.UNINITIALIZED_VALUE || input.toString().trim().isEmpty()) {
+            return;
+        }
+        try {
+            int delta = Integer.parseInt(input.toString().trim());
+            List<ProductDAO.StockAdjustment> adjustments = new ArrayList<>();
+            for (Product product : selected) {
+                adjustments.add(new ProductDAO.StockAdjustment(product.getId(), delta));
+            }
+            productDAO.adjustStock(adjustments); // All or nothing
+            refreshTable();
+        } catch (NumberFormatException e) {
+            ErrorHandler.handleError(this, "Invalid quantity", e);
+        } catch (SQLException e) {
+            System.err.println("[ERROR] ProductView: Error adjusting stock - " + e.getMessage());
+            ErrorHandler.handleError(this, "Error adjusting stock: " + e.getMessage(), e);
         }
     }
 
@@ -562,6 +687,7 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
         if (isOwner) {
             addButton.setEnabled(true);
             editButton.setEnabled(true);
+            adjustStockButton.setEnabled(true);
             deleteButton.setEnabled(true);
             refreshButton.setEnabled(true);
             lowStockButton.setEnabled(true);
@@ -574,15 +700,16 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
 
         // Manager has access to all product features and audit log
         if (isManager) {
-            addButton.setEnabled(hasPermission("add"));
-            editButton.setEnabled(hasPermission("edit"));
-            deleteButton.setEnabled(hasPermission("delete"));
-            refreshButton.setEnabled(hasPermission("view"));
-            lowStockButton.setEnabled(hasPermission("lowStock"));
-            importButton.setEnabled(hasPermission("add"));
-            exportButton.setEnabled(hasPermission("view"));
-            backupButton.setEnabled(hasPermission("view"));
-            restoreButton.setEnabled(hasPermission("view"));
+            addButton.setEnabled(hasPermission(Permission.ADD));
+            editButton.setEnabled(hasPermission(Permission.EDIT));
+            adjustStockButton.setEnabled(hasPermission(Permission.EDIT));
+            deleteButton.setEnabled(hasPermission(Permission.DELETE));
+            refreshButton.setEnabled(hasPermission(Permission.VIEW));
+            lowStockButton.setEnabled(hasPermission(Permission.LOW_STOCK));
+            importButton.setEnabled(hasPermission(Permission.ADD));
+            exportButton.setEnabled(hasPermission(Permission.VIEW));
+            backupButton.setEnabled(hasPermission(Permission.VIEW));
+            restoreButton.setEnabled(hasPermission(Permission.VIEW));
             return;
         }
 
@@ -590,9 +717,10 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
         if (isAdmin) {
             addButton.setEnabled(false);
             editButton.setEnabled(false);
+            adjustStockButton.setEnabled(false);
             deleteButton.setEnabled(false);
-            refreshButton.setEnabled(hasPermission("view"));
-            lowStockButton.setEnabled(hasPermission("lowStock"));
+            refreshButton.setEnabled(hasPermission(Permission.VIEW));
+            lowStockButton.setEnabled(hasPermission(Permission.LOW_STOCK));
             importButton.setEnabled(false);
             exportButton.setEnabled(false);
             backupButton.setEnabled(false);
@@ -602,13 +730,14 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
 
         // Staff has full product access
         if (isStaff) {
-            addButton.setEnabled(hasPermission("add"));
-            editButton.setEnabled(hasPermission("edit"));
-            deleteButton.setEnabled(hasPermission("delete"));
-            refreshButton.setEnabled(hasPermission("view"));
-            lowStockButton.setEnabled(hasPermission("lowStock"));
-            importButton.setEnabled(hasPermission("add"));
-            exportButton.setEnabled(hasPermission("view"));
+            addButton.setEnabled(hasPermission(Permission.ADD));
+            editButton.setEnabled(hasPermission(Permission.EDIT));
+            adjustStockButton.setEnabled(hasPermission(Permission.EDIT));
+            deleteButton.setEnabled(hasPermission(Permission.DELETE));
+            refreshButton.setEnabled(hasPermission(Permission.VIEW));
+            lowStockButton.setEnabled(hasPermission(Permission.LOW_STOCK));
+            importButton.setEnabled(hasPermission(Permission.ADD));
+            exportButton.setEnabled(hasPermission(Permission.VIEW));
             backupButton.setEnabled(false);
             restoreButton.setEnabled(false);
             return;
@@ -617,6 +746,7 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
         // Default: Disable all buttons for other roles
         addButton.setEnabled(false);
         editButton.setEnabled(false);
+        adjustStockButton.setEnabled(false);
         deleteButton.setEnabled(false);
         refreshButton.setEnabled(false);
         lowStockButton.setEnabled(false);
@@ -626,18 +756,8 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
         restoreButton.setEnabled(false);
     }
 
-    private boolean hasPermission(String permission) {
-        if (currentUser.getRole() != null && (currentUser.getRole().toLowerCase().equals("owner") || currentUser.getRole().toLowerCase().equals("manager"))) return true;
-        String perms = currentUser.getPermissions();
-        if (perms == null || perms.isEmpty()) return false;
-        String[] permArray = perms.split(",");
-        for (String perm : permArray) {
-            String[] keyValue = perm.split(":");
-            if (keyValue.length == 2 && keyValue[0].trim().equals(permission) && keyValue[1].trim().equals("1")) {
-                return true;
-            }
-        }
-        return false;
+    private boolean hasPermission(Permission permission) {
+        return fullProductAccess || currentUser.hasPermission(permission);
     }
 
     @Override
@@ -724,24 +844,38 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
         applyThemeToFileChooser(fileChooser);
 
         if (fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
-            try {
-                String filePath = fileChooser.getSelectedFile().getAbsolutePath();
-                productDAO.importProductsFromCSV(filePath);
-                refreshTable();
-                JOptionPane optionPane = new JOptionPane("Products imported successfully!", JOptionPane.INFORMATION_MESSAGE);
-                ThemeManager.applyThemeToOptionPane(optionPane);
-                JDialog dialog = optionPane.createDialog(this, "Import Success");
-                dialog.setVisible(true);
-            } catch (SQLException e) {
-                System.err.println("[ERROR] ProductView: Error importing CSV - " + e.getMessage());
-                ErrorHandler.handleError(this, "Error importing CSV: " + e.getMessage(), e);
-            } catch (IOException e) {
-                System.err.println("[ERROR] ProductView: Error reading CSV file - " + e.getMessage());
-                ErrorHandler.handleError(this, "Error reading CSV file: " + e.getMessage(), e);
-            } catch (CsvValidationException e) {
-                System.err.println("[ERROR] ProductView: Error validating CSV file - " + e.getMessage());
-                ErrorHandler.handleError(this, "Error validating CSV file: " + e.getMessage(), e);
-            }
+            String filePath = fileChooser.getSelectedFile().getAbsolutePath();
+            TaskProgressDialog.run(this, "Importing products",
+                context -> productDAO.importProductsFromCSV(filePath, (rowsRead, imported, rejected) -> {
+                    context.checkCancelled(); // Unwinds the importer; chunks committed so far are kept
+                    context.setProgress(-1, String.format("Read %,d rows, imported %,d, rejected %,d", rowsRead, imported, rejected));
+                }),
+                result -> {
+                    refreshTable();
+                    String message = String.format("Imported %d of %d products in %.1f s.",
+                        result.getImported(), result.getRowsRead(), result.getElapsedMillis() / 1000.0);
+                    if (result.getRejectFile() != null) {
+                        message += String.format("%n%d rows were rejected; see %s", result.getRejected(), result.getRejectFile());
+                    }
+                    JOptionPane optionPane = new JOptionPane(message, JOptionPane.INFORMATION_MESSAGE);
+                    ThemeManager.applyThemeToOptionPane(optionPane);
+                    JDialog dialog = optionPane.createDialog(this, "Import Success");
+                    dialog.setVisible(true);
+                },
+                e -> {
+                    refreshTable(); // As with a cancel, chunks committed before the error stay
+                    if (e instanceof SQLException) {
+                        System.err.println("[ERROR] ProductView: Error importing CSV - " + e.getMessage());
+                        ErrorHandler.handleError(this, "Error importing CSV: " + e.getMessage(), e);
+                    } else if (e instanceof CsvValidationException) {
+                        System.err.println("[ERROR] ProductView: Error validating CSV file - " + e.getMessage());
+                        ErrorHandler.handleError(this, "Error validating CSV file: " + e.getMessage(), e);
+                    } else {
+                        System.err.println("[ERROR] ProductView: Error reading CSV file - " + e.getMessage());
+                        ErrorHandler.handleError(this, "Error reading CSV file: " + e.getMessage(), e);
+                    }
+                },
+                this::refreshTable); // Chunks committed before the cancel are in the table
         }
     }
 
@@ -751,161 +885,197 @@ public class ProductView extends JPanel implements ThemeManager.ThemeChangeListe
         fileChooser.setFileFilter(new javax.swing.filechooser.FileFilter() {
             @Override
             public boolean accept(java.io.File f) {
-                return f.isDirectory() || f.getName().toLowerCase().endsWith(".csv");
+                return f.isDirectory() || f.getName().toLowerCase().endsWith(".csv")
+                    || f.getName().toLowerCase().endsWith(".csv.gz");
             }
 
             @Override
             public String getDescription() {
-                return "CSV Files (*.csv)";
+                return "CSV Files (*.csv, *.csv.gz)";
             }
         });
 
         applyThemeToFileChooser(fileChooser);
 
         if (fileChooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
-            try {
-                String filePath = fileChooser.getSelectedFile().getAbsolutePath();
-                if (!filePath.toLowerCase().endsWith(".csv")) {
-                    filePath += ".csv";
-                }
-                productDAO.exportProductsToCSV(filePath);
-                JOptionPane optionPane = new JOptionPane("Products exported successfully to " + filePath, JOptionPane.INFORMATION_MESSAGE);
-                ThemeManager.applyThemeToOptionPane(optionPane);
-                JDialog dialog = optionPane.createDialog(this, "Export Success");
-                dialog.setVisible(true);
-            } catch (SQLException e) {
-                System.err.println("[ERROR] ProductView: Error exporting CSV - " + e.getMessage());
-                ErrorHandler.handleError(this, "Error exporting CSV: " + e.getMessage(), e);
-            } catch (IOException e) {
-                System.err.println("[ERROR] ProductView: Error writing CSV file - " + e.getMessage());
-                ErrorHandler.handleError(this, "Error writing CSV file: " + e.getMessage(), e);
-            }
+            String chosenPath = fileChooser.getSelectedFile().getAbsolutePath();
+            String filePath = chosenPath.toLowerCase().endsWith(".csv") || chosenPath.toLowerCase().endsWith(".csv.gz")
+                ? chosenPath : chosenPath + ".csv";
+            TaskProgressDialog.run(this, "Exporting products",
+                _ -> {
+                    productDAO.exportProductsToCSV(filePath);
+                    return filePath;
+                },
+                _ -> {
+                    JOptionPane optionPane = new JOptionPane("Products exported successfully to " + filePath, JOptionPane.INFORMATION_MESSAGE);
+                    ThemeManager.applyThemeToOptionPane(optionPane);
+                    JDialog dialog = optionPane.createDialog(this, "Export Success");
+                    dialog.setVisible(true);
+                },
+                e -> {
+                    if (e instanceof SQLException) {
+                        System.err.println("[ERROR] ProductView: Error exporting CSV - " + e.getMessage());
+                        ErrorHandler.handleError(this, "Error exporting CSV: " + e.getMessage(), e);
+                    } else {
+                        System.err.println("[ERROR] ProductView: Error writing CSV file - " + e.getMessage());
+                        ErrorHandler.handleError(this, "Error writing CSV file: " + e.getMessage(), e);
+                    }
+                });
         }
     }
 
-    private void backupDatabase() {
-        JFileChooser fileChooser = new JFileChooser();
-        fileChooser.setDialogTitle("Save Backup File");
-        fileChooser.setFileFilter(new javax.swing.filechooser.FileFilter() {
+    private javax.swing.filechooser.FileFilter backupFileFilter() {
+        return new javax.swing.filechooser.FileFilter() {
             @Override
             public boolean accept(java.io.File f) {
-                return f.isDirectory() || f.getName().toLowerCase().endsWith(".sql");
+                return f.isDirectory() || f.getName().toLowerCase().endsWith(DatabaseBackup.FILE_EXTENSION);
             }
 
             @Override
             public String getDescription() {
-                return "SQL Files (*.sql)";
+                return "Inventory Backups (*" + DatabaseBackup.FILE_EXTENSION + ")";
             }
-        });
-
-        applyThemeToFileChooser(fileChooser);
+        };
+    }
 
-        if (fileChooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
+    private void backupDatabase() {
+        JOptionPane modePane = new JOptionPane(
+            "Create a full backup, or back up only audit log entries added since an earlier backup?",
+            JOptionPane.QUESTION_MESSAGE,
+            JOptionPane.DEFAULT_OPTION,
+            null,
+            new Object[] {"Full Backup", "Audit Log Increment", "Cancel"},
+            "Full Backup"
+        );
+        ThemeManager.applyThemeToOptionPane(modePane);
+        JDialog modeDialog = modePane.createDialog(this, "Backup");
+        modeDialog.setVisible(true);
+        Object mode = modePane.getValue();
+        if (!"Full Backup".equals(mode) && !"Audit Log Increment".equals(mode)) {
+            return;
+        }
+        boolean incremental = "Audit Log Increment".equals(mode);
+
+        long afterId = 0;
+        if (incremental) {
+            JFileChooser baseChooser = new JFileChooser();
+            baseChooser.setDialogTitle("Select the Previous Backup to Continue From");
+            baseChooser.setFileFilter(backupFileFilter());
+            applyThemeToFileChooser(baseChooser);
+            if (baseChooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
             try {
-                String filePath = fileChooser.getSelectedFile().getAbsolutePath();
-                if (!filePath.toLowerCase().endsWith(".sql")) {
-                    filePath += ".sql";
-                }
-
-                String dbUsername = "root";
-                String dbPassword = "";
-                String dbName = "inventory_ds";
-                String host = "localhost";
-
-                ProcessBuilder pb = new ProcessBuilder(
-                    "mysqldump", "-u" + dbUsername, "-p" + dbPassword, "-h" + host, dbName, "-r", filePath
-                );
-                Process process = pb.start();
-                int exitCode = process.waitFor();
-
-                if (exitCode == 0) {
-                    JOptionPane optionPane = new JOptionPane("Database backed up successfully to " + filePath, JOptionPane.INFORMATION_MESSAGE);
-                    ThemeManager.applyThemeToOptionPane(optionPane);
-                    JDialog dialog = optionPane.createDialog(this, "Backup Success");
-                    dialog.setVisible(true);
-                    AuditLogDAO auditLogDAO = new AuditLogDAO(conn);
-                    try {
-                        auditLogDAO.logAction(currentUser.getId(), "Database Backup", "Backed up to " + filePath);
-                    } catch (SQLException e) {
-                        System.err.println("[ERROR] ProductView: Error logging backup action - " + e.getMessage());
-                        ErrorHandler.handleError(this, "Error logging backup action: " + e.getMessage(), e);
-                    }
-                } else {
-                    throw new IOException("Backup failed with exit code: " + exitCode);
-                }
-            } catch (IOException | InterruptedException e) {
-                System.err.println("[ERROR] ProductView: Error during backup - " + e.getMessage());
-                ErrorHandler.handleError(this, "Error creating backup: " + e.getMessage(), e);
+                afterId = DatabaseBackup.readHeader(baseChooser.getSelectedFile().getAbsolutePath()).getAuditWatermark();
+            } catch (IOException e) {
+                System.err.println("[ERROR] ProductView: Error reading backup header - " + e.getMessage());
+                ErrorHandler.handleError(this, "Error reading previous backup: " + e.getMessage(), e);
+                return;
             }
         }
+
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Save Backup File");
+        fileChooser.setFileFilter(backupFileFilter());
+        applyThemeToFileChooser(fileChooser);
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        String chosenPath = fileChooser.getSelectedFile().getAbsolutePath();
+        String filePath = chosenPath.toLowerCase().endsWith(DatabaseBackup.FILE_EXTENSION)
+            ? chosenPath : chosenPath + DatabaseBackup.FILE_EXTENSION;
+        long auditAfterId = afterId;
+
+        runBackupTask("Backing up database", "Backup", (backup, listener) -> incremental
+                ? backup.backupAuditLogsSince(filePath, auditAfterId, listener)
+                : backup.backup(filePath, listener),
+            result -> {
+                showBackupMessage(String.format("Backed up %d rows to %s (%.1f KB) in %.1f s.%nAudit log watermark: %d",
+                    result.getRows(), filePath, result.getBytes() / 1024.0, result.getElapsedMillis() / 1000.0,
+                    result.getAuditWatermark()), "Backup Success");
+                logBackupAction("Database Backup", (incremental ? "Audit log increment after ID " + auditAfterId : "Full backup")
+                    + " to " + filePath);
+            });
     }
 
     private void restoreDatabase() {
         JFileChooser fileChooser = new JFileChooser();
         fileChooser.setDialogTitle("Select Backup File to Restore");
-        fileChooser.setFileFilter(new javax.swing.filechooser.FileFilter() {
-            @Override
-            public boolean accept(java.io.File f) {
-                return f.isDirectory() || f.getName().toLowerCase().endsWith(".sql");
-            }
-
-            @Override
-            public String getDescription() {
-                return "SQL Files (*.sql)";
-            }
-        });
-
+        fileChooser.setFileFilter(backupFileFilter());
         applyThemeToFileChooser(fileChooser);
+        if (fileChooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        String filePath = fileChooser.getSelectedFile().getAbsolutePath();
+
+        JOptionPane optionPane = new JOptionPane(
+            "Are you sure you want to restore the database? This will overwrite existing data!",
+            JOptionPane.WARNING_MESSAGE,
+            JOptionPane.YES_NO_OPTION
+        );
+        ThemeManager.applyThemeToOptionPane(optionPane);
+        JDialog dialog = optionPane.createDialog(this, "Confirm Restore");
+        dialog.setVisible(true);
+        Object selectedValue = optionPane.getValue();
+        if (selectedValue == null || !selectedValue.equals(JOptionPane.YES_OPTION)) {
+            return;
+        }
 
-        if (fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
-            try {
-                String filePath = fileChooser.getSelectedFile().getAbsolutePath();
+        AuditLogDAO auditLogDAO = DataAccess.auditLogs();
+        auditLogDAO.flush(3_000); // Queued entries would otherwise land in the middle of the restore
+        runBackupTask("Restoring database", "Restore", (backup, listener) -> backup.restore(filePath, listener),
+            result -> {
+                refreshTable();
+                showBackupMessage(String.format("Restored %d rows from %s in %.1f s.",
+                    result.getRows(), filePath, result.getElapsedMillis() / 1000.0), "Restore Success");
+                logBackupAction("Database Restore", "Restored from " + filePath);
+            });
+    }
 
-                JOptionPane optionPane = new JOptionPane(
-                    "Are you sure you want to restore the database? This will overwrite existing data!",
-                    JOptionPane.WARNING_MESSAGE,
-                    JOptionPane.YES_NO_OPTION
-                );
-                ThemeManager.applyThemeToOptionPane(optionPane);
-                JDialog dialog = optionPane.createDialog(this, "Confirm Restore");
-                dialog.setVisible(true);
-                Object selectedValue = optionPane.getValue();
-                if (selectedValue == null || !selectedValue.equals(JOptionPane.YES_OPTION)) {
-                    return;
-                }
+    private interface BackupTask {
+        DatabaseBackup.BackupResult run(DatabaseBackup backup, DatabaseBackup.ProgressListener listener)
+            throws SQLException, IOException;
+    }
 
-                String dbUsername = "root";
-                String dbPassword = "";
-                String dbName = "inventory_ds";
-                String host = "localhost";
+    // Runs the backup or restore in the background with a progress dialog; onSuccess runs on the EDT
+    private void runBackupTask(String title, String operation, BackupTask task,
+                               Consumer<DatabaseBackup.BackupResult> onSuccess) {
+        if (DataAccess.isRemote()) {
+            ErrorHandler.handleError(this, operation + " needs a direct database connection; run it on the server machine");
+            return;
+        }
+        backupButton.setEnabled(false);
+        restoreButton.setEnabled(false);
+        TaskProgressDialog.run(this, title,
+            context -> task.run(new DatabaseBackup(), (table, rows, percent) -> {
+                context.checkCancelled(); // Backups drop their temp file, restores roll back
+                context.setProgress(percent, String.format("%s: %,d rows", table, rows));
+            }),
+            result -> {
+                updateButtonStates();
+                onSuccess.accept(result);
+            },
+            e -> {
+                updateButtonStates();
+                System.err.println("[ERROR] ProductView: Error during " + operation.toLowerCase() + " - " + e.getMessage());
+                ErrorHandler.handleError(this, "Error during " + operation.toLowerCase() + ": " + e.getMessage(), e);
+            },
+            this::updateButtonStates);
+    }
 
-                ProcessBuilder pb = new ProcessBuilder(
-                    "mysql", "-u" + dbUsername, "-p" + dbPassword, "-h" + host, dbName, "<", filePath
-                );
-                pb.redirectErrorStream(true);
-                Process process = pb.start();
-                int exitCode = process.waitFor();
-
-                if (exitCode == 0) {
-                    JOptionPane optionPaneSuccess = new JOptionPane("Database restored successfully from " + filePath, JOptionPane.INFORMATION_MESSAGE);
-                    ThemeManager.applyThemeToOptionPane(optionPaneSuccess);
-                    JDialog dialogSuccess = optionPaneSuccess.createDialog(this, "Restore Success");
-                    dialogSuccess.setVisible(true);
-                    refreshTable();
-                    AuditLogDAO auditLogDAO = new AuditLogDAO(conn);
-                    try {
-                        auditLogDAO.logAction(currentUser.getId(), "Database Restore", "Restored from " + filePath);
-                    } catch (SQLException e) {
-                        System.err.println("[ERROR] ProductView: Error logging restore action - " + e.getMessage());
-                        ErrorHandler.handleError(this, "Error logging restore action: " + e.getMessage(), e);
-                    }
-                } else {
-                    throw new IOException("Restore failed with exit code: " + exitCode);
-                }
-            } catch (IOException | InterruptedException e) {
-                System.err.println("[ERROR] ProductView: Error during restore - " + e.getMessage());
-                ErrorHandler.handleError(this, "Error restoring database: " + e.getMessage(), e);
-            }
+    private void showBackupMessage(String message, String title) {
+        JOptionPane optionPane = new JOptionPane(message, JOptionPane.INFORMATION_MESSAGE);
+        ThemeManager.applyThemeToOptionPane(optionPane);
+        JDialog dialog = optionPane.createDialog(this, title);
+        dialog.setVisible(true);
+    }
+
+    private void logBackupAction(String action, String details) {
+        try {
+            DataAccess.auditLogs().logAction(currentUser.getId(), action, details);
+        } catch (SQLException e) {
+            System.err.println("[ERROR] ProductView: Error logging " + action.toLowerCase() + " action - " + e.getMessage());
+            ErrorHandler.handleError(this, "Error logging " + action.toLowerCase() + " action: " + e.getMessage(), e);
         }
     }
 }
\ No newline at end of file
@@ -1,13 +1,12 @@
 package main.java.com.inventory.views;
 
 import main.java.com.inventory.dao.UserDAO;
+import main.java.com.inventory.remote.DataAccess;
 import main.java.com.inventory.utils.ErrorHandler;
 import main.java.com.inventory.utils.ThemeManager;
-import main.java.com.inventory.dao.DBConnection;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
-import java.sql.Connection;
 import java.sql.SQLException;
 
 public class RegisterDialog extends JDialog implements ThemeManager.ThemeChangeListener {
@@ -71,8 +70,7 @@ public void setRegisterCallback(RegisterCallback callback) {
                 throw new IllegalArgumentException("Password must be at least 6 characters long");
             }
 
-             Connection conn = DBConnection.getConnection();
-            UserDAO userDAO = new UserDAO(conn);
+            UserDAO userDAO = DataAccess.users();
             
             if (userDAO.usernameExists(username)) {
                 throw new IllegalArgumentException("Username '" + username + "' is already taken");
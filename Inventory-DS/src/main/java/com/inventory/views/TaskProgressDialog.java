@@ -0,0 +1,112 @@
+package main.java.com.inventory.views;
+
+import main.java.com.inventory.services.TaskExecutor;
+import main.java.com.inventory.utils.ThemeManager;
+import javax.swing.*;
+import java.awt.*;
+import java.util.function.Consumer;
+
+// Non-modal progress window for a task on the shared executor. It only appears if the task is still
+// running after a short delay, and Cancel asks the task to stop.
+public class TaskProgressDialog extends JDialog {
+    private static final int POPUP_DELAY_MS = 300;
+
+    private final JProgressBar progressBar = new JProgressBar(0, 100);
+    private final JLabel noteLabel = new JLabel("Starting...");
+    private final JButton cancelButton = new JButton("Cancel");
+    private final Timer popupTimer;
+    private TaskExecutor.TaskHandle handle;
+
+    private TaskProgressDialog(Component parent, String title) {
+        super(SwingUtilities.getWindowAncestor(parent), title, Dialog.ModalityType.MODELESS);
+        setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+        setLayout(new BorderLayout(10, 10));
+
+        progressBar.setIndeterminate(true);
+        progressBar.setStringPainted(false);
+        noteLabel.setPreferredSize(new Dimension(320, noteLabel.getPreferredSize().height));
+
+        JPanel center = new JPanel(new BorderLayout(5, 5));
+        center.setBorder(BorderFactory.createEmptyBorder(10, 10, 0, 10));
+        center.add(noteLabel, BorderLayout.NORTH);
+        center.add(progressBar, BorderLayout.CENTER);
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttons.add(cancelButton);
+        add(center, BorderLayout.CENTER);
+        add(buttons, BorderLayout.SOUTH);
+
+        cancelButton.addActionListener(_ -> {
+            if (handle != null) {
+                handle.cancel();
+            }
+            noteLabel.setText("Cancelling...");
+            cancelButton.setEnabled(false);
+        });
+
+        ThemeManager.applyThemeToComponent(this);
+        ThemeManager.applyThemeToComponent(center);
+        ThemeManager.applyThemeToComponent(buttons);
+        ThemeManager.applyThemeToComponent(noteLabel);
+        ThemeManager.applyThemeToComponent(cancelButton);
+        pack();
+        setLocationRelativeTo(parent);
+
+        popupTimer = new Timer(POPUP_DELAY_MS, _ -> setVisible(true));
+        popupTimer.setRepeats(false);
+    }
+
+    private void setProgress(int percent, String note) {
+        if (percent >= 0) {
+            progressBar.setIndeterminate(false);
+            progressBar.setValue(percent);
+        }
+        if (note != null && cancelButton.isEnabled()) {
+            noteLabel.setText(note);
+        }
+    }
+
+    private void close() {
+        popupTimer.stop();
+        dispose();
+    }
+
+    // Runs the task in the background with a progress window; onSuccess and onFailure run on the EDT
+    public static <T> TaskExecutor.TaskHandle run(Component parent, String title, TaskExecutor.Task<T> task,
+                                                  Consumer<T> onSuccess, Consumer<Exception> onFailure) {
+        return run(parent, title, task, onSuccess, onFailure, () -> {});
+    }
+
+    // As above; onCancelled also runs on the EDT, once the task has stopped after Cancel
+    public static <T> TaskExecutor.TaskHandle run(Component parent, String title, TaskExecutor.Task<T> task,
+                                                  Consumer<T> onSuccess, Consumer<Exception> onFailure,
+                                                  Runnable onCancelled) {
+        TaskProgressDialog dialog = new TaskProgressDialog(parent, title);
+        TaskExecutor.TaskHandle handle = TaskExecutor.getInstance().submit(title, task, new TaskExecutor.Callback<T>() {
+            @Override
+            public void onSuccess(T result) {
+                dialog.close();
+                onSuccess.accept(result);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                dialog.close();
+                onFailure.accept(e);
+            }
+
+            @Override
+            public void onProgress(int percent, String note) {
+                dialog.setProgress(percent, note);
+            }
+
+            @Override
+            public void onCancelled() {
+                dialog.close();
+                onCancelled.run();
+            }
+        });
+        dialog.handle = handle;
+        dialog.popupTimer.start();
+        return handle;
+    }
+}
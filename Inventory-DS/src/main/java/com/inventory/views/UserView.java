@@ -1,38 +1,48 @@
 package main.java.com.inventory.views;
 
 import main.java.com.inventory.dao.UserDAO;
+import main.java.com.inventory.dao.KeysetPager;
+import main.java.com.inventory.models.Permission;
 import main.java.com.inventory.models.User;
+import main.java.com.inventory.remote.DataAccess;
+import main.java.com.inventory.services.ChangeFeed;
 import main.java.com.inventory.services.SessionManager;
 import main.java.com.inventory.utils.ErrorHandler;
+import main.java.com.inventory.utils.SearchController;
 import main.java.com.inventory.utils.ThemeManager;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.*;
-import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 public class UserView extends JPanel implements ThemeManager.ThemeChangeListener {
     private JTable userTable;
-    private DefaultTableModel tableModel;
+    private PagedTableModel<User> tableModel;
+    private SearchController<User> searchController;
+    private static final int PAGE_SIZE = 200;
+    private static final int SEARCH_DEBOUNCE_MS = 250;
     private JButton addButton, deleteButton, refreshButton, auditLogButton;
     private JTextField searchField;
-    private Connection conn;
 
     public interface RegisterCallback {
         void onRegister(String username, String password, String role);
     }
     
-    public UserView(Connection conn) {
-        this.conn = conn;
+    public UserView() {
         setLayout(new BorderLayout());
         initializeUI();
         setupKeyBindings();
         refreshTable();
         ThemeManager.addThemeChangeListener(this);
         applyThemeToComponents();
+        ChangeFeed.getInstance().addListener(changes -> {
+            if (changes.hasUserChanges()) {
+                SwingUtilities.invokeLater(() -> applyUserChanges(changes));
+            }
+        });
     }
 
     private void initializeUI() {
@@ -40,24 +50,43 @@ public class UserView extends JPanel implements ThemeManager.ThemeChangeListener
         searchPanel.add(new JLabel("Search:"));
         searchField = new JTextField(20);
         searchField.setToolTipText("Search by Display ID, username, or role (Ctrl+S)");
-        searchField.addKeyListener(new KeyAdapter() {
+        searchController = new SearchController<>(searchField, SEARCH_DEBOUNCE_MS,
+            this::findUsers,
+            (query, users) -> tableModel.setRows(users),
+            (query, e) -> {
+                System.err.println("[ERROR] UserView: Error searching users - " + e.getMessage());
+                ErrorHandler.handleError(this, "Error searching users", e);
+            },
+            this::refreshTable);
+        searchController.setNarrowFilter(new SearchController.NarrowFilter<User>() {
             @Override
-            public void keyReleased(KeyEvent e) {
-                searchUsers();
+            public boolean matches(User user, String query) {
+                String q = query.toLowerCase();
+                return (user.getUsername() != null && user.getUsername().toLowerCase().contains(q))
+                    || (user.getRole() != null && user.getRole().toLowerCase().contains(q));
+            }
+
+            @Override
+            public boolean canNarrow(String query) {
+                return !query.matches("\\d+"); // Numeric input is a display-ID lookup
             }
         });
         searchPanel.add(searchField);
         add(searchPanel, BorderLayout.NORTH);
 
         String[] columns = {"ID", "Username", "Role", "DB_ID"};
-        tableModel = new DefaultTableModel(columns, 0) { 
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
+        Class<?>[] columnClasses = {Integer.class, String.class, String.class, Integer.class};
+        tableModel = new PagedTableModel<>(columns, columnClasses, PAGE_SIZE / 2, User::getId, (user, row, column) -> {
+            switch (column) {
+                case 0: return user.getDisplayId() > 0 ? user.getDisplayId() : row + 1;
+                case 1: return user.getUsername();
+                case 2: return user.getRole();
+                default: return user.getId();
             }
-        };
+        });
         userTable = new JTable(tableModel);
         userTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        tableModel.installSorter(userTable);
         add(new JScrollPane(userTable), BorderLayout.CENTER);
         userTable.removeColumn(userTable.getColumnModel().getColumn(3));
 
@@ -68,11 +97,11 @@ public class UserView extends JPanel implements ThemeManager.ThemeChangeListener
         auditLogButton = new JButton("View Audit Logs");
 
         addButton.addActionListener(e -> {
-            if (hasPermission("addUser")) showRegisterDialog(e);
+            if (hasPermission(Permission.ADD_USER)) showRegisterDialog(e);
             else ErrorHandler.handleError(this, "Permission denied: Add User not allowed");
         });
         deleteButton.addActionListener(e -> {
-            if (hasPermission("deleteUser")) handleDelete(e);
+            if (hasPermission(Permission.DELETE_USER)) handleDelete(e);
             else ErrorHandler.handleError(this, "Permission denied: Delete User not allowed");
         });
         refreshButton.addActionListener(_ -> refreshTable());
@@ -107,85 +136,53 @@ public class UserView extends JPanel implements ThemeManager.ThemeChangeListener
         });
     }
 
-    private void searchUsers() {
-        String query = searchField.getText().trim();
-        try {
-            tableModel.setRowCount(0);
-            UserDAO userDAO = new UserDAO(conn);
-            List<User> users;
-
-            if (query.matches("\\d+")) {
-                try {
-                    int displayId = Integer.parseInt(query);
-                    users = userDAO.getAllUsers();
-                    List<User> filteredUsers = new ArrayList<>();
-                    int currentDisplayId = 1;
-                    for (User user : users) {
-                        user.setDisplayId(currentDisplayId);
-                        if (currentDisplayId == displayId) {
-                            filteredUsers.add(user);
-                            break;
-                        }
-                        currentDisplayId++;
-                    }
-                    users = filteredUsers;
-                } catch (NumberFormatException e) {
-                    users = userDAO.searchUsers(query);
-                }
-            } else {
-                users = query.isEmpty() ? userDAO.getAllUsers() : userDAO.searchUsers(query);
-                for (int i = 0; i < users.size(); i++) {
-                    users.get(i).setDisplayId(i + 1);
+    // Runs on the search worker thread
+    private List<User> findUsers(String query) throws SQLException {
+        UserDAO userDAO = DataAccess.users();
+        List<User> users;
+
+        if (query.matches("\\d+")) {
+            try {
+                User user = userDAO.getUserByDisplayId(Integer.parseInt(query));
+                users = new ArrayList<>();
+                if (user != null) {
+                    users.add(user);
                 }
+            } catch (NumberFormatException e) {
+                users = userDAO.searchUsers(query);
             }
+        } else {
+            users = userDAO.searchUsers(query);
+        }
+        return users;
+    }
 
-            for (User user : users) {
-                tableModel.addRow(new Object[] {
-                    user.getDisplayId(),
-                    user.getUsername(),
-                    user.getRole(),
-                    user.getId()
-                });
+    private void applyUserChanges(ChangeFeed.Changes changes) {
+        if (changes.isResync()) {
+            if (tableModel.isPaged()) {
+                refreshTable();
             }
-        } catch (SQLException e) {
-            System.err.println("[ERROR] UserView: Error searching users - " + e.getMessage());
-            ErrorHandler.handleError(this, "Error searching users", e);
+            return;
         }
+        tableModel.applyChanges(changes.getUsers(), changes.getDeletedUserIds(), Comparator.comparingInt(User::getId));
     }
 
     private void refreshTable() {
-        try {
-            tableModel.setRowCount(0);
-            tableModel.setColumnCount(0);
-
-            String[] columns = {"ID", "Username", "Role", "DB_ID"}; 
-            tableModel.setColumnIdentifiers(columns);
-
-            UserDAO userDAO = new UserDAO(conn);
-            List<User> users = userDAO.getAllUsers();
-
-            for (int i = 0; i < users.size(); i++) {
-                User user = users.get(i);
-                user.setDisplayId(i + 1);
-                tableModel.addRow(new Object[] {
-                    user.getDisplayId(),
-                    user.getUsername(), 
-                    user.getRole(),
-                    user.getId()
-                });
-            }
-            userTable.removeColumn(userTable.getColumnModel().getColumn(3));
-        } catch (SQLException e) {
-            System.err.println("[ERROR] UserView: Error refreshing table - " + e.getMessage());
-            ErrorHandler.handleError(this, "Error loading users", e);
-        }
+        searchController.invalidate();
+        UserDAO userDAO = DataAccess.users();
+        tableModel.resetAsync("Load users", new KeysetPager<>(userDAO::getUsersPage, PAGE_SIZE, 0), null,
+            e -> {
+                System.err.println("[ERROR] UserView: Error refreshing table - " + e.getMessage());
+                ErrorHandler.handleError(this, "Error loading users", e);
+            });
     }
 
     private void handleDelete(ActionEvent e) {
         int selectedRow = userTable.getSelectedRow();
         if (selectedRow >= 0) {
-            int userIdToDelete = (int) tableModel.getValueAt(selectedRow, 3);
-            String username = (String) tableModel.getValueAt(selectedRow, 1);
+            User selectedUser = tableModel.getRow(userTable.convertRowIndexToModel(selectedRow));
+            int userIdToDelete = selectedUser.getId();
+            String username = selectedUser.getUsername();
             
             ThemeManager.setTheme(ThemeManager.getCurrentTheme());
             int confirm = JOptionPane.showConfirmDialog(
@@ -197,7 +194,7 @@ public class UserView extends JPanel implements ThemeManager.ThemeChangeListener
             
             if (confirm == JOptionPane.YES_OPTION) {
                 try {
-                    UserDAO userDAO = new UserDAO(conn);
+                    UserDAO userDAO = DataAccess.users();
                     boolean success = userDAO.deleteUser(userIdToDelete);
                     
                     if (success) {
@@ -234,7 +231,7 @@ public class UserView extends JPanel implements ThemeManager.ThemeChangeListener
             
             if (confirm == JOptionPane.YES_OPTION) {
                 try {
-                    UserDAO userDAO = new UserDAO(conn);
+                    UserDAO userDAO = DataAccess.users();
                     boolean addSuccess = userDAO.addUser(username, password, role);
                     if (addSuccess) {
                         refreshTable();
@@ -265,16 +262,11 @@ public class UserView extends JPanel implements ThemeManager.ThemeChangeListener
             ErrorHandler.handleError(this, "Permission denied: Only Owner, Manager, or Admin can view audit logs");
             return;
         }
-        try {
-            JDialog dialog = new JDialog((JFrame)SwingUtilities.getWindowAncestor(this), "Audit Logs", true);
-            dialog.setSize(800, 600);
-            dialog.setLocationRelativeTo(this);
-            dialog.add(new AuditLogView(currentUser, conn));
-            dialog.setVisible(true);
-        } catch (SQLException e) {
-            System.err.println("[ERROR] UserView: Error opening audit log view - " + e.getMessage());
-            ErrorHandler.handleError(this, "Error opening audit log view", e);
-        }
+        JDialog dialog = new JDialog((JFrame)SwingUtilities.getWindowAncestor(this), "Audit Logs", true);
+        dialog.setSize(800, 600);
+        dialog.setLocationRelativeTo(this);
+        dialog.add(new AuditLogView(currentUser));
+        dialog.setVisible(true);
     }
 
     private void updateButtonStates() {
@@ -285,28 +277,14 @@ public class UserView extends JPanel implements ThemeManager.ThemeChangeListener
         boolean isAdmin = role.equals("admin");
         boolean isStaff = role.equals("staff");
 
-        addButton.setEnabled(isOwner || isAdmin || (isManager && hasPermission("addUser")));
-        deleteButton.setEnabled(isOwner || isAdmin || (isManager && hasPermission("deleteUser")));
+        addButton.setEnabled(isOwner || isAdmin || (isManager && hasPermission(Permission.ADD_USER)));
+        deleteButton.setEnabled(isOwner || isAdmin || (isManager && hasPermission(Permission.DELETE_USER)));
         auditLogButton.setEnabled(isOwner || isManager || isAdmin);
     }
 
-    private boolean hasPermission(String permission) {
-        if (SessionManager.getCurrentUser() == null || SessionManager.getCurrentUser().getRole() == null) {
-            return false;
-        }
-        String perms = SessionManager.getCurrentUser().getPermissions();
-        if (perms == null || perms.isEmpty()) {
-            return false;
-        }
-        String[] permArray = perms.split(",");
-        for (String perm : permArray) {
-            String[] keyValue = perm.split(":");
-            if (keyValue.length == 2 && keyValue[0].trim().equals(permission)) {
-                boolean hasAccess = keyValue[1].trim().equals("1");
-                return hasAccess;
-            }
-        }
-        return false;
+    private boolean hasPermission(Permission permission) {
+        User currentUser = SessionManager.getCurrentUser();
+        return currentUser != null && currentUser.getRole() != null && currentUser.hasPermission(permission);
     }
 
     private void applyThemeToComponents() {
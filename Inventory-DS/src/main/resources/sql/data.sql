@@ -5,7 +5,7 @@ INSERT INTO categories (name) VALUES
 -- Insert sample admin/user (password = "admin123" hashed)
 INSERT INTO users (username, password, role) VALUES 
 ('admin', '$2a$10$N9qo8uLOickgx2ZMRZoMy.MQDq5phQ5DSo0rB7iYukB4V/7wJQnCO', 'admin'),  -- BCrypt hash
-('user1', '$2a$10$N9qo8uLOickgx2ZMRZoMy.MQDq5phQ5DSo0rB7iYukB4V/7wJQnCO', 'user');
+('user1', '$2a$10$N9qo8uLOickgx2ZMRZoMy.MQDq5phQ5DSo0rB7iYukB4V/7wJQnCO', 'staff');
 
 -- Insert sample products
 INSERT INTO products (name, category_id, stock, price, description) VALUES 
@@ -7,8 +7,11 @@ CREATE TABLE users (
     id INT AUTO_INCREMENT PRIMARY KEY,
     username VARCHAR(50) UNIQUE NOT NULL,
     password VARCHAR(255) NOT NULL,  -- Store hashed passwords
-    role ENUM('admin', 'user') NOT NULL,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    role ENUM('owner', 'manager', 'admin', 'staff') NOT NULL,
+    permissions VARCHAR(255),  -- "add:1,edit:0,...", role defaults apply when empty
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    INDEX idx_users_updated_at (updated_at)
 );
 
 -- Categories table
@@ -26,21 +29,69 @@ CREATE TABLE products (
     price DECIMAL(10, 2) NOT NULL,
     description TEXT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    version INT NOT NULL DEFAULT 0,  -- Bumped by every write, for optimistic locking
+    INDEX idx_products_updated_at (updated_at),
     FOREIGN KEY (category_id) REFERENCES categories(id)
 );
 
--- Inventory logs (audit trail)
+-- Inventory logs (stock movement ledger; quantity is the signed change)
 CREATE TABLE inventory_logs (
     id INT AUTO_INCREMENT PRIMARY KEY,
-    product_id INT NOT NULL,
-    user_id INT NOT NULL,
+    product_id INT,
+    user_id INT,
     action ENUM('add', 'remove', 'update') NOT NULL,
     quantity INT NOT NULL,
     timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    FOREIGN KEY (product_id) REFERENCES products(id),
-    FOREIGN KEY (user_id) REFERENCES users(id)
+    INDEX idx_inventory_logs_product (product_id, id),
+    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE SET NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL
+);
+
+-- Audit trail, written in batches by the app's background writer
+CREATE TABLE audit_logs (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    user_id INT,
+    action VARCHAR(100) NOT NULL,
+    details TEXT,
+    timestamp DATETIME NOT NULL,
+    INDEX idx_audit_logs_timestamp (timestamp),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL
+);
+
+-- Audit rows past the retention age, moved here with their ids kept
+CREATE TABLE audit_logs_archive (
+    id INT PRIMARY KEY,
+    user_id INT,
+    action VARCHAR(100) NOT NULL,
+    details TEXT,
+    timestamp DATETIME NOT NULL,
+    archived_at DATETIME NOT NULL,
+    INDEX idx_audit_logs_archive_timestamp (timestamp),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL
+) ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8;
+
+-- Per-product low stock thresholds (products without a row use the default)
+CREATE TABLE product_thresholds (
+    product_id INT PRIMARY KEY,
+    threshold INT NOT NULL,
+    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
 );
 
+-- Tombstones for the change feed: clients poll products/users by updated_at and this table for deletes
+CREATE TABLE deleted_rows (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    table_name VARCHAR(32) NOT NULL,
+    row_id INT NOT NULL,
+    deleted_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    INDEX idx_deleted_rows_deleted_at (deleted_at)
+);
+
+CREATE TRIGGER trg_products_deleted AFTER DELETE ON products FOR EACH ROW
+    INSERT INTO deleted_rows (table_name, row_id) VALUES ('products', OLD.id);
+CREATE TRIGGER trg_users_deleted AFTER DELETE ON users FOR EACH ROW
+    INSERT INTO deleted_rows (table_name, row_id) VALUES ('users', OLD.id);
+
 -- Add to schema.sql (after CREATE TABLE statements)
 CREATE INDEX idx_product_name ON products(name);
 CREATE INDEX idx_product_category ON products(category_id);